@@ -9,6 +9,7 @@ plugins {
     id("com.github.spotbugs") version "6.2.4"
     id("com.diffplug.spotless") version "6.25.0"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "ru.mtuci"
@@ -55,7 +56,9 @@ dependencies {
     implementation("org.mapstruct:mapstruct:1.6.3")
     implementation("software.amazon.awssdk:s3")
     implementation("software.amazon.awssdk:url-connection-client")
+    implementation("software.amazon.awssdk:netty-nio-client")
     implementation("commons-io:commons-io:2.20.0")
+    implementation("org.apache.commons:commons-fileupload2-jakarta-servlet6:2.0.0-M2")
     implementation("net.logstash.logback:logstash-logback-encoder:9.0")
     implementation("org.springframework.boot:spring-boot-starter-aop")
     implementation("org.springframework.boot:spring-boot-starter-amqp")
@@ -63,7 +66,7 @@ dependencies {
     implementation("io.micrometer:micrometer-tracing-bridge-otel")
     compileOnly("org.projectlombok:lombok:1.18.42")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.13.0")
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.13.0")
     annotationProcessor("org.projectlombok:lombok:1.18.42")
@@ -185,6 +188,17 @@ spotless {
     }
 }
 
+// =============================================
+// JMH
+// =============================================
+
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+}
+
 // =============================================
 // OpenTelemetry
 // =============================================
@@ -0,0 +1,65 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ImageTypeDetectorBenchmark {
+
+    private static final int SAMPLE_SIZE = 64 * 1024;
+
+    @Param({"jpeg", "png", "heic", "text"})
+    private String sample;
+
+    private final ImageTypeDetector detector = new ImageTypeDetector();
+    private final Tika tika = new Tika();
+
+    private byte[] content;
+
+    @Setup
+    public void setUp() {
+        content = new byte[SAMPLE_SIZE];
+        byte[] signature =
+                switch (sample) {
+                    case "jpeg" -> new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+                    case "png" -> new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+                    case "heic" -> new byte[] {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'h', 'e', 'i', 'c'};
+                    default -> "This is not an image".getBytes(StandardCharsets.US_ASCII);
+                };
+        System.arraycopy(signature, 0, content, 0, signature.length);
+    }
+
+    @Benchmark
+    public String magicBytesStream() throws IOException {
+        return detector.detect(new BufferedInputStream(new ByteArrayInputStream(content), 10 * 1024));
+    }
+
+    @Benchmark
+    public String tikaStream() throws IOException {
+        return tika.detect(new BufferedInputStream(new ByteArrayInputStream(content), 10 * 1024));
+    }
+
+    @Benchmark
+    public String magicBytesHead() {
+        return detector.detect(content);
+    }
+
+    @Benchmark
+    public String tikaHead() {
+        return tika.detect(content);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.mtuci.autonotesbackend.config;
 
+import jakarta.servlet.DispatcherType;
 import java.time.Clock;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -36,7 +37,10 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(authEntryPoint))
-                .authorizeHttpRequests(auth -> auth.requestMatchers(
+                // Completing an SSE stream re-dispatches the already authorized request without the JWT filter.
+                .authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
+                        .requestMatchers(
                                 "/api/v1/auth/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**")
                         .permitAll()
                         .anyRequest()
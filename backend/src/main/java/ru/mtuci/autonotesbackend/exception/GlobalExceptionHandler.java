@@ -5,6 +5,7 @@ import io.jsonwebtoken.JwtException;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -14,11 +15,18 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
 import ru.mtuci.autonotesbackend.exception.dto.ErrorResponseDto;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.InvalidCursorException;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.InvalidSearchQueryException;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.PageAlreadyAttachedException;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.TextRangeNotSatisfiableException;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.TooManyEventStreamsException;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.UploadSessionConflictException;
 import ru.mtuci.autonotesbackend.modules.user.api.exception.UserAlreadyExistsException;
 
 @Slf4j
@@ -31,6 +39,39 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    @ExceptionHandler(UploadSessionConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleUploadSessionConflict(UploadSessionConflictException ex) {
+        log.warn("Upload session conflict: {}", ex.getMessage());
+        return createErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(PageAlreadyAttachedException.class)
+    public ResponseEntity<ErrorResponseDto> handlePageAlreadyAttached(PageAlreadyAttachedException ex) {
+        log.warn("Upload conflict: {}", ex.getMessage());
+        return createErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidSearchQuery(InvalidSearchQueryException ex) {
+        log.warn("Invalid search query: {}", ex.getMessage());
+        return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(TextRangeNotSatisfiableException.class)
+    public ResponseEntity<ErrorResponseDto> handleRangeNotSatisfiable(TextRangeNotSatisfiableException ex) {
+        log.warn("Range not satisfiable: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getTotalLength())
+                .body(new ErrorResponseDto(status, ex.getMessage()));
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleResourceNotFound(ResourceNotFoundException ex) {
         log.warn("Not Found: {}", ex.getMessage());
@@ -46,6 +87,13 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.BAD_REQUEST, errorMessage);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDto> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.warn("Invalid request parameter: {}", ex.getMessage());
+        String message = String.format("Invalid value for parameter '%s'.", ex.getName());
+        return createErrorResponse(HttpStatus.BAD_REQUEST, message);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponseDto> handleBadCredentials(BadCredentialsException ex) {
         log.warn("Authentication failed: {}", ex.getMessage());
@@ -107,6 +155,12 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "Too many requests. Please try again later.");
     }
 
+    @ExceptionHandler(TooManyEventStreamsException.class)
+    public ResponseEntity<ErrorResponseDto> handleTooManyEventStreams(TooManyEventStreamsException ex) {
+        log.warn("Event stream limit reached: {}", ex.getMessage());
+        return createErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleAllUncaughtException(Exception ex) {
         log.error("Unhandled exception occurred", ex);
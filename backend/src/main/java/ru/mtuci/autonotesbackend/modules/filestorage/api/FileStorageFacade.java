@@ -1,11 +1,51 @@
 package ru.mtuci.autonotesbackend.modules.filestorage.api;
 
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.PresignedUpload;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
 
 public interface FileStorageFacade {
 
+    // S3 rejects a multipart upload whose non-final parts are smaller than this.
+    DataSize MIN_MULTIPART_PART_SIZE = DataSize.ofMegabytes(5);
+
+    // Content-addressed objects under this prefix are shared by every note that stored the same bytes.
+    String BLOB_PREFIX = "blobs/";
+
     String save(MultipartFile file, Long userId) throws FileStorageException;
 
+    String save(InputStream content, String originalFilename, String contentType, Long userId)
+            throws FileStorageException;
+
     void delete(String filePath) throws FileStorageException;
+
+    InputStream load(String filePath) throws FileStorageException;
+
+    InputStream loadRange(String filePath, long start, long end) throws FileStorageException;
+
+    void saveDerived(String filePath, byte[] content, String contentType) throws FileStorageException;
+
+    String presignDownload(String filePath);
+
+    PresignedUpload presignUpload(String originalFilename, String contentType, Long userId)
+            throws InvalidFileFormatException;
+
+    void verifyUpload(String objectKey, Long userId) throws InvalidFileFormatException, FileStorageException;
+
+    MultipartUploadHandle startMultipartUpload(String originalFilename, String contentType, Long userId)
+            throws InvalidFileFormatException, FileStorageException;
+
+    String uploadPart(String objectKey, String uploadId, int partNumber, InputStream content, long contentLength)
+            throws FileStorageException;
+
+    void completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts)
+            throws FileStorageException;
+
+    void abortMultipartUpload(String objectKey, String uploadId) throws FileStorageException;
 }
@@ -0,0 +1,5 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.api.dto;
+
+import java.time.Instant;
+
+public record PresignedUpload(String objectKey, String uploadUrl, Instant expiresAt) {}
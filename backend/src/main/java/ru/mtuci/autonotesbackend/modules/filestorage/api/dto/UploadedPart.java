@@ -0,0 +1,3 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.api.dto;
+
+public record UploadedPart(int partNumber, String eTag) {}
@@ -0,0 +1,103 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.PresignedUpload;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.service.AsyncFileStorageService;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.service.PresignedUploadService;
+
+@Component
+@Profile("minio-async-storage")
+@RequiredArgsConstructor
+public class AsyncFileStorageFacadeImpl implements FileStorageFacade {
+
+    private final AsyncFileStorageService asyncFileStorageService;
+    private final PresignedUploadService presignedUploadService;
+
+    @Override
+    public String save(MultipartFile file, Long userId) {
+        return await(asyncFileStorageService.saveAsync(file, userId));
+    }
+
+    @Override
+    public String save(InputStream content, String originalFilename, String contentType, Long userId) {
+        return await(asyncFileStorageService.saveAsync(content, originalFilename, contentType, userId));
+    }
+
+    @Override
+    public void delete(String filePath) {
+        await(asyncFileStorageService.deleteAsync(filePath));
+    }
+
+    @Override
+    public InputStream load(String filePath) {
+        return await(asyncFileStorageService.loadAsync(filePath));
+    }
+
+    @Override
+    public InputStream loadRange(String filePath, long start, long end) {
+        return await(asyncFileStorageService.loadRangeAsync(filePath, start, end));
+    }
+
+    @Override
+    public void saveDerived(String filePath, byte[] content, String contentType) {
+        await(asyncFileStorageService.saveDerivedAsync(filePath, content, contentType));
+    }
+
+    @Override
+    public String presignDownload(String filePath) {
+        return presignedUploadService.presignDownload(filePath);
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String originalFilename, String contentType, Long userId) {
+        return presignedUploadService.presign(originalFilename, contentType, userId);
+    }
+
+    @Override
+    public void verifyUpload(String objectKey, Long userId) {
+        await(asyncFileStorageService.verifyUploadAsync(objectKey, userId));
+    }
+
+    @Override
+    public MultipartUploadHandle startMultipartUpload(String originalFilename, String contentType, Long userId) {
+        return await(asyncFileStorageService.startMultipartUploadAsync(originalFilename, contentType, userId));
+    }
+
+    @Override
+    public String uploadPart(
+            String objectKey, String uploadId, int partNumber, InputStream content, long contentLength) {
+        return await(asyncFileStorageService.uploadPartAsync(objectKey, uploadId, partNumber, content, contentLength));
+    }
+
+    @Override
+    public void completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts) {
+        await(asyncFileStorageService.completeMultipartUploadAsync(objectKey, uploadId, parts));
+    }
+
+    @Override
+    public void abortMultipartUpload(String objectKey, String uploadId) {
+        await(asyncFileStorageService.abortMultipartUploadAsync(objectKey, uploadId));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new FileStorageException("Storage operation failed", e.getCause());
+        }
+    }
+}
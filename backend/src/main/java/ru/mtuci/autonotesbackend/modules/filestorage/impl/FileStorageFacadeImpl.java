@@ -1,11 +1,17 @@
 package ru.mtuci.autonotesbackend.modules.filestorage.impl;
 
+import java.io.InputStream;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.PresignedUpload;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
 import ru.mtuci.autonotesbackend.modules.filestorage.impl.service.FileStorageService;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.service.PresignedUploadService;
 
 @Component
 @Profile("minio-storage")
@@ -13,14 +19,71 @@ import ru.mtuci.autonotesbackend.modules.filestorage.impl.service.FileStorageSer
 public class FileStorageFacadeImpl implements FileStorageFacade {
 
     private final FileStorageService fileStorageService;
+    private final PresignedUploadService presignedUploadService;
 
     @Override
     public String save(MultipartFile file, Long userId) {
         return fileStorageService.save(file, userId);
     }
 
+    @Override
+    public String save(InputStream content, String originalFilename, String contentType, Long userId) {
+        return fileStorageService.save(content, originalFilename, contentType, userId);
+    }
+
     @Override
     public void delete(String filePath) {
         fileStorageService.delete(filePath);
     }
+
+    @Override
+    public InputStream load(String filePath) {
+        return fileStorageService.load(filePath);
+    }
+
+    @Override
+    public InputStream loadRange(String filePath, long start, long end) {
+        return fileStorageService.loadRange(filePath, start, end);
+    }
+
+    @Override
+    public void saveDerived(String filePath, byte[] content, String contentType) {
+        fileStorageService.saveDerived(filePath, content, contentType);
+    }
+
+    @Override
+    public String presignDownload(String filePath) {
+        return presignedUploadService.presignDownload(filePath);
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String originalFilename, String contentType, Long userId) {
+        return presignedUploadService.presign(originalFilename, contentType, userId);
+    }
+
+    @Override
+    public void verifyUpload(String objectKey, Long userId) {
+        fileStorageService.verifyUpload(objectKey, userId);
+    }
+
+    @Override
+    public MultipartUploadHandle startMultipartUpload(String originalFilename, String contentType, Long userId) {
+        return fileStorageService.startMultipartUpload(originalFilename, contentType, userId);
+    }
+
+    @Override
+    public String uploadPart(
+            String objectKey, String uploadId, int partNumber, InputStream content, long contentLength) {
+        return fileStorageService.uploadPart(objectKey, uploadId, partNumber, content, contentLength);
+    }
+
+    @Override
+    public void completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts) {
+        fileStorageService.completeMultipartUpload(objectKey, uploadId, parts);
+    }
+
+    @Override
+    public void abortMultipartUpload(String objectKey, String uploadId) {
+        fileStorageService.abortMultipartUpload(objectKey, uploadId);
+    }
 }
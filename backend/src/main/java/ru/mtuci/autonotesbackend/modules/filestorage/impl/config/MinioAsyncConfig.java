@@ -0,0 +1,119 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.config;
+
+import java.net.URI;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+
+@Slf4j
+@Configuration
+@Profile("minio-async-storage")
+public class MinioAsyncConfig {
+
+    @Value("${aws.s3.endpoint}")
+    private String endpoint;
+
+    @Value("${aws.s3.access-key}")
+    private String accessKey;
+
+    @Value("${aws.s3.secret-key}")
+    private String secretKey;
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${aws.s3.region}")
+    private String region;
+
+    @Value("${aws.s3.async.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${aws.s3.async.max-pending-connection-acquires:10000}")
+    private int maxPendingConnectionAcquires;
+
+    @Value("${aws.s3.async.connection-acquisition-timeout:10s}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${aws.s3.async.connection-max-idle-time:60s}")
+    private Duration connectionMaxIdleTime;
+
+    @Value("${aws.s3.async.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${app.storage.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${app.storage.multipart.part-size:8MB}")
+    private DataSize multipartPartSize;
+
+    @Value("${app.storage.multipart.concurrency:4}")
+    private int multipartConcurrency;
+
+    @Bean(destroyMethod = "close")
+    public SdkAsyncHttpClient s3AsyncHttpClient() {
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConnections)
+                .maxPendingConnectionAcquires(maxPendingConnectionAcquires)
+                .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                .connectionMaxIdleTime(connectionMaxIdleTime)
+                .tcpKeepAlive(tcpKeepAlive)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(SdkAsyncHttpClient s3AsyncHttpClient) {
+        S3Configuration s3Configuration =
+                S3Configuration.builder().pathStyleAccessEnabled(true).build();
+
+        return S3AsyncClient.builder()
+                .endpointOverride(URI.create(endpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .region(Region.of(region))
+                .serviceConfiguration(s3Configuration)
+                .httpClient(s3AsyncHttpClient)
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThreshold.toBytes())
+                        .minimumPartSizeInBytes(multipartPartSize.toBytes())
+                        .apiCallBufferSizeInBytes(multipartPartSize.toBytes() * multipartConcurrency)
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public ApplicationRunner minioAsyncBucketInitializer(S3AsyncClient s3AsyncClient) {
+        return args -> {
+            try {
+                s3AsyncClient
+                        .headBucket(HeadBucketRequest.builder().bucket(bucketName).build())
+                        .join();
+                log.info("S3 bucket '{}' already exists.", bucketName);
+            } catch (Exception e) {
+                if (!(e.getCause() instanceof NoSuchBucketException)) {
+                    log.error("Error while initializing S3 bucket", e);
+                    throw new RuntimeException("Could not initialize S3 bucket", e);
+                }
+                s3AsyncClient
+                        .createBucket(CreateBucketRequest.builder().bucket(bucketName).build())
+                        .join();
+                log.info("S3 bucket '{}' created successfully.", bucketName);
+            }
+        };
+    }
+}
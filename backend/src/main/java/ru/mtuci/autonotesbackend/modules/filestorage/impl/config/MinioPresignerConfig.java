@@ -0,0 +1,40 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.config;
+
+import java.net.URI;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+@Configuration
+public class MinioPresignerConfig {
+
+    @Value("${aws.s3.public-endpoint:${aws.s3.endpoint}}")
+    private String publicEndpoint;
+
+    @Value("${aws.s3.access-key}")
+    private String accessKey;
+
+    @Value("${aws.s3.secret-key}")
+    private String secretKey;
+
+    @Value("${aws.s3.region}")
+    private String region;
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        S3Configuration s3Configuration =
+                S3Configuration.builder().pathStyleAccessEnabled(true).build();
+
+        return S3Presigner.builder()
+                .endpointOverride(URI.create(publicEndpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .region(Region.of(region))
+                .serviceConfiguration(s3Configuration)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.domain.StorageBlob;
+
+@Repository
+public interface StorageBlobRepository extends JpaRepository<StorageBlob, String> {
+
+    @Transactional
+    @Modifying
+    @Query(
+            value = "UPDATE storage_blobs SET ref_count = ref_count + 1, updated_at = now() WHERE content_hash = :hash",
+            nativeQuery = true)
+    int incrementRefCount(@Param("hash") String contentHash);
+
+    @Transactional
+    @Modifying
+    @Query(
+            value =
+                    """
+        INSERT INTO storage_blobs (content_hash, storage_path, size_bytes, ref_count)
+        VALUES (:hash, :path, :size, 1)
+        ON CONFLICT (content_hash)
+        DO UPDATE SET ref_count = storage_blobs.ref_count + 1, updated_at = now()
+        """,
+            nativeQuery = true)
+    void insertOrIncrementRefCount(
+            @Param("hash") String contentHash, @Param("path") String storagePath, @Param("size") long sizeBytes);
+
+    @Transactional
+    @Modifying
+    @Query(
+            value =
+                    """
+        UPDATE storage_blobs SET ref_count = ref_count - 1, updated_at = now()
+        WHERE storage_path = :path AND ref_count > 0
+        """,
+            nativeQuery = true)
+    int decrementRefCount(@Param("path") String storagePath);
+
+    @Query("SELECT b.storagePath FROM StorageBlob b WHERE b.storagePath IN :paths")
+    Set<String> findExistingPaths(@Param("paths") Collection<String> paths);
+
+    @Query(
+            value =
+                    """
+        SELECT * FROM storage_blobs
+        WHERE ref_count = 0 AND updated_at < :threshold
+        ORDER BY updated_at ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """,
+            nativeQuery = true)
+    List<StorageBlob> findUnreferencedBatch(
+            @Param("threshold") OffsetDateTime threshold, @Param("limit") int limit);
+}
@@ -0,0 +1,549 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
+import software.amazon.awssdk.core.BytesWrapper;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@Slf4j
+@Service
+@Profile("minio-async-storage")
+@RequiredArgsConstructor
+public class AsyncFileStorageService implements InitializingBean, DisposableBean {
+
+    private static final int SNIFF_LIMIT = 10 * 1024;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final PresignedUploadService presignedUploadService;
+    private final StorageBlobRepository storageBlobRepository;
+    private final ImageTypeDetector imageTypeDetector = new ImageTypeDetector();
+    private final ExecutorService bodyReaderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${app.storage.multipart.part-size:8MB}")
+    private DataSize multipartPartSize;
+
+    @Value("${app.storage.multipart.concurrency:4}")
+    private int partConcurrency;
+
+    @Value("${app.storage.multipart.max-part-attempts:3}")
+    private int maxPartAttempts;
+
+    public CompletableFuture<String> saveAsync(MultipartFile file, Long userId) {
+        if (file.isEmpty()) {
+            return CompletableFuture.failedFuture(new InvalidFileFormatException("Cannot save an empty file."));
+        }
+
+        InputStream is;
+        try {
+            is = new BufferedInputStream(file.getInputStream());
+        } catch (IOException e) {
+            log.error("Failed to read file for user {}", userId, e);
+            return CompletableFuture.failedFuture(
+                    new FileStorageException("Failed to save file: " + file.getOriginalFilename(), e));
+        }
+
+        try {
+            validateImage(is, file.getOriginalFilename(), userId);
+        } catch (IOException e) {
+            closeQuietly(is);
+            log.error("Failed to read file for user {}", userId, e);
+            return CompletableFuture.failedFuture(
+                    new FileStorageException("Failed to save file: " + file.getOriginalFilename(), e));
+        } catch (InvalidFileFormatException e) {
+            closeQuietly(is);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String filePath = buildFilePath(file.getOriginalFilename(), userId);
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(filePath)
+                .contentType(file.getContentType())
+                .contentLength(file.getSize())
+                .build();
+
+        return s3AsyncClient
+                .putObject(
+                        putObjectRequest, AsyncRequestBody.fromInputStream(is, file.getSize(), bodyReaderExecutor))
+                .handle((response, error) -> {
+                    closeQuietly(is);
+                    return completeSave(filePath, file.getOriginalFilename(), userId, error);
+                });
+    }
+
+    public CompletableFuture<String> saveAsync(
+            InputStream content, String originalFilename, String contentType, Long userId) {
+        InputStream is = new BufferedInputStream(content, SNIFF_LIMIT);
+        String filePath = buildFilePath(originalFilename, userId);
+        int partSize = (int) multipartPartSize.toBytes();
+
+        byte[] firstPart;
+        try {
+            validateImage(is, originalFilename, userId);
+            firstPart = is.readNBytes(partSize);
+        } catch (IOException e) {
+            closeQuietly(is);
+            log.error("Failed to stream file for user {}", userId, e);
+            return CompletableFuture.failedFuture(
+                    new FileStorageException("Failed to save file: " + originalFilename, e));
+        } catch (InvalidFileFormatException e) {
+            closeQuietly(is);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (firstPart.length < partSize) {
+            closeQuietly(is);
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(filePath)
+                    .contentType(contentType)
+                    .contentLength((long) firstPart.length)
+                    .build();
+
+            return s3AsyncClient
+                    .putObject(putObjectRequest, AsyncRequestBody.fromBytes(firstPart))
+                    .handle((response, error) -> completeSave(filePath, originalFilename, userId, error));
+        }
+
+        return s3AsyncClient
+                .createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(filePath)
+                        .contentType(contentType)
+                        .build())
+                .thenApplyAsync(
+                        created -> uploadPartsPipelined(filePath, created.uploadId(), firstPart, is, partSize),
+                        bodyReaderExecutor)
+                .thenCompose(completion -> completion)
+                .handle((response, error) -> {
+                    closeQuietly(is);
+                    return completeSave(filePath, originalFilename, userId, error);
+                });
+    }
+
+    public CompletableFuture<Void> deleteAsync(String filePath) {
+        if (filePath == null || filePath.isBlank()) {
+            log.warn("Attempted to delete a file with a null or empty path.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Notes written under minio-storage point at shared content-addressed blobs; only the
+        // blob purge job may remove those objects once no reference is left.
+        if (filePath.startsWith(FileStorageFacade.BLOB_PREFIX)) {
+            if (storageBlobRepository.decrementRefCount(filePath) > 0) {
+                log.info("Released blob reference. Path: {}", filePath);
+            } else {
+                log.warn("Attempted to release an unreferenced blob: {}", filePath);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        DeleteObjectRequest deleteObjectRequest =
+                DeleteObjectRequest.builder().bucket(bucketName).key(filePath).build();
+
+        return s3AsyncClient.deleteObject(deleteObjectRequest).handle((response, error) -> {
+            if (error != null) {
+                log.error("Failed to delete file from path {}", filePath, unwrap(error));
+                throw new FileStorageException("Failed to delete file: " + filePath, unwrap(error));
+            }
+            log.info("File deleted from MinIO. Path: {}", filePath);
+            return null;
+        });
+    }
+
+    public CompletableFuture<InputStream> loadAsync(String filePath) {
+        return s3AsyncClient
+                .getObject(
+                        GetObjectRequest.builder().bucket(bucketName).key(filePath).build(),
+                        AsyncResponseTransformer.toBlockingInputStream())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to load file from path {}", filePath, unwrap(error));
+                        throw new FileStorageException("Failed to load file: " + filePath, unwrap(error));
+                    }
+                    return response;
+                });
+    }
+
+    public CompletableFuture<InputStream> loadRangeAsync(String filePath, long start, long end) {
+        return s3AsyncClient
+                .getObject(
+                        GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(filePath)
+                                .range("bytes=" + start + "-" + end)
+                                .build(),
+                        AsyncResponseTransformer.toBlockingInputStream())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to load bytes {}-{} of file {}", start, end, filePath, unwrap(error));
+                        throw new FileStorageException("Failed to load file: " + filePath, unwrap(error));
+                    }
+                    return response;
+                });
+    }
+
+    public CompletableFuture<Void> saveDerivedAsync(String filePath, byte[] content, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(filePath)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
+
+        return s3AsyncClient
+                .putObject(putObjectRequest, AsyncRequestBody.fromBytes(content))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to save derived file {}", filePath, unwrap(error));
+                        throw new FileStorageException("Failed to save file: " + filePath, unwrap(error));
+                    }
+                    log.debug("Derived file saved to MinIO. Path: {}", filePath);
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Void> verifyUploadAsync(String objectKey, Long userId) {
+        try {
+            presignedUploadService.checkOwnership(objectKey, userId);
+        } catch (InvalidFileFormatException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<HeadObjectResponse> head = s3AsyncClient.headObject(
+                HeadObjectRequest.builder().bucket(bucketName).key(objectKey).build());
+        CompletableFuture<byte[]> prefix = s3AsyncClient
+                .getObject(
+                        GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(objectKey)
+                                .range(PresignedUploadService.SNIFF_RANGE)
+                                .build(),
+                        AsyncResponseTransformer.toBytes())
+                .thenApply(BytesWrapper::asByteArray);
+
+        return head.thenCombine(prefix, (headResponse, bytes) -> {
+                    presignedUploadService.checkContent(objectKey, headResponse.contentLength(), bytes, userId);
+                    return (Void) null;
+                })
+                .exceptionally(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof InvalidFileFormatException invalid) {
+                        throw invalid;
+                    }
+                    if (cause instanceof NoSuchKeyException) {
+                        throw new InvalidFileFormatException("Upload not found: " + objectKey);
+                    }
+                    log.error("Failed to verify upload {}", objectKey, cause);
+                    throw new FileStorageException("Failed to verify upload: " + objectKey, cause);
+                });
+    }
+
+    public CompletableFuture<MultipartUploadHandle> startMultipartUploadAsync(
+            String originalFilename, String contentType, Long userId) {
+        String objectKey;
+        try {
+            objectKey = presignedUploadService.newUploadKey(originalFilename, contentType, userId);
+        } catch (InvalidFileFormatException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return s3AsyncClient
+                .createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(objectKey)
+                        .contentType(contentType)
+                        .build())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to start multipart upload for user {}", userId, unwrap(error));
+                        throw new FileStorageException("Failed to start upload: " + originalFilename, unwrap(error));
+                    }
+                    MultipartUploadHandle handle = new MultipartUploadHandle(objectKey, response.uploadId());
+                    log.debug("Multipart upload {} started. Path: {}", handle.uploadId(), objectKey);
+                    return handle;
+                });
+    }
+
+    public CompletableFuture<String> uploadPartAsync(
+            String objectKey, String uploadId, int partNumber, InputStream content, long length) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength(length)
+                .build();
+
+        return s3AsyncClient
+                .uploadPart(request, AsyncRequestBody.fromInputStream(content, length, bodyReaderExecutor))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to upload part {} of upload {}", partNumber, uploadId, unwrap(error));
+                        throw new FileStorageException(
+                                "Failed to upload part " + partNumber + ": " + objectKey, unwrap(error));
+                    }
+                    return response.eTag();
+                });
+    }
+
+    public CompletableFuture<Void> completeMultipartUploadAsync(
+            String objectKey, String uploadId, List<UploadedPart> parts) {
+        List<CompletedPart> completedParts = parts.stream()
+                .map(part -> CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .build())
+                .toList();
+
+        return s3AsyncClient
+                .completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(objectKey)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder()
+                                .parts(completedParts)
+                                .build())
+                        .build())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to complete multipart upload {}", uploadId, unwrap(error));
+                        throw new FileStorageException("Failed to complete upload: " + objectKey, unwrap(error));
+                    }
+                    log.debug(
+                            "Multipart upload {} completed with {} parts. Path: {}", uploadId, parts.size(), objectKey);
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Void> abortMultipartUploadAsync(String objectKey, String uploadId) {
+        return s3AsyncClient
+                .abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(objectKey)
+                        .uploadId(uploadId)
+                        .build())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to abort multipart upload {}", uploadId, unwrap(error));
+                        throw new FileStorageException("Failed to abort upload: " + objectKey, unwrap(error));
+                    }
+                    log.info("Multipart upload {} aborted. Path: {}", uploadId, objectKey);
+                    return null;
+                });
+    }
+
+    private CompletableFuture<CompleteMultipartUploadResponse> uploadPartsPipelined(
+            String filePath, String uploadId, byte[] firstPart, InputStream is, int partSize) {
+        List<CompletableFuture<CompletedPart>> partFutures = new ArrayList<>();
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        CompletableFuture<CompleteMultipartUploadResponse> completion;
+        try {
+            byte[] part = firstPart;
+            int partNumber = 1;
+
+            while (part.length > 0 && !failed.get()) {
+                if (partFutures.size() >= partConcurrency) {
+                    partFutures.get(partFutures.size() - partConcurrency).join();
+                }
+                partFutures.add(uploadPartWithRetry(filePath, uploadId, partNumber, part, 1, inFlight, failed));
+                partNumber++;
+                part = is.readNBytes(partSize);
+            }
+
+            List<CompletedPart> completedParts =
+                    partFutures.stream().map(CompletableFuture::join).toList();
+
+            completion = s3AsyncClient.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(filePath)
+                    .uploadId(uploadId)
+                    .multipartUpload(
+                            CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+
+        } catch (IOException | RuntimeException e) {
+            failed.set(true);
+            inFlight.forEach(request -> request.cancel(true));
+            partFutures.forEach(future -> future.cancel(true));
+            completion = CompletableFuture.failedFuture(e);
+        }
+
+        return completion.exceptionallyCompose(error -> abortAfterFailure(filePath, uploadId, error));
+    }
+
+    private CompletableFuture<CompletedPart> uploadPartWithRetry(
+            String filePath,
+            String uploadId,
+            int partNumber,
+            byte[] part,
+            int attempt,
+            Set<CompletableFuture<?>> inFlight,
+            AtomicBoolean failed) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(filePath)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) part.length)
+                .build();
+
+        CompletableFuture<UploadPartResponse> call =
+                s3AsyncClient.uploadPart(request, AsyncRequestBody.fromBytes(part));
+        inFlight.add(call);
+
+        return call.whenComplete((response, error) -> inFlight.remove(call))
+                .thenApply(response -> CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(response.eTag())
+                        .build())
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (!(cause instanceof SdkException) || attempt >= maxPartAttempts || failed.get()) {
+                        failed.set(true);
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    log.warn(
+                            "Part {} of upload {} failed (attempt {}/{}): {}",
+                            partNumber,
+                            uploadId,
+                            attempt,
+                            maxPartAttempts,
+                            cause.getMessage());
+                    Executor backoff = CompletableFuture.delayedExecutor(
+                            RETRY_BACKOFF.multipliedBy(attempt).toMillis(), TimeUnit.MILLISECONDS, bodyReaderExecutor);
+                    return CompletableFuture.runAsync(() -> {}, backoff)
+                            .thenCompose(ignored -> uploadPartWithRetry(
+                                    filePath, uploadId, partNumber, part, attempt + 1, inFlight, failed));
+                });
+    }
+
+    private <T> CompletableFuture<T> abortAfterFailure(String filePath, String uploadId, Throwable cause) {
+        return s3AsyncClient
+                .abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(filePath)
+                        .uploadId(uploadId)
+                        .build())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        log.warn("Failed to abort multipart upload {} for {}", uploadId, filePath, unwrap(error));
+                    } else {
+                        log.info("Multipart upload {} aborted. Path: {}", uploadId, filePath);
+                    }
+                    throw new CompletionException(unwrap(cause));
+                });
+    }
+
+    private String completeSave(String filePath, String originalFilename, Long userId, Throwable error) {
+        if (error != null) {
+            log.error("Failed to save file for user {}", userId, unwrap(error));
+            throw new FileStorageException("Failed to save file: " + originalFilename, unwrap(error));
+        }
+        log.info("File saved to MinIO. Path: {}", filePath);
+        return filePath;
+    }
+
+    private void validateImage(InputStream is, String originalFilename, Long userId) throws IOException {
+        String detectedType = imageTypeDetector.detect(is);
+
+        if (!detectedType.startsWith("image/")) {
+            log.warn(
+                    "Security Alert: User {} tried to upload file '{}' detected as '{}'",
+                    userId,
+                    originalFilename,
+                    detectedType);
+            throw new InvalidFileFormatException("Invalid file type. Only images are allowed.");
+        }
+    }
+
+    private String buildFilePath(String originalFilename, Long userId) {
+        String extension = FilenameUtils.getExtension(originalFilename);
+        if (extension == null || extension.isBlank()) {
+            extension = "jpg";
+        }
+        return userId + "/" + UUID.randomUUID() + "." + extension;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static void closeQuietly(InputStream is) {
+        try {
+            is.close();
+        } catch (IOException e) {
+            log.debug("Failed to close upload stream", e);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (multipartPartSize.toBytes() < FileStorageFacade.MIN_MULTIPART_PART_SIZE.toBytes()
+                || multipartPartSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Multipart part size must be between 5MB and 2GB.");
+        }
+        if (partConcurrency < 1 || maxPartAttempts < 1) {
+            throw new IllegalArgumentException("Multipart concurrency and attempts must be positive.");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        bodyReaderExecutor.close();
+    }
+}
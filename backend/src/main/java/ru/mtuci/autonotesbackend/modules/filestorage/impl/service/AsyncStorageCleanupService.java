@@ -0,0 +1,194 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.domain.StorageBlob;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRenditionRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+@Slf4j
+@Service
+@Profile("minio-async-storage")
+@RequiredArgsConstructor
+public class AsyncStorageCleanupService {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final NoteImageRepository noteImageRepository;
+    private final NoteImageRenditionRepository noteImageRenditionRepository;
+    private final LectureNoteRepository lectureNoteRepository;
+    private final StorageBlobRepository storageBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${app.scheduling.cleanup-retention-hours:24}")
+    private int retentionHours;
+
+    @Value("${app.storage.blob-gc-batch-size:100}")
+    private int blobGcBatchSize;
+
+    @Scheduled(cron = "${app.scheduling.s3-cleanup-cron:0 0 3 * * *}")
+    @Transactional(readOnly = true)
+    public void cleanupOrphanedFiles() {
+        log.info("Starting S3 orphaned files cleanup job (Async Batch Mode)...");
+
+        Instant retentionThreshold = Instant.now().minus(retentionHours, ChronoUnit.HOURS);
+
+        List<CompletableFuture<Integer>> pendingDeletes = new ArrayList<>();
+        long scannedCount = 0;
+        long deletedCount = 0;
+
+        try {
+            CompletableFuture<ListObjectsV2Response> nextPage = listPage(null);
+
+            while (nextPage != null) {
+                ListObjectsV2Response response = nextPage.join();
+
+                // Запрашиваем следующую страницу, пока сверяем текущую с БД
+                nextPage = response.nextContinuationToken() != null
+                        ? listPage(response.nextContinuationToken())
+                        : null;
+
+                List<S3Object> s3Objects = response.contents();
+                scannedCount += s3Objects.size();
+
+                List<String> candidatesToCheck = s3Objects.stream()
+                        .filter(obj -> !obj.key().endsWith("/"))
+                        .filter(obj -> obj.lastModified().isBefore(retentionThreshold))
+                        .map(S3Object::key)
+                        .toList();
+
+                if (candidatesToCheck.isEmpty()) {
+                    continue;
+                }
+
+                Set<String> existingFiles = new HashSet<>(noteImageRepository.findExistingPaths(candidatesToCheck));
+                existingFiles.addAll(storageBlobRepository.findExistingPaths(candidatesToCheck));
+                existingFiles.addAll(noteImageRenditionRepository.findExistingPaths(candidatesToCheck));
+                existingFiles.addAll(lectureNoteRepository.findExistingTextPaths(candidatesToCheck));
+
+                List<String> orphans = candidatesToCheck.stream()
+                        .filter(key -> !existingFiles.contains(key))
+                        .toList();
+
+                if (!orphans.isEmpty()) {
+                    pendingDeletes.add(deleteBatch(orphans));
+                }
+            }
+
+            for (CompletableFuture<Integer> pendingDelete : pendingDeletes) {
+                deletedCount += pendingDelete.join();
+            }
+
+        } catch (Exception e) {
+            log.error("Error during S3 cleanup", e);
+        }
+
+        if (deletedCount > 0) {
+            log.info("S3 cleanup finished. Scanned objects: {}, Deleted orphans: {}", scannedCount, deletedCount);
+        } else {
+            log.info("S3 cleanup finished. No orphans found.");
+        }
+    }
+
+    @Scheduled(cron = "${app.scheduling.blob-gc-cron:0 30 3 * * *}")
+    public void purgeUnreferencedBlobs() {
+        log.info("Starting unreferenced blob purge (Async Mode)...");
+
+        OffsetDateTime threshold = OffsetDateTime.now().minusHours(retentionHours);
+        AtomicInteger totalPurged = new AtomicInteger();
+        boolean hasMore = true;
+
+        while (hasMore) {
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(ignored -> {
+                List<StorageBlob> blobs = storageBlobRepository.findUnreferencedBatch(threshold, blobGcBatchSize);
+
+                int deleted = 0;
+                for (StorageBlob blob : blobs) {
+                    try {
+                        s3AsyncClient
+                                .deleteObject(DeleteObjectRequest.builder()
+                                        .bucket(bucketName)
+                                        .key(blob.getStoragePath())
+                                        .build())
+                                .join();
+                        storageBlobRepository.delete(blob);
+                        deleted++;
+                    } catch (Exception e) {
+                        log.error("GC: Failed to purge blob: {}", blob.getStoragePath(), e);
+                    }
+                }
+
+                totalPurged.addAndGet(deleted);
+                return blobs.size() == blobGcBatchSize && deleted > 0;
+            }));
+        }
+
+        if (totalPurged.get() > 0) {
+            log.info("Blob purge finished. Deleted blobs: {}", totalPurged.get());
+        } else {
+            log.info("Blob purge finished. Nothing to delete.");
+        }
+    }
+
+    private CompletableFuture<ListObjectsV2Response> listPage(String continuationToken) {
+        ListObjectsV2Request.Builder requestBuilder =
+                ListObjectsV2Request.builder().bucket(bucketName);
+
+        if (continuationToken != null) {
+            requestBuilder.continuationToken(continuationToken);
+        }
+
+        return s3AsyncClient.listObjectsV2(requestBuilder.build());
+    }
+
+    private CompletableFuture<Integer> deleteBatch(List<String> keys) {
+        List<ObjectIdentifier> identifiers = keys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(identifiers).quiet(true).build())
+                .build();
+
+        return s3AsyncClient.deleteObjects(request).handle((DeleteObjectsResponse response, Throwable error) -> {
+            if (error != null) {
+                log.error("GC: Failed to delete batch of {} files", keys.size(), error);
+                return 0;
+            }
+            response.errors()
+                    .forEach(s3Error ->
+                            log.error("GC: Failed to delete file: {} ({})", s3Error.key(), s3Error.message()));
+            log.info("GC: Deleted {} orphaned files", keys.size() - response.errors().size());
+            return keys.size() - response.errors().size();
+        });
+    }
+}
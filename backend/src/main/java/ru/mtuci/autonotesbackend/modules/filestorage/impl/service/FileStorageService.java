@@ -1,79 +1,108 @@
 package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FilenameUtils;
-import org.apache.tika.Tika;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 @Slf4j
 @Service
+@Profile("minio-storage")
 @RequiredArgsConstructor
-public class FileStorageService {
+public class FileStorageService implements InitializingBean {
+
+    private static final int SNIFF_LIMIT = 10 * 1024;
+    private static final String STAGING_PREFIX = "staging/";
 
     private final S3Client s3Client;
-    private final Tika tika = new Tika();
+    private final MultipartUploader multipartUploader;
+    private final StorageBlobRepository storageBlobRepository;
+    private final PresignedUploadService presignedUploadService;
+    private final ImageTypeDetector imageTypeDetector = new ImageTypeDetector();
 
     @Value("${aws.s3.bucket}")
     private String bucketName;
 
+    @Value("${app.storage.single-put-limit:1MB}")
+    private DataSize singlePutLimit;
+
     public String save(MultipartFile file, Long userId) {
         if (file.isEmpty()) {
             throw new InvalidFileFormatException("Cannot save an empty file.");
         }
 
-        try (InputStream is = new BufferedInputStream(file.getInputStream())) {
-            is.mark(10 * 1024);
-
-            String detectedType = tika.detect(is);
+        // Hashing up front would read the file twice; the stream path computes the digest while uploading.
+        InputStream content;
+        try {
+            content = file.getInputStream();
+        } catch (IOException e) {
+            log.error("Failed to read file for user {}", userId, e);
+            throw new FileStorageException("Failed to save file: " + file.getOriginalFilename(), e);
+        }
+        return save(content, file.getOriginalFilename(), file.getContentType(), userId);
+    }
 
-            if (!detectedType.startsWith("image/")) {
-                log.warn(
-                        "Security Alert: User {} tried to upload file '{}' detected as '{}'",
-                        userId,
-                        file.getOriginalFilename(),
-                        detectedType);
-                throw new InvalidFileFormatException("Invalid file type. Only images are allowed.");
-            }
+    public String save(InputStream content, String originalFilename, String contentType, Long userId) {
+        try (InputStream is = new BufferedInputStream(content, SNIFF_LIMIT)) {
+            validateImage(is, originalFilename, userId);
 
-            is.reset();
+            // Only the single-PUT limit is buffered here: a stream that ends inside it goes up with one PUT,
+            // anything longer is streamed into a multipart upload whose part buffers the uploader bounds.
+            int limit = (int) singlePutLimit.toBytes();
 
-            String extension = FilenameUtils.getExtension(file.getOriginalFilename());
-            if (extension == null || extension.isBlank()) {
-                extension = "jpg";
+            byte[] head = is.readNBytes(limit);
+            if (head.length == 0) {
+                throw new InvalidFileFormatException("Cannot save an empty file.");
             }
 
-            String uniqueFileName = UUID.randomUUID() + "." + extension;
-            String filePath = userId + "/" + uniqueFileName;
-
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(filePath)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
+            String filePath = head.length < limit
+                    ? saveBuffered(head, contentType)
+                    : saveStaged(head, is, contentType, userId);
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(is, file.getSize()));
-
-            log.info("File saved to MinIO. Path: {}", filePath);
+            log.info("File streamed to MinIO. Path: {}", filePath);
             return filePath;
 
         } catch (IOException | SdkException e) {
-            log.error("Failed to save file for user {}", userId, e);
-            throw new FileStorageException("Failed to save file: " + file.getOriginalFilename(), e);
+            log.error("Failed to stream file for user {}", userId, e);
+            throw new FileStorageException("Failed to save file: " + originalFilename, e);
         }
     }
 
@@ -82,13 +111,18 @@ public class FileStorageService {
             log.warn("Attempted to delete a file with a null or empty path.");
             return;
         }
-        try {
-            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(filePath)
-                    .build();
 
-            s3Client.deleteObject(deleteObjectRequest);
+        if (filePath.startsWith(FileStorageFacade.BLOB_PREFIX)) {
+            if (storageBlobRepository.decrementRefCount(filePath) > 0) {
+                log.info("Released blob reference. Path: {}", filePath);
+            } else {
+                log.warn("Attempted to release an unreferenced blob: {}", filePath);
+            }
+            return;
+        }
+
+        try {
+            deleteObject(filePath);
             log.info("File deleted from MinIO. Path: {}", filePath);
 
         } catch (SdkException e) {
@@ -96,4 +130,240 @@ public class FileStorageService {
             throw new FileStorageException("Failed to delete file: " + filePath, e);
         }
     }
+
+    public InputStream load(String filePath) {
+        try {
+            return s3Client.getObject(
+                    GetObjectRequest.builder().bucket(bucketName).key(filePath).build());
+        } catch (SdkException e) {
+            log.error("Failed to load file from path {}", filePath, e);
+            throw new FileStorageException("Failed to load file: " + filePath, e);
+        }
+    }
+
+    public InputStream loadRange(String filePath, long start, long end) {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(filePath)
+                    .range("bytes=" + start + "-" + end)
+                    .build());
+        } catch (SdkException e) {
+            log.error("Failed to load bytes {}-{} of file {}", start, end, filePath, e);
+            throw new FileStorageException("Failed to load file: " + filePath, e);
+        }
+    }
+
+    public void saveDerived(String filePath, byte[] content, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(filePath)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
+
+        try {
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+            log.debug("Derived file saved to MinIO. Path: {}", filePath);
+        } catch (SdkException e) {
+            log.error("Failed to save derived file {}", filePath, e);
+            throw new FileStorageException("Failed to save file: " + filePath, e);
+        }
+    }
+
+    public void verifyUpload(String objectKey, Long userId) {
+        presignedUploadService.checkOwnership(objectKey, userId);
+
+        try {
+            HeadObjectResponse head = s3Client.headObject(
+                    HeadObjectRequest.builder().bucket(bucketName).key(objectKey).build());
+
+            byte[] prefix = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(objectKey)
+                            .range(PresignedUploadService.SNIFF_RANGE)
+                            .build())
+                    .asByteArray();
+
+            presignedUploadService.checkContent(objectKey, head.contentLength(), prefix, userId);
+
+        } catch (NoSuchKeyException e) {
+            throw new InvalidFileFormatException("Upload not found: " + objectKey);
+        } catch (SdkException e) {
+            log.error("Failed to verify upload {}", objectKey, e);
+            throw new FileStorageException("Failed to verify upload: " + objectKey, e);
+        }
+    }
+
+    public MultipartUploadHandle startMultipartUpload(String originalFilename, String contentType, Long userId) {
+        String objectKey = presignedUploadService.newUploadKey(originalFilename, contentType, userId);
+
+        try {
+            String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                            .bucket(bucketName)
+                            .key(objectKey)
+                            .contentType(contentType)
+                            .build())
+                    .uploadId();
+
+            log.debug("Multipart upload {} started for user {}. Path: {}", uploadId, userId, objectKey);
+            return new MultipartUploadHandle(objectKey, uploadId);
+
+        } catch (SdkException e) {
+            log.error("Failed to start multipart upload for user {}", userId, e);
+            throw new FileStorageException("Failed to start upload: " + originalFilename, e);
+        }
+    }
+
+    public String uploadPart(String objectKey, String uploadId, int partNumber, InputStream content, long length) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength(length)
+                .build();
+
+        try {
+            return s3Client.uploadPart(request, RequestBody.fromInputStream(content, length))
+                    .eTag();
+        } catch (SdkException e) {
+            log.error("Failed to upload part {} of upload {}", partNumber, uploadId, e);
+            throw new FileStorageException("Failed to upload part " + partNumber + ": " + objectKey, e);
+        }
+    }
+
+    public void completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts) {
+        List<CompletedPart> completedParts = parts.stream()
+                .map(part -> CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .build())
+                .toList();
+
+        try {
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(objectKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(
+                            CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+
+            log.debug("Multipart upload {} completed with {} parts. Path: {}", uploadId, parts.size(), objectKey);
+
+        } catch (SdkException e) {
+            log.error("Failed to complete multipart upload {}", uploadId, e);
+            throw new FileStorageException("Failed to complete upload: " + objectKey, e);
+        }
+    }
+
+    public void abortMultipartUpload(String objectKey, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(objectKey)
+                    .uploadId(uploadId)
+                    .build());
+
+            log.info("Multipart upload {} aborted. Path: {}", uploadId, objectKey);
+
+        } catch (SdkException e) {
+            log.error("Failed to abort multipart upload {}", uploadId, e);
+            throw new FileStorageException("Failed to abort upload: " + objectKey, e);
+        }
+    }
+
+    private String saveBuffered(byte[] content, String contentType) {
+        String contentHash = HexFormat.of().formatHex(sha256().digest(content));
+        String filePath = FileStorageFacade.BLOB_PREFIX + contentHash;
+
+        if (storageBlobRepository.incrementRefCount(contentHash) > 0) {
+            log.info("Deduplicated streamed upload. Reusing blob: {}", filePath);
+            return filePath;
+        }
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(filePath)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
+
+        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+        storageBlobRepository.insertOrIncrementRefCount(contentHash, filePath, content.length);
+        return filePath;
+    }
+
+    private String saveStaged(byte[] head, InputStream rest, String contentType, Long userId) throws IOException {
+        String stagingPath = STAGING_PREFIX + userId + "/" + UUID.randomUUID();
+        MessageDigest digest = sha256();
+        digest.update(head);
+        BoundedInputStream counted = BoundedInputStream.builder()
+                .setInputStream(new DigestInputStream(rest, digest))
+                .get();
+
+        multipartUploader.upload(
+                stagingPath, contentType, new SequenceInputStream(new ByteArrayInputStream(head), counted));
+        long size = head.length + counted.getCount();
+
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        String filePath = FileStorageFacade.BLOB_PREFIX + contentHash;
+
+        try {
+            if (storageBlobRepository.incrementRefCount(contentHash) > 0) {
+                log.info("Deduplicated streamed upload. Reusing blob: {}", filePath);
+                return filePath;
+            }
+
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucketName)
+                    .sourceKey(stagingPath)
+                    .destinationBucket(bucketName)
+                    .destinationKey(filePath)
+                    .build());
+            storageBlobRepository.insertOrIncrementRefCount(contentHash, filePath, size);
+            return filePath;
+
+        } finally {
+            try {
+                deleteObject(stagingPath);
+            } catch (SdkException e) {
+                log.warn("Failed to delete staging object {}. It will be cleaned up by GC later.", stagingPath, e);
+            }
+        }
+    }
+
+    private void deleteObject(String key) {
+        s3Client.deleteObject(
+                DeleteObjectRequest.builder().bucket(bucketName).key(key).build());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void validateImage(InputStream is, String originalFilename, Long userId) throws IOException {
+        String detectedType = imageTypeDetector.detect(is);
+
+        if (!detectedType.startsWith("image/")) {
+            log.warn(
+                    "Security Alert: User {} tried to upload file '{}' detected as '{}'",
+                    userId,
+                    originalFilename,
+                    detectedType);
+            throw new InvalidFileFormatException("Invalid file type. Only images are allowed.");
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (singlePutLimit.toBytes() < 1 || singlePutLimit.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Single PUT limit must be between 1B and 2GB.");
+        }
+    }
 }
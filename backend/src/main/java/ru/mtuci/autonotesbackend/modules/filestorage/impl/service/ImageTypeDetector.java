@@ -0,0 +1,94 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.tika.Tika;
+
+public class ImageTypeDetector {
+
+    public static final int SIGNATURE_LENGTH = 12;
+
+    private final Tika tika = new Tika();
+
+    public String detect(byte[] head) {
+        String signatureType = detectSignature(head, head.length);
+        return signatureType != null ? signatureType : tika.detect(head);
+    }
+
+    public String detect(InputStream is) throws IOException {
+        byte[] head = new byte[SIGNATURE_LENGTH];
+        is.mark(SIGNATURE_LENGTH);
+        int length = is.readNBytes(head, 0, SIGNATURE_LENGTH);
+        is.reset();
+
+        String signatureType = detectSignature(head, length);
+        return signatureType != null ? signatureType : tika.detect(is);
+    }
+
+    static String detectSignature(byte[] head, int length) {
+        if (length >= 3 && unsigned(head, 0) == 0xFF && unsigned(head, 1) == 0xD8 && unsigned(head, 2) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8
+                && unsigned(head, 0) == 0x89
+                && head[1] == 'P'
+                && head[2] == 'N'
+                && head[3] == 'G'
+                && head[4] == '\r'
+                && head[5] == '\n'
+                && head[6] == 0x1A
+                && head[7] == '\n') {
+            return "image/png";
+        }
+        if (length >= 12 && matches(head, 0, "RIFF") && matches(head, 8, "WEBP")) {
+            return "image/webp";
+        }
+        if (length >= 12 && matches(head, 4, "ftyp")) {
+            return detectHeifBrand(head);
+        }
+        if (length >= 6 && (matches(head, 0, "GIF87a") || matches(head, 0, "GIF89a"))) {
+            return "image/gif";
+        }
+        if (length >= 10 && head[0] == 'B' && head[1] == 'M' && isZero(head, 6, 4)) {
+            return "image/bmp";
+        }
+        return null;
+    }
+
+    private static String detectHeifBrand(byte[] head) {
+        if (matches(head, 8, "heic")
+                || matches(head, 8, "heix")
+                || matches(head, 8, "hevc")
+                || matches(head, 8, "hevx")
+                || matches(head, 8, "heim")
+                || matches(head, 8, "heis")) {
+            return "image/heic";
+        }
+        if (matches(head, 8, "mif1") || matches(head, 8, "msf1")) {
+            return "image/heif";
+        }
+        return null;
+    }
+
+    private static boolean matches(byte[] head, int offset, String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            if (head[offset + i] != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(byte[] head, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            if (head[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int unsigned(byte[] head, int index) {
+        return head[index] & 0xFF;
+    }
+}
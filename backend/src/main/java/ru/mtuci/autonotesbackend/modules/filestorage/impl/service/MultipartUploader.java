@@ -0,0 +1,193 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+@Slf4j
+@Component
+@Profile("minio-storage")
+public class MultipartUploader implements DisposableBean {
+
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+
+    private final S3Client s3Client;
+    private final int partSize;
+    private final int concurrency;
+    private final int maxPartAttempts;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    public MultipartUploader(
+            S3Client s3Client,
+            @Value("${app.storage.multipart.part-size:8MB}") DataSize partSize,
+            @Value("${app.storage.multipart.concurrency:4}") int concurrency,
+            @Value("${app.storage.multipart.max-part-attempts:3}") int maxPartAttempts) {
+        if (partSize.toBytes() < FileStorageFacade.MIN_MULTIPART_PART_SIZE.toBytes()
+                || partSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Multipart part size must be between 5MB and 2GB.");
+        }
+        if (concurrency < 1 || maxPartAttempts < 1) {
+            throw new IllegalArgumentException("Multipart concurrency and attempts must be positive.");
+        }
+        this.s3Client = s3Client;
+        this.partSize = (int) partSize.toBytes();
+        this.concurrency = concurrency;
+        this.maxPartAttempts = maxPartAttempts;
+    }
+
+    public void upload(String key, String contentType, InputStream content) throws IOException {
+        upload(key, contentType, content.readNBytes(partSize), content);
+    }
+
+    public void upload(String key, String contentType, byte[] firstPart, InputStream rest) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .build())
+                .uploadId();
+
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        try {
+            int partNumber = 1;
+            byte[] next = firstPart;
+            while (!failed.get()) {
+                inFlight.acquire();
+                byte[] part = next != null ? next : rest.readNBytes(partSize);
+                next = null;
+                if (part.length == 0) {
+                    inFlight.release();
+                    break;
+                }
+
+                int number = partNumber++;
+                futures.add(executor.submit(() -> {
+                    try {
+                        return uploadPartWithRetry(key, uploadId, number, part, failed);
+                    } catch (Exception e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                completedParts.add(await(future));
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(
+                            CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+
+            log.debug("Multipart upload {} completed with {} parts. Path: {}", uploadId, completedParts.size(), key);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId, futures);
+            throw new FileStorageException("Multipart upload was interrupted: " + key, e);
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId, futures);
+            throw e;
+        }
+    }
+
+    private CompletedPart uploadPartWithRetry(
+            String key, String uploadId, int partNumber, byte[] part, AtomicBoolean failed)
+            throws InterruptedException {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) part.length)
+                .build();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String eTag = s3Client.uploadPart(request, RequestBody.fromBytes(part))
+                        .eTag();
+                return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+            } catch (SdkException e) {
+                if (attempt >= maxPartAttempts || failed.get()) {
+                    throw e;
+                }
+                log.warn(
+                        "Part {} of upload {} failed (attempt {}/{}): {}",
+                        partNumber,
+                        uploadId,
+                        attempt,
+                        maxPartAttempts,
+                        e.getMessage());
+                Thread.sleep(RETRY_BACKOFF.multipliedBy(attempt));
+            }
+        }
+    }
+
+    private CompletedPart await(Future<CompletedPart> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new FileStorageException("Failed to upload part", e.getCause());
+        }
+    }
+
+    private void abort(String key, String uploadId, List<Future<CompletedPart>> futures) {
+        futures.forEach(future -> future.cancel(true));
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.info("Multipart upload {} aborted. Path: {}", uploadId, key);
+        } catch (SdkException e) {
+            log.warn("Failed to abort multipart upload {} for {}", uploadId, key, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+}
@@ -0,0 +1,111 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.PresignedUpload;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PresignedUploadService {
+
+    public static final int SNIFF_LIMIT = 10 * 1024;
+    public static final String SNIFF_RANGE = "bytes=0-" + (SNIFF_LIMIT - 1);
+
+    private static final String UPLOAD_PREFIX = "uploads/";
+
+    private final S3Presigner s3Presigner;
+    private final ImageTypeDetector imageTypeDetector = new ImageTypeDetector();
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${app.storage.presign.ttl:15m}")
+    private Duration ttl;
+
+    @Value("${app.storage.presign.max-file-size:50MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.storage.presign.download-ttl:1h}")
+    private Duration downloadTtl;
+
+    public PresignedUpload presign(String originalFilename, String contentType, Long userId) {
+        String objectKey = newUploadKey(originalFilename, contentType, userId);
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(objectKey)
+                        .contentType(contentType)
+                        .build())
+                .build());
+
+        log.debug("Issued presigned upload for user {}. Path: {}", userId, objectKey);
+        return new PresignedUpload(objectKey, presigned.url().toString(), presigned.expiration());
+    }
+
+    public String presignDownload(String objectKey) {
+        return s3Presigner
+                .presignGetObject(GetObjectPresignRequest.builder()
+                        .signatureDuration(downloadTtl)
+                        .getObjectRequest(GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(objectKey)
+                                .build())
+                        .build())
+                .url()
+                .toString();
+    }
+
+    public void checkOwnership(String objectKey, Long userId) {
+        if (objectKey == null || !objectKey.startsWith(UPLOAD_PREFIX + userId + "/") || objectKey.contains("..")) {
+            log.warn("Security Alert: User {} tried to finalize foreign upload '{}'", userId, objectKey);
+            throw new InvalidFileFormatException("Unknown upload: " + objectKey);
+        }
+    }
+
+    public void checkContent(String objectKey, long contentLength, byte[] head, Long userId) {
+        if (contentLength <= 0) {
+            throw new InvalidFileFormatException("Uploaded file is empty: " + objectKey);
+        }
+        if (contentLength > maxFileSize.toBytes()) {
+            throw new InvalidFileFormatException("Uploaded file exceeds the allowable limit: " + objectKey);
+        }
+
+        String detectedType = imageTypeDetector.detect(head);
+        if (!detectedType.startsWith("image/")) {
+            log.warn(
+                    "Security Alert: User {} uploaded '{}' directly, detected as '{}'",
+                    userId,
+                    objectKey,
+                    detectedType);
+            throw new InvalidFileFormatException("Invalid file type. Only images are allowed.");
+        }
+    }
+
+    public String newUploadKey(String originalFilename, String contentType, Long userId) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new InvalidFileFormatException("Invalid file type. Only images are allowed.");
+        }
+
+        String extension = FilenameUtils.getExtension(originalFilename);
+        if (extension == null || extension.isBlank()) {
+            extension = "jpg";
+        }
+        return UPLOAD_PREFIX + userId + "/" + UUID.randomUUID() + "." + extension;
+    }
+}
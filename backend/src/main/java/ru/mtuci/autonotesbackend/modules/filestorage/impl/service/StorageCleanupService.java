@@ -1,15 +1,24 @@
 package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
 
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.domain.StorageBlob;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRenditionRepository;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
@@ -19,11 +28,16 @@ import software.amazon.awssdk.services.s3.model.S3Object;
 
 @Slf4j
 @Service
+@Profile("minio-storage")
 @RequiredArgsConstructor
 public class StorageCleanupService {
 
     private final S3Client s3Client;
     private final NoteImageRepository noteImageRepository;
+    private final NoteImageRenditionRepository noteImageRenditionRepository;
+    private final LectureNoteRepository lectureNoteRepository;
+    private final StorageBlobRepository storageBlobRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${aws.s3.bucket}")
     private String bucketName;
@@ -31,6 +45,9 @@ public class StorageCleanupService {
     @Value("${app.scheduling.cleanup-retention-hours:24}")
     private int retentionHours;
 
+    @Value("${app.storage.blob-gc-batch-size:100}")
+    private int blobGcBatchSize;
+
     @Scheduled(cron = "${app.scheduling.s3-cleanup-cron:0 0 3 * * *}")
     @Transactional(readOnly = true)
     public void cleanupOrphanedFiles() {
@@ -67,7 +84,10 @@ public class StorageCleanupService {
                         .toList();
 
                 if (!candidatesToCheck.isEmpty()) {
-                    Set<String> existingFiles = noteImageRepository.findExistingPaths(candidatesToCheck);
+                    Set<String> existingFiles = new HashSet<>(noteImageRepository.findExistingPaths(candidatesToCheck));
+                    existingFiles.addAll(storageBlobRepository.findExistingPaths(candidatesToCheck));
+                    existingFiles.addAll(noteImageRenditionRepository.findExistingPaths(candidatesToCheck));
+                    existingFiles.addAll(lectureNoteRepository.findExistingTextPaths(candidatesToCheck));
 
                     List<String> orphans = candidatesToCheck.stream()
                             .filter(key -> !existingFiles.contains(key))
@@ -94,6 +114,44 @@ public class StorageCleanupService {
         }
     }
 
+    @Scheduled(cron = "${app.scheduling.blob-gc-cron:0 30 3 * * *}")
+    public void purgeUnreferencedBlobs() {
+        log.info("Starting unreferenced blob purge...");
+
+        OffsetDateTime threshold = OffsetDateTime.now().minusHours(retentionHours);
+        AtomicInteger totalPurged = new AtomicInteger();
+        boolean hasMore = true;
+
+        while (hasMore) {
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(ignored -> {
+                List<StorageBlob> blobs = storageBlobRepository.findUnreferencedBatch(threshold, blobGcBatchSize);
+
+                int deleted = 0;
+                for (StorageBlob blob : blobs) {
+                    try {
+                        s3Client.deleteObject(DeleteObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(blob.getStoragePath())
+                                .build());
+                        storageBlobRepository.delete(blob);
+                        deleted++;
+                    } catch (Exception e) {
+                        log.error("GC: Failed to purge blob: {}", blob.getStoragePath(), e);
+                    }
+                }
+
+                totalPurged.addAndGet(deleted);
+                return blobs.size() == blobGcBatchSize && deleted > 0;
+            }));
+        }
+
+        if (totalPurged.get() > 0) {
+            log.info("Blob purge finished. Deleted blobs: {}", totalPurged.get());
+        } else {
+            log.info("Blob purge finished. Nothing to delete.");
+        }
+    }
+
     private void deleteFromS3(String key) {
         try {
             s3Client.deleteObject(
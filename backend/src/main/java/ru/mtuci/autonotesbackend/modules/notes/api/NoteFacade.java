@@ -1,16 +1,58 @@
 package ru.mtuci.autonotesbackend.modules.notes.api;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpRange;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDetailDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchMode;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSuggestionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteTextDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileDto;
 
 public interface NoteFacade {
     NoteDto createNote(String title, List<MultipartFile> files, Long userId);
 
-    List<NoteDto> findAllUserNotes(Long userId);
+    NoteDto createNoteStreaming(HttpServletRequest request, Long userId);
+
+    List<PresignedPageDto> presignUploads(PresignUploadRequestDto request, Long userId);
+
+    NoteDto finalizeUpload(FinalizeUploadRequestDto request, Long userId);
+
+    UploadSessionDto createUploadSession(CreateUploadSessionRequestDto request, Long userId);
+
+    UploadSessionDto getUploadSession(UUID sessionId, Long userId);
+
+    UploadSessionFileDto uploadChunk(
+            UUID sessionId, int fileIndex, long offset, InputStream content, long contentLength, Long userId);
+
+    NoteDto commitUploadSession(UUID sessionId, Long userId);
+
+    void abortUploadSession(UUID sessionId, Long userId);
+
+    NotePageDto findUserNotes(Long userId, String cursor, Integer limit);
+
+    NoteSearchPageDto searchUserNotes(
+            Long userId, String query, NoteSearchMode mode, String cursor, Integer limit);
+
+    List<NoteSuggestionDto> suggestUserNotes(Long userId, String query, Integer limit);
+
+    SseEmitter subscribeToStatusEvents(Long userId);
 
     NoteDetailDto getNoteById(Long noteId, Long userId);
 
+    NoteTextDto getRecognizedText(Long noteId, Long userId, HttpRange range);
+
     void deleteNote(Long noteId, Long userId);
 }
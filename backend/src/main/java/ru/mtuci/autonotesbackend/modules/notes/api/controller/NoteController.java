@@ -1,8 +1,17 @@
 package ru.mtuci.autonotesbackend.modules.notes.api.controller;
 
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,13 +20,29 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.mtuci.autonotesbackend.modules.notes.api.NoteFacade;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDetailDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchMode;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSuggestionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteTextDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileDto;
 import ru.mtuci.autonotesbackend.security.SecurityUser;
 
 @RestController
@@ -25,6 +50,8 @@ import ru.mtuci.autonotesbackend.security.SecurityUser;
 @RequiredArgsConstructor
 public class NoteController implements NoteResource {
 
+    private static final MediaType TEXT_MARKDOWN_UTF8 = new MediaType("text", "markdown", StandardCharsets.UTF_8);
+
     private final NoteFacade noteFacade;
 
     @Override
@@ -38,13 +65,131 @@ public class NoteController implements NoteResource {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdNote);
     }
 
+    @Override
+    @PostMapping(path = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<NoteDto> uploadNoteStreaming(
+            HttpServletRequest request, @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        NoteDto createdNote = noteFacade.createNoteStreaming(request, securityUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdNote);
+    }
+
+    @Override
+    @PostMapping("/uploads/presign")
+    public ResponseEntity<List<PresignedPageDto>> presignUploads(
+            @Valid @RequestBody PresignUploadRequestDto request,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        List<PresignedPageDto> pages = noteFacade.presignUploads(request, securityUser.getId());
+        return ResponseEntity.ok(pages);
+    }
+
+    @Override
+    @PostMapping("/uploads/finalize")
+    public ResponseEntity<NoteDto> finalizeUpload(
+            @Valid @RequestBody FinalizeUploadRequestDto request,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        NoteDto createdNote = noteFacade.finalizeUpload(request, securityUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdNote);
+    }
+
+    @Override
+    @PostMapping("/upload-sessions")
+    public ResponseEntity<UploadSessionDto> createUploadSession(
+            @Valid @RequestBody CreateUploadSessionRequestDto request,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        UploadSessionDto session = noteFacade.createUploadSession(request, securityUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(session);
+    }
+
+    @Override
+    @GetMapping("/upload-sessions/{sessionId}")
+    public ResponseEntity<UploadSessionDto> getUploadSession(
+            @PathVariable UUID sessionId,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        UploadSessionDto session = noteFacade.getUploadSession(sessionId, securityUser.getId());
+        return ResponseEntity.ok(session);
+    }
+
+    @Override
+    @PutMapping(
+            path = "/upload-sessions/{sessionId}/files/{fileIndex}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionFileDto> uploadChunk(
+            @PathVariable UUID sessionId,
+            @PathVariable int fileIndex,
+            @RequestParam long offset,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, defaultValue = "-1") long contentLength,
+            InputStream content,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        UploadSessionFileDto file =
+                noteFacade.uploadChunk(sessionId, fileIndex, offset, content, contentLength, securityUser.getId());
+        return ResponseEntity.ok(file);
+    }
+
+    @Override
+    @PostMapping("/upload-sessions/{sessionId}/commit")
+    public ResponseEntity<NoteDto> commitUploadSession(
+            @PathVariable UUID sessionId,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        NoteDto createdNote = noteFacade.commitUploadSession(sessionId, securityUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdNote);
+    }
+
+    @Override
+    @DeleteMapping("/upload-sessions/{sessionId}")
+    public ResponseEntity<Void> abortUploadSession(
+            @PathVariable UUID sessionId,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        noteFacade.abortUploadSession(sessionId, securityUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     @Override
     @GetMapping
-    public ResponseEntity<List<NoteDto>> getAllNotes(
+    public ResponseEntity<NotePageDto> getAllNotes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        NotePageDto page = noteFacade.findUserNotes(securityUser.getId(), cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Override
+    @GetMapping("/search")
+    public ResponseEntity<NoteSearchPageDto> searchNotes(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "FULL_TEXT") NoteSearchMode mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
 
-        List<NoteDto> notes = noteFacade.findAllUserNotes(securityUser.getId());
-        return ResponseEntity.ok(notes);
+        NoteSearchPageDto page = noteFacade.searchUserNotes(securityUser.getId(), q, mode, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Override
+    @GetMapping("/suggest")
+    public ResponseEntity<List<NoteSuggestionDto>> suggestNotes(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        List<NoteSuggestionDto> suggestions = noteFacade.suggestUserNotes(securityUser.getId(), q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @Override
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusEvents(@Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+        return noteFacade.subscribeToStatusEvents(securityUser.getId());
     }
 
     @Override
@@ -56,6 +201,27 @@ public class NoteController implements NoteResource {
         return ResponseEntity.ok(noteDetail);
     }
 
+    @Override
+    @GetMapping("/{id}/text")
+    public ResponseEntity<Resource> getRecognizedText(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @Parameter(hidden = true) @AuthenticationPrincipal SecurityUser securityUser) {
+
+        NoteTextDto text = noteFacade.getRecognizedText(id, securityUser.getId(), firstRange(rangeHeader));
+
+        ResponseEntity.BodyBuilder response = text.partial()
+                ? ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .header(
+                                HttpHeaders.CONTENT_RANGE,
+                                "bytes " + text.rangeStart() + "-" + text.rangeEnd() + "/" + text.totalLength())
+                : ResponseEntity.ok();
+        return response.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(TEXT_MARKDOWN_UTF8)
+                .contentLength(text.contentLength())
+                .body(new InputStreamResource(text.content()));
+    }
+
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNote(
@@ -64,4 +230,16 @@ public class NoteController implements NoteResource {
         noteFacade.deleteNote(id, securityUser.getId());
         return ResponseEntity.noContent().build();
     }
+
+    private static HttpRange firstRange(String rangeHeader) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.isEmpty() ? null : ranges.getFirst();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
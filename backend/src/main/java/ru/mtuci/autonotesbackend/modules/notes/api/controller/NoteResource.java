@@ -2,18 +2,37 @@ package ru.mtuci.autonotesbackend.modules.notes.api.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
+import java.util.UUID;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.mtuci.autonotesbackend.exception.dto.ErrorResponseDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDetailDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchMode;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteStatusEventDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSuggestionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileDto;
 import ru.mtuci.autonotesbackend.security.SecurityUser;
 
 @Tag(name = "03. Конспекты", description = "API для управления конспектами")
@@ -52,14 +71,347 @@ public interface NoteResource {
             @Parameter(description = "Список файлов изображений", required = true) List<MultipartFile> files,
             @Parameter(hidden = true) SecurityUser securityUser);
 
-    @Operation(summary = "Получить все конспекты пользователя")
-    ResponseEntity<List<NoteDto>> getAllNotes(@Parameter(hidden = true) SecurityUser securityUser);
+    @Operation(
+            summary = "Загрузить новый конспект потоково",
+            description = "Принимает тот же `multipart/form-data` (части `title` и `files`), что и обычная загрузка,"
+                    + " но разбирает тело запроса по мере поступления и передаёт каждый файл напрямую в хранилище,"
+                    + " не сохраняя его целиком на диск или в память сервера.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Конспект успешно создан",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = NoteDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Некорректный запрос",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Сервис хранения файлов недоступен",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<NoteDto> uploadNoteStreaming(
+            @Parameter(hidden = true) HttpServletRequest request, @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Получить ссылки для прямой загрузки страниц",
+            description = "Возвращает подписанные `PUT`-ссылки, по которым клиент загружает изображения напрямую"
+                    + " в хранилище, минуя сервер. После загрузки нужно вызвать `/uploads/finalize`.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Ссылки выданы",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        array =
+                                                @ArraySchema(
+                                                        schema = @Schema(implementation = PresignedPageDto.class)))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Некорректный запрос",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<List<PresignedPageDto>> presignUploads(
+            @Valid @RequestBody PresignUploadRequestDto request, @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Завершить прямую загрузку и создать конспект",
+            description = "Проверяет загруженные объекты (наличие, размер и сигнатуру изображения) и в одной"
+                    + " транзакции создаёт конспект, его страницы и событие для обработки.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Конспект успешно создан",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = NoteDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Файл не найден, пуст, слишком велик или не является изображением",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "Загруженная страница уже прикреплена к конспекту",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Сервис хранения файлов недоступен",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<NoteDto> finalizeUpload(
+            @Valid @RequestBody FinalizeUploadRequestDto request, @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Создать сессию докачиваемой загрузки",
+            description = "Регистрирует файлы будущего конспекта и открывает для каждого multipart-загрузку в"
+                    + " хранилище. Затем файлы передаются частями размера `chunkSize` через"
+                    + " `PUT /upload-sessions/{sessionId}/files/{fileIndex}`; после обрыва связи клиент"
+                    + " запрашивает прогресс и продолжает с `receivedBytes`.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Сессия создана",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = UploadSessionDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Некорректный запрос",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Сервис хранения файлов недоступен",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<UploadSessionDto> createUploadSession(
+            @Valid @RequestBody CreateUploadSessionRequestDto request,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(summary = "Получить прогресс сессии загрузки")
+    ResponseEntity<UploadSessionDto> getUploadSession(
+            @Parameter(description = "ID сессии") @PathVariable UUID sessionId,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Загрузить часть файла",
+            description = "Тело запроса (`application/octet-stream`) — байты файла начиная с `offset`. Смещение должно"
+                    + " совпадать с `receivedBytes`, а длина — с `chunkSize` (кроме последней части файла)."
+                    + " Обязателен заголовок `Content-Length`.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Часть принята",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = UploadSessionFileDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Неверная длина части",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "Смещение не совпадает с уже принятым объёмом или сессия неактивна",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Сервис хранения файлов недоступен",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<UploadSessionFileDto> uploadChunk(
+            @Parameter(description = "ID сессии") @PathVariable UUID sessionId,
+            @Parameter(description = "Порядковый номер файла в сессии") @PathVariable int fileIndex,
+            @Parameter(description = "Смещение части в байтах", required = true) long offset,
+            @Parameter(hidden = true) long contentLength,
+            @Parameter(hidden = true) InputStream content,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Завершить сессию загрузки и создать конспект",
+            description = "Собирает части каждого файла в хранилище, проверяет сигнатуры изображений и создаёт"
+                    + " конспект. Повторный вызов для завершённой сессии возвращает уже созданный конспект.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Конспект успешно создан",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = NoteDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Файл не является изображением",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "Не все части загружены или сессия неактивна",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Сервис хранения файлов недоступен",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<NoteDto> commitUploadSession(
+            @Parameter(description = "ID сессии") @PathVariable UUID sessionId,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(summary = "Отменить сессию загрузки")
+    ResponseEntity<Void> abortUploadSession(
+            @Parameter(description = "ID сессии") @PathVariable UUID sessionId,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Получить конспекты пользователя постранично",
+            description = "Возвращает конспекты от новых к старым. Для следующей страницы передайте `nextCursor`"
+                    + " из ответа в параметре `cursor`; размер страницы ограничен сверху.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Страница конспектов",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = NotePageDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Некорректный курсор",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<NotePageDto> getAllNotes(
+            @Parameter(description = "Курсор из `nextCursor` предыдущей страницы") String cursor,
+            @Parameter(description = "Размер страницы (по умолчанию 20, не больше 100)") Integer limit,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Поиск по конспектам",
+            description = "В режиме `FULL_TEXT` ищет по заголовку, краткому содержанию и распознанному тексту"
+                    + " с учетом морфологии русского и английского языков и поддерживает синтаксис веб-поиска:"
+                    + " фразы в кавычках, `or` и исключение слов через `-`. В режиме `FUZZY` ищет по заголовку и"
+                    + " распознанному тексту с допуском опечаток и ошибок распознавания (триграммы). Результаты"
+                    + " упорядочены по релевантности и содержат фрагменты текста с подсветкой совпадений;"
+                    + " для следующей страницы передайте `nextCursor` в параметре `cursor`.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Страница результатов поиска",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = NoteSearchPageDto.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Пустой или слишком длинный запрос, неизвестный режим либо некорректный курсор",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<NoteSearchPageDto> searchNotes(
+            @Parameter(description = "Поисковый запрос", example = "теорема \"центральная предельная\"") String q,
+            @Parameter(description = "Режим поиска: `FULL_TEXT` (по умолчанию) или `FUZZY`") NoteSearchMode mode,
+            @Parameter(description = "Курсор из `nextCursor` предыдущей страницы") String cursor,
+            @Parameter(description = "Размер страницы (по умолчанию 20, не больше 100)") Integer limit,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Подсказки поиска по мере ввода",
+            description = "Возвращает конспекты, в заголовке, кратком содержании или распознанном тексте которых есть"
+                    + " слова, начинающиеся с каждого слова запроса. Ответ строится по индексу в памяти, который"
+                    + " собирается при первом запросе пользователя и обновляется при завершении обработки и удалении"
+                    + " конспектов; результаты отсортированы от новых к старым.")
+    ResponseEntity<List<NoteSuggestionDto>> suggestNotes(
+            @Parameter(description = "Начало слов для поиска", example = "интег ряд") String q,
+            @Parameter(description = "Количество подсказок (по умолчанию 10, не больше 50)") Integer limit,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
+    @Operation(
+            summary = "Подписаться на смену статусов конспектов",
+            description = "Открывает поток Server-Sent Events. При каждом завершении обработки конспекта пользователя"
+                    + " (`COMPLETED` или `FAILED`, в том числе по таймауту) приходит событие `note-status` с ID и новым"
+                    + " статусом конспекта. Раз в 15 секунд отправляется комментарий-heartbeat. Одновременно у"
+                    + " пользователя может быть открыто не больше 3 потоков.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Поток событий открыт",
+                        content =
+                                @Content(
+                                        mediaType = "text/event-stream",
+                                        schema = @Schema(implementation = NoteStatusEventDto.class))),
+                @ApiResponse(
+                        responseCode = "429",
+                        description = "Открыто слишком много потоков событий",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    SseEmitter streamStatusEvents(@Parameter(hidden = true) SecurityUser securityUser);
 
     @Operation(summary = "Получить детальную информацию о конспекте")
     ResponseEntity<NoteDetailDto> getNoteById(
             @Parameter(description = "ID конспекта") @PathVariable Long id,
             @Parameter(hidden = true) SecurityUser securityUser);
 
+    @Operation(
+            summary = "Получить распознанный текст конспекта",
+            description = "Отдает распознанный текст как `text/markdown`, в том числе длинные тексты, вынесенные в"
+                    + " объектное хранилище. Поддерживает заголовок `Range` (один диапазон байт) для постраничной"
+                    + " или докачиваемой загрузки.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Текст целиком"),
+                @ApiResponse(responseCode = "206", description = "Запрошенный диапазон текста"),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "Конспект не найден или текст еще не распознан",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class))),
+                @ApiResponse(
+                        responseCode = "416",
+                        description = "Диапазон за пределами текста",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ErrorResponseDto.class)))
+            })
+    ResponseEntity<Resource> getRecognizedText(
+            @Parameter(description = "ID конспекта") @PathVariable Long id,
+            @Parameter(description = "Диапазон байт, например `bytes=0-65535`") String rangeHeader,
+            @Parameter(hidden = true) SecurityUser securityUser);
+
     @Operation(summary = "Удалить конспект")
     ResponseEntity<Void> deleteNote(
             @Parameter(description = "ID конспекта") @PathVariable Long id,
@@ -0,0 +1,30 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Создание сессии докачиваемой загрузки конспекта")
+public class CreateUploadSessionRequestDto {
+
+    @Schema(description = "Заголовок конспекта", example = "Лекция по теории вероятностей")
+    @NotBlank(message = "Title cannot be blank")
+    @Size(max = 255, message = "Title must be at most 255 characters")
+    private String title;
+
+    @Schema(description = "Файлы страниц в порядке просмотра")
+    @NotEmpty(message = "At least one file is required")
+    @Size(max = 50, message = "At most 50 files can be uploaded at once")
+    private List<@Valid UploadSessionFileRequestDto> files;
+}
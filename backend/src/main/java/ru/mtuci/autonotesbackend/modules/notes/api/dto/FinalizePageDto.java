@@ -0,0 +1,26 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Загруженная напрямую страница конспекта")
+public class FinalizePageDto {
+
+    @Schema(description = "Ключ объекта из ответа на запрос ссылок", example = "uploads/1/0b9c.jpg")
+    @NotBlank(message = "Object key cannot be blank")
+    private String objectKey;
+
+    @Schema(description = "Оригинальное имя файла", example = "IMG_2024.jpg")
+    @NotBlank(message = "File name cannot be blank")
+    @Size(max = 255, message = "File name must be at most 255 characters")
+    private String originalFileName;
+}
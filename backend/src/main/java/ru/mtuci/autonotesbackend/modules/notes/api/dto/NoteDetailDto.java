@@ -25,9 +25,17 @@ public class NoteDetailDto {
     @Schema(description = "Статус обработки конспекта", example = "COMPLETED")
     private NoteStatus status;
 
-    @Schema(description = "Распознанный текст с изображения")
+    @Schema(
+            description = "Распознанный текст с изображения. Для длинных текстов не передается"
+                    + " (`recognizedTextOffloaded = true`) и загружается через `GET /api/v1/notes/{id}/text`")
     private String recognizedText;
 
+    @Schema(description = "Размер распознанного текста в байтах (UTF-8)", example = "183402")
+    private Long recognizedTextLength;
+
+    @Schema(description = "Текст хранится в объектном хранилище и отдается отдельным запросом", example = "false")
+    private boolean recognizedTextOffloaded;
+
     @Schema(description = "Краткое содержание (саммари) распознанного текста")
     private String summaryText;
 
@@ -14,4 +14,14 @@ public class NoteImageDto {
 
     @Schema(description = "Порядковый номер при просмотре (сортировка)", example = "0")
     private int orderIndex;
+
+    @Schema(
+            description = "Ссылка на миниатюру для сетки конспектов (null, пока миниатюра не сгенерирована)",
+            example = "http://localhost:9000/lecture-notes/renditions/101/thumbnail.jpg?X-Amz-Signature=...")
+    private String thumbnailUrl;
+
+    @Schema(
+            description = "Ссылка на превью среднего размера (null, пока превью не сгенерировано)",
+            example = "http://localhost:9000/lecture-notes/renditions/101/preview.jpg?X-Amz-Signature=...")
+    private String previewUrl;
 }
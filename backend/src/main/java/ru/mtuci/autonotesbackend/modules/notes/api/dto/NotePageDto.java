@@ -0,0 +1,18 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "Страница списка конспектов, от новых к старым")
+public class NotePageDto {
+
+    @Schema(description = "Конспекты на странице")
+    private List<NoteDto> items;
+
+    @Schema(
+            description = "Курсор следующей страницы для параметра `cursor`; `null`, если страница последняя",
+            example = "MjAyNS0wMS0xNVQwNzozMDowMC4xMjM0NTZafDQy")
+    private String nextCursor;
+}
@@ -0,0 +1,6 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+public enum NoteSearchMode {
+    FULL_TEXT,
+    FUZZY
+}
@@ -0,0 +1,18 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "Страница результатов поиска, от более релевантных к менее релевантным")
+public class NoteSearchPageDto {
+
+    @Schema(description = "Найденные конспекты на странице")
+    private List<NoteSearchResultDto> items;
+
+    @Schema(
+            description = "Курсор следующей страницы для параметра `cursor`; `null`, если страница последняя",
+            example = "MC4wNjA3OTI3fDQy")
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Найденный конспект")
+public class NoteSearchResultDto {
+
+    @Schema(description = "Конспект")
+    private NoteDto note;
+
+    @Schema(description = "Релевантность совпадения; результаты отсортированы по ее убыванию", example = "0.0607927")
+    private float rank;
+
+    @Schema(
+            description = "Фрагменты распознанного текста (или краткого содержания) с совпадениями, выделенными"
+                    + " тегом `<mark>`; остальной текст экранирован для вставки в HTML",
+            example = "Сегодня считаем <mark>интеграл</mark> по частям")
+    private String highlight;
+}
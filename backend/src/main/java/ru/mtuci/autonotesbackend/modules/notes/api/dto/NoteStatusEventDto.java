@@ -0,0 +1,20 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Событие смены статуса конспекта")
+public class NoteStatusEventDto {
+
+    @Schema(description = "ID конспекта", example = "42")
+    private Long noteId;
+
+    @Schema(description = "Новый статус обработки конспекта", example = "COMPLETED")
+    private NoteStatus status;
+}
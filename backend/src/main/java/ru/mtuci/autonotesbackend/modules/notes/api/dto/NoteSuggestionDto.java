@@ -0,0 +1,19 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Подсказка поиска по мере ввода")
+public class NoteSuggestionDto {
+
+    @Schema(description = "ID конспекта", example = "42")
+    private Long id;
+
+    @Schema(description = "Заголовок конспекта", example = "Лекция по теории вероятностей")
+    private String title;
+}
@@ -0,0 +1,10 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import java.io.InputStream;
+
+public record NoteTextDto(InputStream content, long rangeStart, long rangeEnd, long totalLength, boolean partial) {
+
+    public long contentLength() {
+        return rangeEnd - rangeStart + 1;
+    }
+}
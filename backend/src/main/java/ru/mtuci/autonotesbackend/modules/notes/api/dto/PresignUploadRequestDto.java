@@ -0,0 +1,24 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос ссылок для прямой загрузки страниц конспекта")
+public class PresignUploadRequestDto {
+
+    @Schema(description = "Страницы в порядке просмотра")
+    @NotEmpty(message = "At least one page is required")
+    @Size(max = 50, message = "At most 50 pages can be uploaded at once")
+    private List<@Valid UploadPageRequestDto> pages;
+}
@@ -0,0 +1,23 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Подписанная ссылка для загрузки одной страницы")
+public class PresignedPageDto {
+
+    @Schema(description = "Ключ объекта для завершения загрузки", example = "uploads/1/0b9c.jpg")
+    private String objectKey;
+
+    @Schema(description = "URL для запроса `PUT` с телом файла и тем же `Content-Type`")
+    private String uploadUrl;
+
+    @Schema(description = "Момент, после которого ссылка перестаёт действовать")
+    private Instant expiresAt;
+}
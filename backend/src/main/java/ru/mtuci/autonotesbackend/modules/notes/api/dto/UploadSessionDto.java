@@ -0,0 +1,34 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus;
+
+@Data
+@Schema(description = "Состояние сессии докачиваемой загрузки")
+public class UploadSessionDto {
+
+    @Schema(description = "ID сессии", example = "5f0c1a4e-8d2b-4c8e-9a53-2b1f6f0e7a10")
+    private UUID id;
+
+    @Schema(description = "Заголовок будущего конспекта", example = "Лекция по теории вероятностей")
+    private String title;
+
+    @Schema(description = "Статус сессии", example = "ACTIVE")
+    private UploadSessionStatus status;
+
+    @Schema(description = "Размер части в байтах; смещение каждой части должно быть кратно ему", example = "8388608")
+    private long chunkSize;
+
+    @Schema(description = "ID созданного конспекта (после завершения)", example = "42")
+    private Long noteId;
+
+    @Schema(description = "Момент, после которого незавершённая сессия удаляется")
+    private OffsetDateTime expiresAt;
+
+    @Schema(description = "Прогресс по каждому файлу")
+    private List<UploadSessionFileDto> files;
+}
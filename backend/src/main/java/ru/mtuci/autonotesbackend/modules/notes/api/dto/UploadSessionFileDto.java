@@ -0,0 +1,21 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Прогресс загрузки одного файла сессии")
+public class UploadSessionFileDto {
+
+    @Schema(description = "Порядковый номер файла в сессии", example = "0")
+    private int index;
+
+    @Schema(description = "Оригинальное имя файла", example = "IMG_2024.jpg")
+    private String fileName;
+
+    @Schema(description = "Полный размер файла в байтах", example = "3145728")
+    private long size;
+
+    @Schema(description = "Сколько байт уже принято; это смещение следующей части", example = "1048576")
+    private long receivedBytes;
+}
@@ -0,0 +1,33 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Описание файла, который клиент загрузит по частям")
+public class UploadSessionFileRequestDto {
+
+    @Schema(description = "Оригинальное имя файла", example = "IMG_2024.jpg")
+    @NotBlank(message = "File name cannot be blank")
+    @Size(max = 255, message = "File name must be at most 255 characters")
+    private String fileName;
+
+    @Schema(description = "MIME-тип файла", example = "image/jpeg")
+    @NotBlank(message = "Content type cannot be blank")
+    @Pattern(regexp = "image/[\\w.+-]+", message = "Only image content types are allowed")
+    private String contentType;
+
+    @Schema(description = "Полный размер файла в байтах", example = "3145728")
+    @Positive(message = "File size must be positive")
+    private long size;
+}
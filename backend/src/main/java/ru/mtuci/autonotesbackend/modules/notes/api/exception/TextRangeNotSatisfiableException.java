@@ -0,0 +1,17 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+public class TextRangeNotSatisfiableException extends RuntimeException {
+
+    private final long totalLength;
+
+    public TextRangeNotSatisfiableException(String message, long totalLength) {
+        super(message);
+        this.totalLength = totalLength;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyEventStreamsException extends RuntimeException {
+    public TooManyEventStreamsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadSessionConflictException extends RuntimeException {
+    public UploadSessionConflictException(String message) {
+        super(message);
+    }
+}
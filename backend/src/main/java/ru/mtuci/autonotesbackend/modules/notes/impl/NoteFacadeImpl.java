@@ -1,22 +1,58 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 import java.util.List;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRange;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.mtuci.autonotesbackend.modules.notes.api.NoteFacade;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDetailDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchMode;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchResultDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSuggestionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteTextDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileDto;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionFile;
 import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.NoteMapper;
+import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.UploadSessionMapper;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.DirectUploadService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteQueryService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteRenditionService;
 import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteStatusStreamService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteSuggestService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteTextStorageService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.StreamingNoteUploadService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.UploadSessionService;
 
 @Component
 @RequiredArgsConstructor
 public class NoteFacadeImpl implements NoteFacade {
 
     private final NoteService noteService;
+    private final NoteQueryService noteQueryService;
+    private final NoteSuggestService noteSuggestService;
+    private final NoteStatusStreamService noteStatusStreamService;
     private final NoteMapper noteMapper;
+    private final StreamingNoteUploadService streamingNoteUploadService;
+    private final DirectUploadService directUploadService;
+    private final UploadSessionService uploadSessionService;
+    private final UploadSessionMapper uploadSessionMapper;
+    private final NoteRenditionService renditionService;
+    private final NoteTextStorageService noteTextStorageService;
 
     @Override
     public NoteDto createNote(String title, List<MultipartFile> files, Long userId) {
@@ -25,14 +61,88 @@ public class NoteFacadeImpl implements NoteFacade {
     }
 
     @Override
-    public List<NoteDto> findAllUserNotes(Long userId) {
-        return noteService.findAllDtosByUserId(userId);
+    public NoteDto createNoteStreaming(HttpServletRequest request, Long userId) {
+        LectureNote newNote = streamingNoteUploadService.createNote(request, userId);
+        return noteMapper.toDto(newNote);
+    }
+
+    @Override
+    public List<PresignedPageDto> presignUploads(PresignUploadRequestDto request, Long userId) {
+        return directUploadService.presignUploads(request, userId);
+    }
+
+    @Override
+    public NoteDto finalizeUpload(FinalizeUploadRequestDto request, Long userId) {
+        LectureNote newNote = directUploadService.finalizeUpload(request, userId);
+        return noteMapper.toDto(newNote);
+    }
+
+    @Override
+    public UploadSessionDto createUploadSession(CreateUploadSessionRequestDto request, Long userId) {
+        return uploadSessionMapper.toDto(uploadSessionService.createSession(request, userId));
+    }
+
+    @Override
+    public UploadSessionDto getUploadSession(UUID sessionId, Long userId) {
+        return uploadSessionMapper.toDto(uploadSessionService.getSession(sessionId, userId));
+    }
+
+    @Override
+    public UploadSessionFileDto uploadChunk(
+            UUID sessionId, int fileIndex, long offset, InputStream content, long contentLength, Long userId) {
+        UploadSessionFile file =
+                uploadSessionService.appendChunk(sessionId, fileIndex, offset, content, contentLength, userId);
+        return uploadSessionMapper.toFileDto(file);
+    }
+
+    @Override
+    public NoteDto commitUploadSession(UUID sessionId, Long userId) {
+        LectureNote newNote = uploadSessionService.commit(sessionId, userId);
+        return noteMapper.toDto(newNote);
+    }
+
+    @Override
+    public void abortUploadSession(UUID sessionId, Long userId) {
+        uploadSessionService.abort(sessionId, userId);
+    }
+
+    @Override
+    public NotePageDto findUserNotes(Long userId, String cursor, Integer limit) {
+        NotePageDto page = noteQueryService.findPageByUserId(userId, cursor, limit);
+        renditionService.attachUrls(page.getItems());
+        return page;
+    }
+
+    @Override
+    public NoteSearchPageDto searchUserNotes(
+            Long userId, String query, NoteSearchMode mode, String cursor, Integer limit) {
+        NoteSearchPageDto page = noteQueryService.search(userId, query, mode, cursor, limit);
+        renditionService.attachUrls(page.getItems().stream().map(NoteSearchResultDto::getNote).toList());
+        return page;
+    }
+
+    @Override
+    public List<NoteSuggestionDto> suggestUserNotes(Long userId, String query, Integer limit) {
+        return noteSuggestService.suggest(userId, query, limit);
+    }
+
+    @Override
+    public SseEmitter subscribeToStatusEvents(Long userId) {
+        return noteStatusStreamService.subscribe(userId);
     }
 
     @Override
     public NoteDetailDto getNoteById(Long noteId, Long userId) {
         LectureNote note = noteService.findByIdAndUserId(noteId, userId);
-        return noteMapper.toDetailDto(note);
+        NoteDetailDto noteDetail = noteMapper.toDetailDto(note);
+        renditionService.attachImageUrls(noteDetail.getImages());
+        return noteDetail;
+    }
+
+    @Override
+    public NoteTextDto getRecognizedText(Long noteId, Long userId, HttpRange range) {
+        LectureNote note = noteService.findByIdAndUserId(noteId, userId);
+        return noteTextStorageService.open(note, range);
     }
 
     @Override
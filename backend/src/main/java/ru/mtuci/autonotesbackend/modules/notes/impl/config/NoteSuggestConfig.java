@@ -0,0 +1,100 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.UserNoteIndex;
+
+@Configuration
+public class NoteSuggestConfig {
+
+    public static final String SUGGEST_INDEX_CACHE = "notesSuggestIndex";
+
+    private static final String METRIC_PREFIX = "notes.suggest.index.";
+
+    @Bean
+    public Cache<Long, UserNoteIndex> noteSuggestIndexCache(
+            @Value("${app.notes.search.suggest.max-memory:64MB}") DataSize maxMemory,
+            @Value("${app.notes.search.suggest.expire-after-access:30m}") Duration expireAfterAccess,
+            @Value("${app.notes.search.suggest.expire-after-write:1h}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        // Caffeine weighs an entry on every write, including computeIfPresent returning the same
+        // index, so incremental updates keep the weight in line with the index size.
+        Cache<Long, UserNoteIndex> cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((Long userId, UserNoteIndex index) ->
+                        (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .expireAfter(expiry(expireAfterAccess, expireAfterWrite))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, SUGGEST_INDEX_CACHE);
+        Gauge.builder(METRIC_PREFIX + "memory.used", cache, NoteSuggestConfig::weightedSize)
+                .baseUnit("bytes")
+                .description("Estimated heap used by the resident per-user suggest indexes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "memory.max", maxMemory::toBytes)
+                .baseUnit("bytes")
+                .description("Memory budget of the suggest index cache")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "terms", cache, NoteSuggestConfig::termCount)
+                .description("Distinct terms across the resident suggest indexes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "notes", cache, NoteSuggestConfig::noteCount)
+                .description("Notes across the resident suggest indexes")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    // Incremental updates rewrite the entry, so the rebuild deadline counts from when the index was built,
+    // not from the last write; otherwise an index of an active user would never be reloaded.
+    private static Expiry<Long, UserNoteIndex> expiry(Duration expireAfterAccess, Duration expireAfterWrite) {
+        long accessNanos = expireAfterAccess.toNanos();
+        long writeNanos = expireAfterWrite.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long userId, UserNoteIndex index, long currentTime) {
+                return remaining(index, currentTime);
+            }
+
+            @Override
+            public long expireAfterUpdate(Long userId, UserNoteIndex index, long currentTime, long currentDuration) {
+                return remaining(index, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Long userId, UserNoteIndex index, long currentTime, long currentDuration) {
+                return remaining(index, currentTime);
+            }
+
+            private long remaining(UserNoteIndex index, long currentTime) {
+                return Math.min(accessNanos, Math.max(0, index.builtAtNanos() + writeNanos - currentTime));
+            }
+        };
+    }
+
+    private static double weightedSize(Cache<Long, UserNoteIndex> cache) {
+        return cache.policy()
+                .eviction()
+                .flatMap(Policy.Eviction::weightedSize)
+                .map(Long::doubleValue)
+                .orElse(Double.NaN);
+    }
+
+    private static double termCount(Cache<Long, UserNoteIndex> cache) {
+        return cache.asMap().values().stream().mapToLong(UserNoteIndex::termCount).sum();
+    }
+
+    private static double noteCount(Cache<Long, UserNoteIndex> cache) {
+        return cache.asMap().values().stream().mapToLong(UserNoteIndex::noteCount).sum();
+    }
+}
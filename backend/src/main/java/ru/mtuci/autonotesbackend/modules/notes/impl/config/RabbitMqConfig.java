@@ -1,13 +1,18 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
+@Slf4j
 @Configuration
 public class RabbitMqConfig {
 
@@ -19,12 +24,26 @@ public class RabbitMqConfig {
     public static final String QUEUE_NOTES_RESULTS = "notes.results.queue";
     public static final String QUEUE_NOTES_RESULTS_DLQ = "notes.results.dlq";
 
+    public static final String QUEUE_NOTES_RENDITIONS = "notes.renditions.queue";
+    public static final String QUEUE_NOTES_RENDITIONS_DLQ = "notes.renditions.dlq";
+
+    public static final String QUEUE_NOTES_NORMALIZE = "notes.normalize.queue";
+    public static final String QUEUE_NOTES_NORMALIZE_DLQ = "notes.normalize.dlq";
+
     public static final String ROUTING_KEY_PROCESS = "notes.created";
     public static final String ROUTING_KEY_PROCESS_DLQ = "notes.dlq";
 
     public static final String ROUTING_KEY_RESULTS = "notes.completed";
     public static final String ROUTING_KEY_RESULTS_DLQ = "notes.results.dlq.key";
 
+    public static final String ROUTING_KEY_RENDITIONS_DLQ = "notes.renditions.dlq.key";
+
+    public static final String ROUTING_KEY_NORMALIZE = "notes.normalize";
+    public static final String ROUTING_KEY_NORMALIZE_DLQ = "notes.normalize.dlq.key";
+
+    public static final String RESULTS_BATCH_CONTAINER_FACTORY = "resultsBatchContainerFactory";
+    public static final String RESULTS_LISTENER_ID = "notesResultsListener";
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -34,9 +53,38 @@ public class RabbitMqConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn(
+                "Message to {} with routing key {} was returned: {} {}",
+                returned.getExchange(),
+                returned.getRoutingKey(),
+                returned.getReplyCode(),
+                returned.getReplyText()));
         return template;
     }
 
+    @Bean(RESULTS_BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory resultsBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ResultsListenerSettings settings) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(settings.getBatchSize());
+        factory.setReceiveTimeout(settings.getReceiveTimeoutMs());
+        factory.setPrefetchCount(settings.getPrefetch());
+        factory.setConcurrentConsumers(settings.getConcurrency());
+        factory.setMaxConcurrentConsumers(settings.getMaxConcurrency());
+        factory.setMicrometerEnabled(true);
+
+        SimpleAsyncTaskExecutor consumerExecutor = new SimpleAsyncTaskExecutor("rabbit-results-");
+        consumerExecutor.setVirtualThreads(settings.isVirtualThreads());
+        factory.setTaskExecutor(consumerExecutor);
+        return factory;
+    }
+
     @Bean
     public TopicExchange notesExchange() {
         return new TopicExchange(EXCHANGE_NOTES);
@@ -87,4 +135,50 @@ public class RabbitMqConfig {
     public Binding resultsBinding() {
         return BindingBuilder.bind(resultsQueue()).to(notesExchange()).with(ROUTING_KEY_RESULTS);
     }
+
+    @Bean
+    public Queue renditionsDlq() {
+        return QueueBuilder.durable(QUEUE_NOTES_RENDITIONS_DLQ).build();
+    }
+
+    @Bean
+    public Binding renditionsDlqBinding() {
+        return BindingBuilder.bind(renditionsDlq()).to(notesExchange()).with(ROUTING_KEY_RENDITIONS_DLQ);
+    }
+
+    @Bean
+    public Queue renditionsQueue() {
+        return QueueBuilder.durable(QUEUE_NOTES_RENDITIONS)
+                .withArgument("x-dead-letter-exchange", EXCHANGE_NOTES)
+                .withArgument("x-dead-letter-routing-key", ROUTING_KEY_RENDITIONS_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Binding renditionsBinding() {
+        return BindingBuilder.bind(renditionsQueue()).to(notesExchange()).with(ROUTING_KEY_PROCESS);
+    }
+
+    @Bean
+    public Queue normalizeDlq() {
+        return QueueBuilder.durable(QUEUE_NOTES_NORMALIZE_DLQ).build();
+    }
+
+    @Bean
+    public Binding normalizeDlqBinding() {
+        return BindingBuilder.bind(normalizeDlq()).to(notesExchange()).with(ROUTING_KEY_NORMALIZE_DLQ);
+    }
+
+    @Bean
+    public Queue normalizeQueue() {
+        return QueueBuilder.durable(QUEUE_NOTES_NORMALIZE)
+                .withArgument("x-dead-letter-exchange", EXCHANGE_NOTES)
+                .withArgument("x-dead-letter-routing-key", ROUTING_KEY_NORMALIZE_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Binding normalizeBinding() {
+        return BindingBuilder.bind(normalizeQueue()).to(notesExchange()).with(ROUTING_KEY_NORMALIZE);
+    }
 }
@@ -0,0 +1,66 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ResultsListenerMetrics {
+
+    private static final String METRIC_PREFIX = "notes.results.listener.";
+
+    private final MeterRegistry meterRegistry;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final AmqpAdmin amqpAdmin;
+    private final ResultsListenerSettings settings;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerMetrics() {
+        String queue = RabbitMqConfig.QUEUE_NOTES_RESULTS;
+
+        if (listenerRegistry.getListenerContainer(RabbitMqConfig.RESULTS_LISTENER_ID)
+                instanceof SimpleMessageListenerContainer container) {
+            Gauge.builder(
+                            METRIC_PREFIX + "consumers.active",
+                            container,
+                            SimpleMessageListenerContainer::getActiveConsumerCount)
+                    .tag("queue", queue)
+                    .description("Consumers currently running for the ML results queue")
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder(METRIC_PREFIX + "consumers.min", settings, ResultsListenerSettings::getConcurrency)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "consumers.max", settings, ResultsListenerSettings::getMaxConcurrency)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "prefetch", settings, ResultsListenerSettings::getPrefetch)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "batch.size", settings, ResultsListenerSettings::getBatchSize)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "virtual.threads", settings, s -> s.isVirtualThreads() ? 1 : 0)
+                .tag("queue", queue)
+                .register(meterRegistry);
+
+        Gauge.builder("notes.results.queue.depth", amqpAdmin, admin -> messageCount(admin, queue))
+                .tag("queue", queue)
+                .description("Messages waiting in the ML results queue")
+                .register(meterRegistry);
+    }
+
+    private static double messageCount(AmqpAdmin admin, String queue) {
+        QueueInformation info = admin.getQueueInfo(queue);
+        return info != null ? info.getMessageCount() : Double.NaN;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class ResultsListenerSettings {
+
+    @Value("${app.notes.results.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.notes.results.receive-timeout-ms:500}")
+    private long receiveTimeoutMs;
+
+    @Value("${app.notes.results.concurrency:2}")
+    private int concurrency;
+
+    @Value("${app.notes.results.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${app.notes.results.prefetch:0}")
+    private int prefetch;
+
+    @Value("${app.notes.results.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    public int getMaxConcurrency() {
+        return Math.max(concurrency, maxConcurrency);
+    }
+
+    public int getPrefetch() {
+        return prefetch > 0 ? prefetch : batchSize * 2;
+    }
+}
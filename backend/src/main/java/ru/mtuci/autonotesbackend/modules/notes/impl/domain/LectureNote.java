@@ -45,6 +45,12 @@ public class LectureNote {
     @Column(name = "recognized_text", columnDefinition = "TEXT")
     private String recognizedText;
 
+    @Column(name = "recognized_text_path", length = 1024)
+    private String recognizedTextPath;
+
+    @Column(name = "recognized_text_length")
+    private Long recognizedTextLength;
+
     @Column(name = "summary_text", columnDefinition = "TEXT")
     private String summaryText;
 
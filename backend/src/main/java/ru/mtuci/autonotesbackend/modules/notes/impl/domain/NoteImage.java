@@ -15,6 +15,8 @@ import org.hibernate.annotations.CreationTimestamp;
 @Table(name = "note_images")
 public class NoteImage {
 
+    public static final String FILE_STORAGE_PATH_UNIQUE_INDEX = "uq_note_images_file_storage_path";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
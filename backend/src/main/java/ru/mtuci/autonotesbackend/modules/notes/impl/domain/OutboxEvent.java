@@ -14,6 +14,8 @@ import org.hibernate.annotations.CreationTimestamp;
 @Table(name = "outbox_events")
 public class OutboxEvent {
 
+    public static final String CONTENT_TYPE_JSON = "application/json";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,10 +26,17 @@ public class OutboxEvent {
     @Column(name = "event_type", nullable = false)
     private String eventType;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String payload;
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Builder.Default
+    @Column(name = "content_type", nullable = false)
+    private String contentType = CONTENT_TYPE_JSON;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
+
+    @Column(name = "published_at")
+    private OffsetDateTime publishedAt;
 }
@@ -0,0 +1,28 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.domain;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.config.RabbitMqConfig;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteProcessingEvent;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+    NOTE_CREATED(RabbitMqConfig.ROUTING_KEY_PROCESS, NoteProcessingEvent.class),
+    NOTE_NORMALIZATION_REQUESTED(RabbitMqConfig.ROUTING_KEY_NORMALIZE, NoteProcessingEvent.class);
+
+    private static final Map<String, OutboxEventType> BY_NAME =
+            Arrays.stream(values()).collect(Collectors.toMap(Enum::name, Function.identity()));
+
+    private final String routingKey;
+    private final Class<?> payloadType;
+
+    public static Optional<OutboxEventType> find(String name) {
+        return Optional.ofNullable(BY_NAME.get(name));
+    }
+}
@@ -0,0 +1,7 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.domain;
+
+public enum RenditionKind {
+    THUMBNAIL,
+    PREVIEW,
+    NORMALIZED
+}
@@ -0,0 +1,48 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(name = "upload_session_files")
+public class UploadSessionFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false)
+    private UploadSession session;
+
+    @Column(name = "file_index", nullable = false)
+    private int fileIndex;
+
+    @Column(name = "original_file_name", nullable = false)
+    private String originalFileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "file_storage_path", nullable = false)
+    private String fileStoragePath;
+
+    @Column(name = "storage_upload_id")
+    private String storageUploadId;
+
+    public boolean isComplete() {
+        return receivedBytes == totalSize;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.domain;
+
+public enum UploadSessionStatus {
+    ACTIVE,
+    COMMITTING,
+    COMMITTED
+}
@@ -0,0 +1,3 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.dto;
+
+public record NoteImageListItem(Long id, Long noteId, String originalFileName, int orderIndex) {}
@@ -0,0 +1,6 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.dto;
+
+import java.time.OffsetDateTime;
+
+public record NoteIndexSource(
+        Long id, Long userId, String title, String summaryText, String recognizedText, OffsetDateTime createdAt) {}
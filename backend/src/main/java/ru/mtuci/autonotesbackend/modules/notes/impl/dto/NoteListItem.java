@@ -0,0 +1,6 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.dto;
+
+import java.time.OffsetDateTime;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+
+public record NoteListItem(Long id, Long userId, String title, NoteStatus status, OffsetDateTime createdAt) {}
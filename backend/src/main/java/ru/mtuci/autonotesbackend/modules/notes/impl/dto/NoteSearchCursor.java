@@ -0,0 +1,34 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.InvalidCursorException;
+
+public record NoteSearchCursor(float rank, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static NoteSearchCursor of(NoteSearchHit hit) {
+        return new NoteSearchCursor(hit.rank(), hit.note().id());
+    }
+
+    public static NoteSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            float rank = Float.parseFloat(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            if (!Float.isFinite(rank)) {
+                throw new InvalidCursorException("Invalid search cursor");
+            }
+            return new NoteSearchCursor(rank, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid search cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
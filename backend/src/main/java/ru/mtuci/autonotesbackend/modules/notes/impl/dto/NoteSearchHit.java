@@ -0,0 +1,3 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.dto;
+
+public record NoteSearchHit(NoteListItem note, float rank, String highlight) {}
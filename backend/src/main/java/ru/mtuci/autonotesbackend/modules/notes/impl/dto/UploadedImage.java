@@ -0,0 +1,3 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.dto;
+
+public record UploadedImage(String fileStoragePath, String originalFileName) {}
@@ -0,0 +1,3 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.event;
+
+public record NoteDeletedEvent(Long noteId, Long userId) {}
@@ -0,0 +1,5 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.event;
+
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+
+public record NoteStatusChangedEvent(Long noteId, Long userId, NoteStatus status) {}
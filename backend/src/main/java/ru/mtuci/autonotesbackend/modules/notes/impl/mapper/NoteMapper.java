@@ -8,6 +8,8 @@ import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteImageDto;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteImageListItem;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem;
 
 @Mapper(componentModel = "spring")
 public interface NoteMapper {
@@ -16,8 +18,14 @@ public interface NoteMapper {
 
     List<NoteDto> toDtoList(List<LectureNote> notes);
 
+    @Mapping(target = "images", ignore = true)
+    NoteDto toDto(NoteListItem item);
+
     @Mapping(source = "user.id", target = "userId")
+    @Mapping(target = "recognizedTextOffloaded", expression = "java(lectureNote.getRecognizedTextPath() != null)")
     NoteDetailDto toDetailDto(LectureNote lectureNote);
 
     NoteImageDto toImageDto(NoteImage noteImage);
+
+    NoteImageDto toImageDto(NoteImageListItem item);
 }
@@ -0,0 +1,18 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSession;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionFile;
+
+@Mapper(componentModel = "spring")
+public interface UploadSessionMapper {
+    UploadSessionDto toDto(UploadSession session);
+
+    @Mapping(source = "fileIndex", target = "index")
+    @Mapping(source = "originalFileName", target = "fileName")
+    @Mapping(source = "totalSize", target = "size")
+    UploadSessionFileDto toFileDto(UploadSessionFile file);
+}
@@ -1,8 +1,10 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,12 +14,54 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem;
 
 @Repository
 public interface LectureNoteRepository extends JpaRepository<LectureNote, Long> {
 
-    @EntityGraph(attributePaths = "images")
-    List<LectureNote> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query(
+            """
+            SELECT new ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem(
+                n.id, n.user.id, n.title, n.status, n.createdAt)
+            FROM LectureNote n
+            WHERE n.user.id = :userId
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NoteListItem> findListPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(
+            """
+            SELECT new ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem(
+                n.id, n.user.id, n.title, n.status, n.createdAt)
+            FROM LectureNote n
+            WHERE n.user.id = :userId
+              AND (n.createdAt, n.id) < (:createdAt, :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NoteListItem> findListPageAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") OffsetDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(
+            """
+            SELECT new ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource(
+                n.id, n.user.id, n.title, n.summaryText, n.recognizedText, n.createdAt)
+            FROM LectureNote n
+            WHERE n.user.id = :userId AND n.status = :status
+            """)
+    List<NoteIndexSource> findIndexSources(@Param("userId") Long userId, @Param("status") NoteStatus status);
+
+    @Query(
+            """
+            SELECT new ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource(
+                n.id, n.user.id, n.title, n.summaryText, n.recognizedText, n.createdAt)
+            FROM LectureNote n
+            WHERE n.id = :id AND n.status = :status
+            """)
+    Optional<NoteIndexSource> findIndexSource(@Param("id") Long id, @Param("status") NoteStatus status);
 
     @EntityGraph(attributePaths = "images")
     Optional<LectureNote> findByIdAndUserId(Long id, Long userId);
@@ -27,6 +71,21 @@ public interface LectureNoteRepository extends JpaRepository<LectureNote, Long>
     @Query(value = "SELECT * FROM lecture_notes WHERE deleted_at < :threshold", nativeQuery = true)
     List<LectureNote> findAllSoftDeletedBefore(@Param("threshold") OffsetDateTime threshold, Pageable pageable);
 
+    @Query(
+            value = "SELECT recognized_text_path FROM lecture_notes WHERE recognized_text_path IN (:paths)",
+            nativeQuery = true)
+    Set<String> findExistingTextPaths(@Param("paths") Collection<String> paths);
+
+    @Query(
+            value =
+                    """
+        SELECT id FROM lecture_notes
+        WHERE id = :id AND status = 'PROCESSING' AND deleted_at IS NULL
+        FOR UPDATE
+        """,
+            nativeQuery = true)
+    Optional<Long> lockProcessingById(@Param("id") Long id);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(value = "DELETE FROM lecture_notes WHERE id = :id", nativeQuery = true)
     void hardDeleteById(@Param("id") Long id);
@@ -0,0 +1,43 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImageRendition;
+
+@Repository
+public interface NoteImageRenditionRepository extends JpaRepository<NoteImageRendition, Long> {
+
+    List<NoteImageRendition> findAllByImageIdIn(Collection<Long> imageIds);
+
+    @Query("SELECT r.fileStoragePath FROM NoteImageRendition r WHERE r.fileStoragePath IN :paths")
+    Set<String> findExistingPaths(@Param("paths") Collection<String> paths);
+
+    @Transactional
+    @Modifying
+    @Query(
+            value =
+                    """
+        INSERT INTO note_image_renditions (image_id, kind, file_storage_path, width, height, size_bytes)
+        VALUES (:imageId, :kind, :path, :width, :height, :size)
+        ON CONFLICT (image_id, kind)
+        DO UPDATE SET file_storage_path = EXCLUDED.file_storage_path,
+                      width = EXCLUDED.width,
+                      height = EXCLUDED.height,
+                      size_bytes = EXCLUDED.size_bytes
+        """,
+            nativeQuery = true)
+    void upsert(
+            @Param("imageId") Long imageId,
+            @Param("kind") String kind,
+            @Param("path") String filePath,
+            @Param("width") int width,
+            @Param("height") int height,
+            @Param("size") long sizeBytes);
+}
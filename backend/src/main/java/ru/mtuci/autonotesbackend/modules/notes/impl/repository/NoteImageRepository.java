@@ -1,12 +1,14 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteImageListItem;
 
 @Repository
 public interface NoteImageRepository extends JpaRepository<NoteImage, Long> {
@@ -16,4 +18,16 @@ public interface NoteImageRepository extends JpaRepository<NoteImage, Long> {
 
     @Query("SELECT ni.fileStoragePath FROM NoteImage ni WHERE ni.fileStoragePath IN :paths")
     Set<String> findExistingPaths(@Param("paths") Collection<String> paths);
+
+    List<NoteImage> findAllByNoteIdOrderByOrderIndexAsc(Long noteId);
+
+    @Query(
+            """
+            SELECT new ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteImageListItem(
+                ni.id, ni.note.id, ni.originalFileName, ni.orderIndex)
+            FROM NoteImage ni
+            WHERE ni.note.id IN :noteIds
+            ORDER BY ni.note.id, ni.orderIndex
+            """)
+    List<NoteImageListItem> findListItemsByNoteIdIn(@Param("noteIds") Collection<Long> noteIds);
 }
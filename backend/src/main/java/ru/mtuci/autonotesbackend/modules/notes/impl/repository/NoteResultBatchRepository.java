@@ -0,0 +1,87 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+
+@Repository
+@RequiredArgsConstructor
+public class NoteResultBatchRepository {
+
+    private static final String UPDATE_PREFIX =
+            """
+            UPDATE lecture_notes n
+            SET status                 = r.status,
+                recognized_text        = CASE WHEN r.completed THEN r.recognized_text ELSE n.recognized_text END,
+                recognized_text_path   = CASE WHEN r.completed THEN r.recognized_text_path
+                                              ELSE n.recognized_text_path END,
+                recognized_text_length = CASE WHEN r.completed THEN r.recognized_text_length
+                                              ELSE n.recognized_text_length END,
+                summary_text           = r.summary_text,
+                updated_at             = now()
+            FROM (SELECT v.*, v.status = 'COMPLETED' AS completed FROM (VALUES\s""";
+
+    private static final String UPDATE_SUFFIX =
+            """
+            ) AS v(id, status, recognized_text, recognized_text_path, recognized_text_length, summary_text)) AS r
+            WHERE n.id = r.id
+              AND n.status = 'PROCESSING'
+              AND n.deleted_at IS NULL
+            RETURNING n.id, n.user_id, n.status
+            """;
+
+    private static final String VALUES_ROW =
+            "(CAST(? AS BIGINT), ?, CAST(? AS TEXT), CAST(? AS VARCHAR), CAST(? AS BIGINT), CAST(? AS TEXT))";
+
+    // PostgreSQL caps a statement at 65535 bind parameters; six are used per row.
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<AppliedResult> applyResults(List<NoteResultUpdate> updates) {
+        List<AppliedResult> applied = new ArrayList<>(updates.size());
+        for (int from = 0; from < updates.size(); from += MAX_ROWS_PER_STATEMENT) {
+            applied.addAll(update(updates.subList(from, Math.min(updates.size(), from + MAX_ROWS_PER_STATEMENT))));
+        }
+        return applied;
+    }
+
+    private List<AppliedResult> update(List<NoteResultUpdate> updates) {
+        StringBuilder sql = new StringBuilder(UPDATE_PREFIX);
+        List<Object> args = new ArrayList<>(updates.size() * 6);
+        for (NoteResultUpdate update : updates) {
+            sql.append(args.isEmpty() ? "" : ", ").append(VALUES_ROW);
+            args.add(update.noteId());
+            args.add(update.status().name());
+            args.add(update.recognizedText());
+            args.add(update.recognizedTextPath());
+            args.add(update.recognizedTextLength());
+            args.add(update.summaryText());
+        }
+        sql.append(UPDATE_SUFFIX);
+
+        return jdbcTemplate.query(
+                sql.toString(),
+                (rs, rowNum) -> new AppliedResult(
+                        rs.getLong("id"), rs.getLong("user_id"), NoteStatus.valueOf(rs.getString("status"))),
+                args.toArray());
+    }
+
+    public record AppliedResult(Long noteId, Long userId, NoteStatus status) {}
+
+    public record NoteResultUpdate(
+            Long noteId,
+            NoteStatus status,
+            String recognizedText,
+            String recognizedTextPath,
+            Long recognizedTextLength,
+            String summaryText) {
+
+        public NoteResultUpdate withTextOffloadedTo(String path) {
+            return new NoteResultUpdate(noteId, status, null, path, recognizedTextLength, summaryText);
+        }
+    }
+}
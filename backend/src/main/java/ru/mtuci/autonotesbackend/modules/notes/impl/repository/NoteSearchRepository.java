@@ -0,0 +1,139 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchCursor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchHit;
+
+@Repository
+@RequiredArgsConstructor
+public class NoteSearchRepository {
+
+    // Matching goes through idx_lecture_notes_search (user_id, search_vector); only the matched
+    // rows are ranked. Normalization 1 divides the rank by 1 + log(document length).
+    private static final String FULL_TEXT_HITS =
+            """
+            SELECT * FROM (
+                SELECT n.id, n.user_id, n.title, n.status, n.created_at, q.query,
+                       ts_rank(n.search_vector, q.query, 1) AS rank
+                FROM lecture_notes n, websearch_to_tsquery('notes_ru_en', ?) AS q(query)
+                WHERE n.user_id = ?
+                  AND n.deleted_at IS NULL
+                  AND n.search_vector @@ q.query
+            ) hits
+            """;
+
+    // Candidates come from the trigram indexes via `<%`, which uses pg_trgm.word_similarity_threshold
+    // set for the current transaction.
+    private static final String FUZZY_HITS =
+            """
+            SELECT * FROM (
+                SELECT n.id, n.user_id, n.title, n.status, n.created_at,
+                       GREATEST(word_similarity(?, n.title),
+                                word_similarity(?, coalesce(n.recognized_text, ''))) AS rank
+                FROM lecture_notes n
+                WHERE n.user_id = ?
+                  AND n.deleted_at IS NULL
+                  AND (? <% n.title OR ? <% n.recognized_text)
+            ) hits
+            """;
+
+    private static final String AFTER = "WHERE (rank, id) < (CAST(? AS REAL), CAST(? AS BIGINT))\n";
+
+    private static final String PAGE = "ORDER BY rank DESC, id DESC LIMIT ?\n";
+
+    // Snippets are built only for the rows of the page. The text is HTML-escaped before
+    // ts_headline so that the only markup in a snippet is the <mark> highlighting.
+    private static final String SNIPPET_SOURCE =
+            "replace(replace(replace(coalesce(n.recognized_text, n.summary_text, ''),"
+                    + " '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+
+    private static final String HEADLINE_OPTIONS =
+            "'StartSel=<mark>, StopSel=</mark>, MaxWords=30, MinWords=10, MaxFragments=2, FragmentDelimiter=\" … \"'";
+
+    private static final String FULL_TEXT_SNIPPETS_PREFIX =
+            "SELECT p.*, ts_headline('notes_ru_en', " + SNIPPET_SOURCE + ", p.query, " + HEADLINE_OPTIONS
+                    + ") AS highlight\nFROM (\n";
+
+    // Typos do not stem to the query lexemes, so the fuzzy snippet highlights the words of the
+    // text that are themselves similar to one of the query words.
+    private static final String FUZZY_SNIPPETS_PREFIX =
+            "SELECT p.*, ts_headline('simple', " + SNIPPET_SOURCE + ", hq.query, " + HEADLINE_OPTIONS
+                    + ") AS highlight\nFROM (\n";
+
+    private static final String FULL_TEXT_SNIPPETS_SUFFIX =
+            """
+            ) p
+            JOIN lecture_notes n ON n.id = p.id
+            ORDER BY p.rank DESC, p.id DESC
+            """;
+
+    private static final String FUZZY_SNIPPETS_SUFFIX =
+            """
+            ) p
+            JOIN lecture_notes n ON n.id = p.id
+            CROSS JOIN LATERAL (
+                SELECT to_tsquery('simple', coalesce(string_agg(DISTINCT quote_literal(w), ' | '), '')) AS query
+                FROM regexp_split_to_table(lower(coalesce(n.recognized_text, n.summary_text, '')), '[^[:alnum:]]+') AS w
+                WHERE w <> ''
+                  AND EXISTS (SELECT 1 FROM unnest(CAST(? AS TEXT[])) AS qw WHERE similarity(w, qw) >= ?)
+            ) hq
+            ORDER BY p.rank DESC, p.id DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<NoteSearchHit> searchFullText(Long userId, String query, NoteSearchCursor after, int limit) {
+        String hits = FULL_TEXT_HITS + (after == null ? "" : AFTER) + PAGE;
+        String sql = FULL_TEXT_SNIPPETS_PREFIX + hits + FULL_TEXT_SNIPPETS_SUFFIX;
+        if (after == null) {
+            return jdbcTemplate.query(sql, NoteSearchRepository::mapHit, query, userId, limit);
+        }
+        return jdbcTemplate.query(sql, NoteSearchRepository::mapHit, query, userId, after.rank(), after.id(), limit);
+    }
+
+    public List<NoteSearchHit> searchFuzzy(
+            Long userId, String query, String[] words, float threshold, NoteSearchCursor after, int limit) {
+        jdbcTemplate.queryForObject(
+                "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                String.class,
+                Float.toString(threshold));
+
+        String hits = FUZZY_HITS + (after == null ? "" : AFTER) + PAGE;
+        String sql = FUZZY_SNIPPETS_PREFIX + hits + FUZZY_SNIPPETS_SUFFIX;
+        if (after == null) {
+            return jdbcTemplate.query(
+                    sql, NoteSearchRepository::mapHit, query, query, userId, query, query, limit, words, threshold);
+        }
+        return jdbcTemplate.query(
+                sql,
+                NoteSearchRepository::mapHit,
+                query,
+                query,
+                userId,
+                query,
+                query,
+                after.rank(),
+                after.id(),
+                limit,
+                words,
+                threshold);
+    }
+
+    private static NoteSearchHit mapHit(ResultSet rs, int rowNum) throws SQLException {
+        NoteListItem note = new NoteListItem(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("title"),
+                NoteStatus.valueOf(rs.getString("status")),
+                rs.getObject("created_at", OffsetDateTime.class));
+        return new NoteSearchHit(note, rs.getFloat("rank"), rs.getString("highlight"));
+    }
+}
@@ -1,7 +1,11 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,10 +18,34 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
             value =
                     """
         SELECT * FROM outbox_events
-        ORDER BY created_at ASC
+        WHERE published_at IS NULL
+          AND mod(aggregate_id, :laneCount) = :lane
+        ORDER BY id ASC
         LIMIT :limit
         FOR UPDATE SKIP LOCKED
         """,
             nativeQuery = true)
-    List<OutboxEvent> findBatchToProcess(@Param("limit") int limit);
+    List<OutboxEvent> findLaneBatchToProcess(
+            @Param("lane") int lane, @Param("laneCount") int laneCount, @Param("limit") int limit);
+
+    boolean existsByAggregateIdAndEventType(Long aggregateId, String eventType);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, :lane)", nativeQuery = true)
+    boolean tryLockLane(@Param("namespace") int namespace, @Param("lane") int lane);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET published_at = now() WHERE id IN (:ids)", nativeQuery = true)
+    int markPublished(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT ensure_outbox_partition(CAST(:day AS DATE))", nativeQuery = true)
+    boolean ensurePartition(@Param("day") LocalDate day);
+
+    @Query(value = "SELECT drop_drained_outbox_partitions(CAST(:before AS DATE))", nativeQuery = true)
+    int dropDrainedPartitions(@Param("before") LocalDate before);
+
+    @Modifying
+    @Query(
+            value = "DELETE FROM outbox_events_default WHERE published_at IS NOT NULL AND created_at < :before",
+            nativeQuery = true)
+    int deletePublishedFromDefaultPartition(@Param("before") OffsetDateTime before);
 }
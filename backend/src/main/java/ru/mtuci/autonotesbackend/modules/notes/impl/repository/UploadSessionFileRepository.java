@@ -0,0 +1,24 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionFile;
+
+@Repository
+public interface UploadSessionFileRepository extends JpaRepository<UploadSessionFile, Long> {
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
+            "UPDATE UploadSessionFile f SET f.receivedBytes = :received"
+                    + " WHERE f.id = :id AND f.receivedBytes = :offset")
+    int advanceReceivedBytes(@Param("id") Long id, @Param("offset") long offset, @Param("received") long received);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE UploadSessionFile f SET f.storageUploadId = NULL WHERE f.id = :id")
+    void markStorageUploadCompleted(@Param("id") Long id);
+}
@@ -0,0 +1,12 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionPart;
+
+@Repository
+public interface UploadSessionPartRepository extends JpaRepository<UploadSessionPart, Long> {
+
+    List<UploadSessionPart> findAllByFileIdOrderByPartNumberAsc(Long fileId);
+}
@@ -0,0 +1,59 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSession;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    @EntityGraph(attributePaths = "files")
+    Optional<UploadSession> findByIdAndUserId(UUID id, Long userId);
+
+    @EntityGraph(attributePaths = "files")
+    Optional<UploadSession> findWithFilesById(UUID id);
+
+    @Query(
+            "SELECT s.id FROM UploadSession s WHERE s.expiresAt < :threshold AND (s.status <>"
+                    + " ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus.COMMITTING"
+                    + " OR s.updatedAt < :staleClaimBefore) ORDER BY s.expiresAt")
+    List<UUID> findExpiredIds(
+            @Param("threshold") OffsetDateTime threshold,
+            @Param("staleClaimBefore") OffsetDateTime staleClaimBefore,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
+            "UPDATE UploadSession s SET s.status = :to, s.updatedAt = CURRENT_TIMESTAMP"
+                    + " WHERE s.id = :id AND s.status = :from")
+    int transitionStatus(
+            @Param("id") UUID id, @Param("from") UploadSessionStatus from, @Param("to") UploadSessionStatus to);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
+            "UPDATE UploadSession s SET s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id AND s.status ="
+                    + " ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus.COMMITTING"
+                    + " AND s.updatedAt < :staleClaimBefore")
+    int reclaimStaleCommit(@Param("id") UUID id, @Param("staleClaimBefore") OffsetDateTime staleClaimBefore);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
+            "UPDATE UploadSession s SET s.status ="
+                    + " ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus.COMMITTED,"
+                    + " s.noteId = :noteId, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id")
+    void markCommitted(@Param("id") UUID id, @Param("noteId") Long noteId);
+}
@@ -0,0 +1,93 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.PresignedUpload;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadPageRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.PageAlreadyAttachedException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectUploadService {
+
+    private final FileStorageFacade fileStorageFacade;
+    private final NoteImageRepository noteImageRepository;
+    private final NoteService noteService;
+    private final NoteUploadExecutor uploadExecutor;
+
+    public List<PresignedPageDto> presignUploads(PresignUploadRequestDto request, Long userId) {
+        List<PresignedPageDto> pages = new ArrayList<>(request.getPages().size());
+        for (UploadPageRequestDto page : request.getPages()) {
+            PresignedUpload upload =
+                    fileStorageFacade.presignUpload(page.getFileName(), page.getContentType(), userId);
+            pages.add(new PresignedPageDto(upload.objectKey(), upload.uploadUrl(), upload.expiresAt()));
+        }
+
+        log.info("Issued {} presigned upload URLs for user {}", pages.size(), userId);
+        return pages;
+    }
+
+    public LectureNote finalizeUpload(FinalizeUploadRequestDto request, Long userId) {
+        List<FinalizePageDto> pages = request.getPages();
+
+        List<String> objectKeys = pages.stream().map(FinalizePageDto::getObjectKey).toList();
+        if (new HashSet<>(objectKeys).size() != objectKeys.size()) {
+            throw new InvalidFileFormatException("Each uploaded page can be attached only once.");
+        }
+        if (!noteImageRepository.findExistingPaths(objectKeys).isEmpty()) {
+            throw new PageAlreadyAttachedException("Uploaded page is already attached to a note.");
+        }
+
+        verifyUploads(objectKeys, userId);
+
+        List<UploadedImage> uploadedImages = pages.stream()
+                .map(page -> new UploadedImage(page.getObjectKey(), page.getOriginalFileName()))
+                .toList();
+
+        // A concurrent finalize may still attach the same object after the check above; the unique index
+        // on page paths turns that into PageAlreadyAttachedException when the note is inserted.
+        return noteService.createNoteFromUploads(request.getTitle(), uploadedImages, userId);
+    }
+
+    public void verifyUploads(List<String> objectKeys, Long userId) {
+        List<Callable<Void>> tasks = new ArrayList<>(objectKeys.size());
+        for (String objectKey : objectKeys) {
+            tasks.add(() -> {
+                fileStorageFacade.verifyUpload(objectKey, userId);
+                return null;
+            });
+        }
+
+        for (Future<Void> future : uploadExecutor.submitAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new FileStorageException("Failed to verify upload", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FileStorageException("Upload verification was interrupted", e);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
 
 @Service
@@ -21,6 +23,7 @@ public class NoteCleanupService {
 
     private final LectureNoteRepository noteRepository;
     private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.notes.processing-timeout-minutes:10}")
     private int processingTimeoutMinutes;
@@ -61,6 +64,8 @@ public class NoteCleanupService {
         for (LectureNote note : stuckNotes) {
             note.setStatus(NoteStatus.FAILED);
             note.setSummaryText("Processing timed out. The server took too long to respond.");
+            eventPublisher.publishEvent(
+                    new NoteStatusChangedEvent(note.getId(), note.getUser().getId(), NoteStatus.FAILED));
 
             log.debug("Note ID {} marked as FAILED.", note.getId());
         }
@@ -0,0 +1,27 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import ru.mtuci.autonotesbackend.modules.notes.impl.config.RabbitMqConfig;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteProcessingEvent;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NoteNormalizationConsumer {
+
+    private final NoteNormalizationService normalizationService;
+
+    @RabbitListener(queues = RabbitMqConfig.QUEUE_NOTES_NORMALIZE)
+    public void consume(NoteProcessingEvent event) {
+        log.debug("Received message from queue {}: {}", RabbitMqConfig.QUEUE_NOTES_NORMALIZE, event);
+        try {
+            normalizationService.normalize(event.noteId());
+        } catch (Exception e) {
+            log.error("Unexpected error normalizing images for noteId: {}", event.noteId(), e);
+            throw e;
+        }
+    }
+}
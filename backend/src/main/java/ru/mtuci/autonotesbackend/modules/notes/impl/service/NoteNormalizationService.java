@@ -0,0 +1,69 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.RenditionKind;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NoteNormalizationService {
+
+    private final LectureNoteRepository noteRepository;
+    private final NoteImageRepository imageRepository;
+    private final NoteRenditionService renditionService;
+    private final NoteService noteService;
+    private final FileStorageFacade fileStorageFacade;
+    private final ImageRenderer imageRenderer;
+
+    @Value("${app.notes.ml-normalization.max-size:2560}")
+    private int maxSize;
+
+    @Value("${app.notes.ml-normalization.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    public void normalize(Long noteId) {
+        if (!noteRepository.existsById(noteId)) {
+            log.debug("Note {} no longer exists. Skipping normalization.", noteId);
+            return;
+        }
+
+        List<NoteImage> images = imageRepository.findAllByNoteIdOrderByOrderIndexAsc(noteId);
+        Map<Long, String> normalizedPaths = renditionService.findRenditionPathsByImage(
+                images.stream().map(NoteImage::getId).toList(), RenditionKind.NORMALIZED);
+
+        List<String> filePaths = new ArrayList<>(images.size());
+        for (NoteImage image : images) {
+            String normalizedPath = normalizedPaths.get(image.getId());
+            filePaths.add(normalizedPath != null ? normalizedPath : normalize(image));
+        }
+
+        if (noteService.saveOutboxEventOnce(noteId, OutboxEventType.NOTE_CREATED, filePaths)) {
+            log.info("Normalized {} images of note {} for recognition", images.size(), noteId);
+        }
+    }
+
+    private String normalize(NoteImage image) {
+        try (InputStream content = fileStorageFacade.load(image.getFileStoragePath())) {
+            BufferedImage source = imageRenderer.decode(content, maxSize);
+            return renditionService.store(
+                    image, RenditionKind.NORMALIZED, imageRenderer.scale(source, maxSize), jpegQuality);
+        } catch (IOException e) {
+            log.warn("Cannot normalize image {}. The original will be sent to recognition.", image.getId(), e);
+            return image.getFileStoragePath();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteImageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchMode;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchResultDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.InvalidSearchQueryException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteCursor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteImageListItem;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchCursor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchHit;
+import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.NoteMapper;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteSearchRepository;
+
+@Service
+@RequiredArgsConstructor
+public class NoteQueryService {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final LectureNoteRepository noteRepository;
+    private final NoteImageRepository noteImageRepository;
+    private final NoteSearchRepository noteSearchRepository;
+    private final NoteMapper noteMapper;
+
+    @Value("${app.notes.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.notes.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.notes.search.max-query-length:200}")
+    private int maxQueryLength;
+
+    @Value("${app.notes.search.fuzzy.similarity-threshold:0.5}")
+    private float fuzzyThreshold;
+
+    @Transactional(readOnly = true)
+    public NotePageDto findPageByUserId(Long userId, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<NoteListItem> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = noteRepository.findListPage(userId, window);
+        } else {
+            NoteCursor after = NoteCursor.decode(cursor);
+            rows = noteRepository.findListPageAfter(userId, after.createdAt(), after.id(), window);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NoteListItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        NotePageDto page = new NotePageDto();
+        page.setItems(toDtos(items));
+        if (hasMore) {
+            NoteListItem last = items.getLast();
+            page.setNextCursor(new NoteCursor(last.createdAt(), last.id()).encode());
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public NoteSearchPageDto search(Long userId, String query, NoteSearchMode mode, String cursor, Integer limit) {
+        String text = query == null ? "" : query.strip();
+        if (text.isEmpty()) {
+            throw new InvalidSearchQueryException("Search query must not be blank");
+        }
+        if (text.length() > maxQueryLength) {
+            throw new InvalidSearchQueryException("Search query must not exceed " + maxQueryLength + " characters");
+        }
+
+        int pageSize = pageSize(limit);
+        NoteSearchCursor after = cursor == null || cursor.isBlank() ? null : NoteSearchCursor.decode(cursor);
+        List<NoteSearchHit> rows = mode == NoteSearchMode.FUZZY
+                ? searchFuzzy(userId, text, after, pageSize + 1)
+                : noteSearchRepository.searchFullText(userId, text, after, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NoteSearchHit> hits = hasMore ? rows.subList(0, pageSize) : rows;
+        List<NoteDto> notes = toDtos(hits.stream().map(NoteSearchHit::note).toList());
+
+        List<NoteSearchResultDto> results = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            NoteSearchResultDto result = new NoteSearchResultDto();
+            result.setNote(notes.get(i));
+            result.setRank(hits.get(i).rank());
+            result.setHighlight(hits.get(i).highlight());
+            results.add(result);
+        }
+
+        NoteSearchPageDto page = new NoteSearchPageDto();
+        page.setItems(results);
+        if (hasMore) {
+            page.setNextCursor(NoteSearchCursor.of(hits.getLast()).encode());
+        }
+        return page;
+    }
+
+    private List<NoteSearchHit> searchFuzzy(Long userId, String text, NoteSearchCursor after, int limit) {
+        String normalized = text.toLowerCase(Locale.ROOT);
+        String[] words = WORD_SEPARATOR.splitAsStream(normalized)
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            throw new InvalidSearchQueryException("Search query must contain at least one letter or digit");
+        }
+        return noteSearchRepository.searchFuzzy(userId, normalized, words, fuzzyThreshold, after, limit);
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageSize : Math.clamp(limit, 1, maxPageSize);
+    }
+
+    private List<NoteDto> toDtos(List<NoteListItem> items) {
+        Map<Long, List<NoteImageDto>> images = findImages(items);
+
+        List<NoteDto> notes = new ArrayList<>(items.size());
+        for (NoteListItem item : items) {
+            NoteDto note = noteMapper.toDto(item);
+            note.setImages(images.getOrDefault(item.id(), new ArrayList<>()));
+            notes.add(note);
+        }
+        return notes;
+    }
+
+    private Map<Long, List<NoteImageDto>> findImages(List<NoteListItem> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> noteIds = items.stream().map(NoteListItem::id).toList();
+        return noteImageRepository.findListItemsByNoteIdIn(noteIds).stream()
+                .collect(Collectors.groupingBy(
+                        NoteImageListItem::noteId, Collectors.mapping(noteMapper::toImageDto, Collectors.toList())));
+    }
+}
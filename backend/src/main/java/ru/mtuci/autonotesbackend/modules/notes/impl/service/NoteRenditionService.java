@@ -0,0 +1,155 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteImageDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImageRendition;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.RenditionKind;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRenditionRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NoteRenditionService {
+
+    private static final String RENDITION_PREFIX = "renditions/";
+    private static final String RENDITION_CONTENT_TYPE = "image/jpeg";
+    private static final Set<RenditionKind> DISPLAY_KINDS = EnumSet.of(RenditionKind.THUMBNAIL, RenditionKind.PREVIEW);
+
+    private final LectureNoteRepository noteRepository;
+    private final NoteImageRepository imageRepository;
+    private final NoteImageRenditionRepository renditionRepository;
+    private final FileStorageFacade fileStorageFacade;
+    private final ImageRenderer imageRenderer;
+
+    @Value("${app.notes.renditions.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${app.notes.renditions.preview-size:1280}")
+    private int previewSize;
+
+    @Value("${app.notes.renditions.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    public void generateForNote(Long noteId) {
+        if (!noteRepository.existsById(noteId)) {
+            log.debug("Note {} no longer exists. Skipping rendition generation.", noteId);
+            return;
+        }
+
+        List<NoteImage> images = imageRepository.findAllByNoteIdOrderByOrderIndexAsc(noteId);
+        List<Long> imageIds = images.stream().map(NoteImage::getId).toList();
+
+        Map<Long, Set<RenditionKind>> existing = findRenditions(imageIds).stream()
+                .collect(Collectors.groupingBy(
+                        NoteImageRendition::getImageId,
+                        Collectors.mapping(NoteImageRendition::getKind, Collectors.toSet())));
+
+        int rendered = 0;
+        for (NoteImage image : images) {
+            if (existing.getOrDefault(image.getId(), Set.of()).containsAll(DISPLAY_KINDS)) {
+                continue;
+            }
+            if (render(image)) {
+                rendered++;
+            }
+        }
+
+        log.info("Generated renditions for {}/{} images of note {}", rendered, images.size(), noteId);
+    }
+
+    public void attachUrls(List<NoteDto> notes) {
+        attachImageUrls(notes.stream()
+                .map(NoteDto::getImages)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .toList());
+    }
+
+    public void attachImageUrls(List<NoteImageDto> images) {
+        if (images == null || images.isEmpty()) {
+            return;
+        }
+
+        List<Long> imageIds = images.stream().map(NoteImageDto::getId).toList();
+        Map<Long, List<NoteImageRendition>> renditions = findRenditions(imageIds).stream()
+                .collect(Collectors.groupingBy(NoteImageRendition::getImageId));
+
+        for (NoteImageDto image : images) {
+            for (NoteImageRendition rendition : renditions.getOrDefault(image.getId(), List.of())) {
+                if (!DISPLAY_KINDS.contains(rendition.getKind())) {
+                    continue;
+                }
+                String url = fileStorageFacade.presignDownload(rendition.getFileStoragePath());
+                switch (rendition.getKind()) {
+                    case THUMBNAIL -> image.setThumbnailUrl(url);
+                    case PREVIEW -> image.setPreviewUrl(url);
+                }
+            }
+        }
+    }
+
+    public List<String> findRenditionPaths(Collection<Long> imageIds) {
+        return findRenditions(imageIds).stream()
+                .map(NoteImageRendition::getFileStoragePath)
+                .toList();
+    }
+
+    public Map<Long, String> findRenditionPathsByImage(Collection<Long> imageIds, RenditionKind kind) {
+        return findRenditions(imageIds).stream()
+                .filter(rendition -> rendition.getKind() == kind)
+                .collect(Collectors.toMap(NoteImageRendition::getImageId, NoteImageRendition::getFileStoragePath));
+    }
+
+    public String store(NoteImage image, RenditionKind kind, BufferedImage rendition, float quality)
+            throws IOException {
+        byte[] content = imageRenderer.encodeJpeg(rendition, quality);
+        String filePath = RENDITION_PREFIX + image.getId() + "/" + kind.name().toLowerCase() + ".jpg";
+
+        fileStorageFacade.saveDerived(filePath, content, RENDITION_CONTENT_TYPE);
+        renditionRepository.upsert(
+                image.getId(), kind.name(), filePath, rendition.getWidth(), rendition.getHeight(), content.length);
+        return filePath;
+    }
+
+    private List<NoteImageRendition> findRenditions(Collection<Long> imageIds) {
+        return imageIds.isEmpty() ? List.of() : renditionRepository.findAllByImageIdIn(imageIds);
+    }
+
+    private boolean render(NoteImage image) {
+        BufferedImage source;
+        try (InputStream content = fileStorageFacade.load(image.getFileStoragePath())) {
+            source = imageRenderer.decode(content, previewSize);
+        } catch (IOException e) {
+            log.warn("Cannot decode image {} ({}). Renditions skipped.", image.getId(), image.getFileStoragePath(), e);
+            return false;
+        }
+
+        try {
+            BufferedImage preview = imageRenderer.scale(source, previewSize);
+            store(image, RenditionKind.PREVIEW, preview, jpegQuality);
+            store(image, RenditionKind.THUMBNAIL, imageRenderer.scale(preview, thumbnailSize), jpegQuality);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to encode renditions for image {}", image.getId(), e);
+            return false;
+        }
+    }
+}
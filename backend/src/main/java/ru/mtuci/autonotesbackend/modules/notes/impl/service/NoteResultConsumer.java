@@ -1,8 +1,13 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.service;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Service;
 import ru.mtuci.autonotesbackend.modules.notes.impl.config.RabbitMqConfig;
 import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteResultDto;
@@ -13,15 +18,58 @@ import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteResultDto;
 public class NoteResultConsumer {
 
     private final NoteService noteService;
+    private final MessageConverter messageConverter;
+    private final RabbitTemplate rabbitTemplate;
+
+    @RabbitListener(
+            id = RabbitMqConfig.RESULTS_LISTENER_ID,
+            queues = RabbitMqConfig.QUEUE_NOTES_RESULTS,
+            containerFactory = RabbitMqConfig.RESULTS_BATCH_CONTAINER_FACTORY)
+    public void consume(List<Message> messages) {
+        log.debug("Received {} messages from queue {}", messages.size(), RabbitMqConfig.QUEUE_NOTES_RESULTS);
+        List<NoteResultDto> results = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            NoteResultDto result = convert(messages.get(i), i);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        if (results.isEmpty()) {
+            return;
+        }
 
-    @RabbitListener(queues = RabbitMqConfig.QUEUE_NOTES_RESULTS)
-    public void consume(NoteResultDto result) {
-        log.debug("Received message from queue {}: {}", RabbitMqConfig.QUEUE_NOTES_RESULTS, result);
         try {
-            noteService.processCompletion(result);
+            noteService.processCompletions(results);
         } catch (Exception e) {
-            log.error("Unexpected error processing ML result for noteId: {}", result.getNoteId(), e);
+            log.error(
+                    "Unexpected error processing batch of {} ML results for noteIds: {}",
+                    results.size(),
+                    results.stream().map(NoteResultDto::getNoteId).toList(),
+                    e);
             throw e;
         }
     }
+
+    private NoteResultDto convert(Message message, int index) {
+        message.getMessageProperties().setInferredArgumentType(NoteResultDto.class);
+        try {
+            if (messageConverter.fromMessage(message) instanceof NoteResultDto result && result.getNoteId() != null) {
+                return result;
+            }
+            deadLetter(message, index, "payload is not an ML result with noteId", null);
+        } catch (RuntimeException e) {
+            deadLetter(message, index, "payload cannot be converted", e);
+        }
+        return null;
+    }
+
+    private void deadLetter(Message message, int index, String reason, Exception cause) {
+        log.error(
+                "Dead-lettering ML result #{} of batch from queue {}: {}",
+                index,
+                RabbitMqConfig.QUEUE_NOTES_RESULTS,
+                reason,
+                cause);
+        rabbitTemplate.send(RabbitMqConfig.EXCHANGE_NOTES, RabbitMqConfig.ROUTING_KEY_RESULTS_DLQ, message);
+    }
 }
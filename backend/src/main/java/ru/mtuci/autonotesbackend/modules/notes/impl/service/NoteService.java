@@ -2,27 +2,48 @@ package ru.mtuci.autonotesbackend.modules.notes.impl.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import ru.mtuci.autonotesbackend.exception.ResourceNotFoundException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
-import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.PageAlreadyAttachedException;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
 import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteResultDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteDeletedEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteProcessingEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.NoteMapper;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository.AppliedResult;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository.NoteResultUpdate;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
 import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
 import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
@@ -33,16 +54,24 @@ import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
 public class NoteService {
 
     private final LectureNoteRepository noteRepository;
+    private final NoteImageRepository noteImageRepository;
     private final UserRepository userRepository;
     private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
     private final FileStorageFacade fileStorageFacade;
     private final TransactionTemplate transactionTemplate;
     private final NoteMapper noteMapper;
+    private final NoteUploadExecutor uploadExecutor;
+    private final NoteResultBatchRepository noteResultBatchRepository;
+    private final NoteTextStorageService noteTextStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${aws.s3.bucket}")
     private String bucketName;
 
+    @Value("${app.notes.ml-normalization.enabled:false}")
+    private boolean mlNormalizationEnabled;
+
     public LectureNote createNote(String title, List<MultipartFile> files, Long userId) {
         if (files == null || files.isEmpty()) {
             throw new InvalidFileFormatException("At least one image file is required.");
@@ -54,19 +83,20 @@ public class NoteService {
             }
         }
 
-        List<String> uploadedPaths = new ArrayList<>();
+        List<String> uploadedPaths = uploadFiles(files, userId);
 
-        try {
-            for (MultipartFile file : files) {
-                String path = fileStorageFacade.save(file, userId);
-                uploadedPaths.add(path);
-            }
-        } catch (Exception e) {
-            log.error("Error during file upload sequence. Rolling back {} uploaded files.", uploadedPaths.size(), e);
-            rollbackS3Uploads(uploadedPaths);
-            throw e;
+        List<UploadedImage> uploadedImages = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            uploadedImages.add(new UploadedImage(uploadedPaths.get(i), files.get(i).getOriginalFilename()));
         }
 
+        return createNoteFromUploads(title, uploadedImages, userId);
+    }
+
+    public LectureNote createNoteFromUploads(String title, List<UploadedImage> uploadedImages, Long userId) {
+        List<String> uploadedPaths =
+                uploadedImages.stream().map(UploadedImage::fileStoragePath).toList();
+
         try {
             return transactionTemplate.execute(ignored -> {
                 User user = userRepository.getReferenceById(userId);
@@ -77,10 +107,10 @@ public class NoteService {
                         .status(NoteStatus.PROCESSING)
                         .build();
 
-                for (int i = 0; i < files.size(); i++) {
+                for (int i = 0; i < uploadedImages.size(); i++) {
                     NoteImage image = NoteImage.builder()
-                            .fileStoragePath(uploadedPaths.get(i))
-                            .originalFileName(files.get(i).getOriginalFilename())
+                            .fileStoragePath(uploadedImages.get(i).fileStoragePath())
+                            .originalFileName(uploadedImages.get(i).originalFileName())
                             .orderIndex(i)
                             .build();
                     note.addImage(image);
@@ -88,11 +118,30 @@ public class NoteService {
 
                 LectureNote savedNote = noteRepository.save(note);
 
-                saveOutboxEvent(savedNote, uploadedPaths);
+                saveOutboxEvent(
+                        savedNote.getId(),
+                        mlNormalizationEnabled
+                                ? OutboxEventType.NOTE_NORMALIZATION_REQUESTED
+                                : OutboxEventType.NOTE_CREATED,
+                        uploadedPaths);
 
                 return savedNote;
             });
 
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesConstraint(e, NoteImage.FILE_STORAGE_PATH_UNIQUE_INDEX)) {
+                log.error("Database transaction failed. Rolling back S3 uploads.", e);
+                rollbackS3Uploads(uploadedPaths);
+                throw e;
+            }
+            // A concurrent finalize attached a directly uploaded object first, so it now backs that note's
+            // page. Shared blobs are outside the index and the reference taken on them is still released.
+            Set<String> attached = noteImageRepository.findExistingPaths(uploadedPaths);
+            log.warn("Uploaded page is already attached to another note. Keeping S3 objects {}", attached);
+            rollbackS3Uploads(uploadedPaths.stream()
+                    .filter(path -> path.startsWith(FileStorageFacade.BLOB_PREFIX) || !attached.contains(path))
+                    .toList());
+            throw new PageAlreadyAttachedException("Uploaded page is already attached to a note.");
         } catch (Exception e) {
             log.error("Database transaction failed. Rolling back S3 uploads.", e);
             rollbackS3Uploads(uploadedPaths);
@@ -100,44 +149,128 @@ public class NoteService {
         }
     }
 
-    @Transactional
     public void processCompletion(NoteResultDto result) {
-        log.info("Processing ML result for noteId: {}", result.getNoteId());
-
-        noteRepository
-                .findById(result.getNoteId())
-                .ifPresentOrElse(
-                        note -> {
-                            if (note.getStatus() != NoteStatus.PROCESSING) {
-                                log.warn(
-                                        "Note {} is already in status {}. Ignoring duplicate result.",
-                                        note.getId(),
-                                        note.getStatus());
-                                return;
-                            }
-
-                            if ("COMPLETED".equalsIgnoreCase(result.getStatus())) {
-                                note.setStatus(NoteStatus.COMPLETED);
-                                note.setRecognizedText(result.getRecognizedText());
-                                note.setSummaryText(result.getSummaryText());
-                                log.info("Note {} successfully updated with ML data.", note.getId());
-                            } else {
-                                note.setStatus(NoteStatus.FAILED);
-                                String errorMsg = result.getErrorMessage() != null
-                                        ? result.getErrorMessage()
-                                        : "Unknown ML Error";
-                                note.setSummaryText("Processing failed: " + errorMsg);
-                                log.error("Note {} failed processing. Reason: {}", note.getId(), errorMsg);
-                            }
-
-                            noteRepository.save(note);
-                        },
-                        () -> log.warn(
-                                "Received result for non-existent (or deleted) noteId: {}. Skipping.",
-                                result.getNoteId()));
+        processCompletions(List.of(result));
+    }
+
+    public int processCompletions(List<NoteResultDto> results) {
+        Map<Long, NoteResultUpdate> updates = new LinkedHashMap<>();
+        for (NoteResultDto result : results) {
+            if (result.getNoteId() == null) {
+                log.warn("Received ML result without noteId. Skipping.");
+                continue;
+            }
+            if (updates.putIfAbsent(result.getNoteId(), toUpdate(result)) != null) {
+                log.warn("Duplicate ML result for noteId {} in one batch. Ignoring.", result.getNoteId());
+            }
+        }
+
+        List<NoteResultUpdate> batch = updates.values().stream()
+                .map(noteTextStorageService::offloadIfLarge)
+                .toList();
+        List<AppliedResult> appliedResults = transactionTemplate.execute(ignored -> applyAndPublish(batch));
+        Set<Long> applied = appliedResults != null
+                ? appliedResults.stream().map(AppliedResult::noteId).collect(Collectors.toSet())
+                : Set.of();
+
+        for (NoteResultUpdate update : batch) {
+            if (update.recognizedTextPath() != null && !applied.contains(update.noteId())) {
+                noteTextStorageService.deleteQuietly(update.recognizedTextPath());
+            }
+        }
+
+        if (applied.size() < batch.size()) {
+            log.warn(
+                    "{} of {} ML results were ignored: note is deleted or no longer in status PROCESSING.",
+                    batch.size() - applied.size(),
+                    batch.size());
+        }
+        log.info("Applied {} ML results.", applied.size());
+        return applied.size();
     }
 
-    private void rollbackS3Uploads(List<String> paths) {
+    private List<AppliedResult> applyAndPublish(List<NoteResultUpdate> batch) {
+        List<AppliedResult> applied = noteResultBatchRepository.applyResults(batch);
+        for (AppliedResult result : applied) {
+            eventPublisher.publishEvent(new NoteStatusChangedEvent(result.noteId(), result.userId(), result.status()));
+        }
+        return applied;
+    }
+
+    private NoteResultUpdate toUpdate(NoteResultDto result) {
+        if ("COMPLETED".equalsIgnoreCase(result.getStatus())) {
+            String text = result.getRecognizedText();
+            Long textLength = text != null ? (long) text.getBytes(StandardCharsets.UTF_8).length : null;
+            return new NoteResultUpdate(
+                    result.getNoteId(), NoteStatus.COMPLETED, text, null, textLength, result.getSummaryText());
+        }
+
+        String errorMsg = result.getErrorMessage() != null ? result.getErrorMessage() : "Unknown ML Error";
+        log.error("Note {} failed processing. Reason: {}", result.getNoteId(), errorMsg);
+        return new NoteResultUpdate(
+                result.getNoteId(), NoteStatus.FAILED, null, null, null, "Processing failed: " + errorMsg);
+    }
+
+    private List<String> uploadFiles(List<MultipartFile> files, Long userId) {
+        AtomicBoolean aborted = new AtomicBoolean(false);
+
+        List<Callable<String>> tasks = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            tasks.add(() -> {
+                if (aborted.get()) {
+                    return null;
+                }
+                try {
+                    return fileStorageFacade.save(file, userId);
+                } catch (RuntimeException e) {
+                    aborted.set(true);
+                    throw e;
+                }
+            });
+        }
+
+        List<Future<String>> futures = uploadExecutor.submitAll(tasks);
+
+        List<String> uploadedPaths = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        boolean interrupted = false;
+
+        for (Future<String> future : futures) {
+            try {
+                String path = future.get();
+                if (path != null) {
+                    uploadedPaths.add(path);
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re
+                            ? re
+                            : new FileStorageException("Failed to upload file", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                aborted.set(true);
+                interrupted = true;
+                if (failure == null) {
+                    failure = new FileStorageException("File upload was interrupted", e);
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure != null) {
+            log.error(
+                    "Error during file upload sequence. Rolling back {} uploaded files.", uploadedPaths.size(), failure);
+            rollbackS3Uploads(uploadedPaths);
+            throw failure;
+        }
+
+        return uploadedPaths;
+    }
+
+    public void rollbackS3Uploads(List<String> paths) {
         for (String path : paths) {
             try {
                 fileStorageFacade.delete(path);
@@ -147,30 +280,41 @@ public class NoteService {
         }
     }
 
-    private void saveOutboxEvent(LectureNote note, List<String> filePaths) {
+    public void saveOutboxEvent(Long noteId, OutboxEventType eventType, List<String> filePaths) {
         try {
-            NoteProcessingEvent eventPayload = new NoteProcessingEvent(note.getId(), bucketName, filePaths);
+            NoteProcessingEvent eventPayload = new NoteProcessingEvent(noteId, bucketName, filePaths);
 
-            String jsonPayload = objectMapper.writeValueAsString(eventPayload);
+            byte[] jsonPayload = objectMapper.writeValueAsBytes(eventPayload);
 
             OutboxEvent outboxEvent = OutboxEvent.builder()
-                    .aggregateId(note.getId())
-                    .eventType("NOTE_CREATED")
+                    .aggregateId(noteId)
+                    .eventType(eventType.name())
                     .payload(jsonPayload)
+                    .contentType(OutboxEvent.CONTENT_TYPE_JSON)
                     .build();
 
             outboxEventRepository.save(outboxEvent);
-            log.info("Outbox event saved for noteId: {}", note.getId());
+            log.info("Outbox event {} saved for noteId: {}", eventType, noteId);
 
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to serialize event payload", e);
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<NoteDto> findAllDtosByUserId(Long userId) {
-        List<LectureNote> notes = noteRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return noteMapper.toDtoList(notes);
+    public boolean saveOutboxEventOnce(Long noteId, OutboxEventType eventType, List<String> filePaths) {
+        // The note row lock serializes redeliveries of the same request, so only one of them sees no event yet.
+        return Boolean.TRUE.equals(transactionTemplate.execute(ignored -> {
+            if (noteRepository.lockProcessingById(noteId).isEmpty()) {
+                log.info("Note {} is deleted or no longer processing. Skipping {} event.", noteId, eventType);
+                return false;
+            }
+            if (outboxEventRepository.existsByAggregateIdAndEventType(noteId, eventType.name())) {
+                log.info("Outbox event {} already exists for noteId: {}. Skipping.", eventType, noteId);
+                return false;
+            }
+            saveOutboxEvent(noteId, eventType, filePaths);
+            return true;
+        }));
     }
 
     @Transactional(readOnly = true)
@@ -184,5 +328,16 @@ public class NoteService {
     public void deleteByIdAndUserId(Long noteId, Long userId) {
         LectureNote noteToDelete = findByIdAndUserId(noteId, userId);
         noteRepository.delete(noteToDelete);
+        eventPublisher.publishEvent(new NoteDeletedEvent(noteId, userId));
+    }
+
+    private static boolean violatesConstraint(Throwable error, String constraintName) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,132 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteStatusEventDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.TooManyEventStreamsException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
+
+@Slf4j
+@Service
+public class NoteStatusStreamService implements DisposableBean {
+
+    public static final String STATUS_EVENT = "note-status";
+
+    private final ConcurrentMap<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final int maxConnectionsPerUser;
+    private final Duration timeout;
+
+    public NoteStatusStreamService(
+            @Value("${app.notes.events.max-connections-per-user:3}") int maxConnectionsPerUser,
+            @Value("${app.notes.events.timeout:30m}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        if (maxConnectionsPerUser < 1) {
+            throw new IllegalArgumentException("Event stream connection limit must be positive.");
+        }
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeout = timeout;
+
+        Gauge.builder("notes.events.connections", this, NoteStatusStreamService::connectionCount)
+                .description("Open note status event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = newEmitter();
+        emitters.compute(userId, (id, current) -> {
+            List<SseEmitter> connected = current != null ? current : List.of();
+            if (connected.size() >= maxConnectionsPerUser) {
+                throw new TooManyEventStreamsException(String.format(
+                        "No more than %d note event streams may be open at once.", maxConnectionsPerUser));
+            }
+            List<SseEmitter> updated = new ArrayList<>(connected);
+            updated.add(emitter);
+            return List.copyOf(updated);
+        });
+
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(userId, emitter));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onStatusChanged(NoteStatusChangedEvent event) {
+        List<SseEmitter> connected = emitters.get(event.userId());
+        if (connected == null) {
+            return;
+        }
+
+        NoteStatusEventDto payload = new NoteStatusEventDto(event.noteId(), event.status());
+        for (SseEmitter emitter : connected) {
+            sender.execute(() -> send(
+                    event.userId(),
+                    emitter,
+                    SseEmitter.event()
+                            .name(STATUS_EVENT)
+                            .id(String.valueOf(event.noteId()))
+                            .data(payload)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduling.events-heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        // A heartbeat keeps proxies from closing an idle stream and is the only write that notices
+        // a client which went away without closing its connection.
+        emitters.forEach((userId, connected) -> {
+            for (SseEmitter emitter : connected) {
+                sender.execute(() -> send(userId, emitter, SseEmitter.event().comment("heartbeat")));
+            }
+        });
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    int connectionCount() {
+        return emitters.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping note event stream of user {}: {}", userId, e.getMessage());
+            unregister(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, connected) -> {
+            List<SseEmitter> remaining = connected.stream().filter(e -> e != emitter).toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Closing {} note event streams...", connectionCount());
+        emitters.values().forEach(connected -> connected.forEach(SseEmitter::complete));
+        emitters.clear();
+        sender.close();
+    }
+}
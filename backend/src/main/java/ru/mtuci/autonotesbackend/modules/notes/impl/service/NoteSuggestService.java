@@ -0,0 +1,131 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSuggestionDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteDeletedEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NoteSuggestService {
+
+    private final Cache<Long, UserNoteIndex> noteSuggestIndexCache;
+    private final LectureNoteRepository noteRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notes.search.suggest.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${app.notes.search.suggest.max-limit:50}")
+    private int maxLimit;
+
+    // Notes that completed or were deleted while a user's index was loading; the loader may have missed them.
+    private final Map<Long, Set<Long>> changedDuringBuild = new ConcurrentHashMap<>();
+
+    public List<NoteSuggestionDto> suggest(Long userId, String query, Integer limit) {
+        List<String> prefixes = UserNoteIndex.prefixes(query == null ? "" : query);
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+
+        int size = limit == null ? defaultLimit : Math.clamp(limit, 1, maxLimit);
+        UserNoteIndex index = noteSuggestIndexCache.get(userId, this::build);
+        applyChangedDuringBuild(userId);
+        return index.suggest(prefixes, size).stream()
+                .map(note -> new NoteSuggestionDto(note.id(), note.title()))
+                .toList();
+    }
+
+    @TransactionalEventListener
+    public void onStatusChanged(NoteStatusChangedEvent event) {
+        if (event.status() != NoteStatus.COMPLETED) {
+            return;
+        }
+        markChangedDuringBuild(event.userId(), event.noteId());
+        if (!noteSuggestIndexCache.asMap().containsKey(event.userId())) {
+            return;
+        }
+
+        noteRepository
+                .findIndexSource(event.noteId(), NoteStatus.COMPLETED)
+                .ifPresent(source -> noteSuggestIndexCache.asMap().computeIfPresent(event.userId(), (userId, index) -> {
+                    index.put(source);
+                    return index;
+                }));
+    }
+
+    @TransactionalEventListener
+    public void onDeleted(NoteDeletedEvent event) {
+        markChangedDuringBuild(event.userId(), event.noteId());
+        noteSuggestIndexCache.asMap().computeIfPresent(event.userId(), (userId, index) -> {
+            index.remove(event.noteId());
+            return index;
+        });
+    }
+
+    private void markChangedDuringBuild(Long userId, Long noteId) {
+        Set<Long> changed = changedDuringBuild.get(userId);
+        if (changed != null) {
+            changed.add(noteId);
+        }
+    }
+
+    private void applyChangedDuringBuild(Long userId) {
+        Set<Long> changed = changedDuringBuild.remove(userId);
+        if (changed == null) {
+            return;
+        }
+        for (Long noteId : changed) {
+            Optional<NoteIndexSource> source = noteRepository.findIndexSource(noteId, NoteStatus.COMPLETED);
+            noteSuggestIndexCache.asMap().computeIfPresent(userId, (id, index) -> {
+                source.ifPresentOrElse(index::put, () -> index.remove(noteId));
+                return index;
+            });
+        }
+    }
+
+    private UserNoteIndex build(Long userId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        UserNoteIndex index = new UserNoteIndex();
+        changedDuringBuild.put(userId, ConcurrentHashMap.newKeySet());
+        List<NoteIndexSource> sources;
+        try {
+            sources = noteRepository.findIndexSources(userId, NoteStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            changedDuringBuild.remove(userId);
+            throw e;
+        }
+        sources.forEach(index::put);
+
+        sample.stop(meterRegistry.timer("notes.suggest.index.build"));
+        DistributionSummary.builder("notes.suggest.index.user.memory")
+                .baseUnit("bytes")
+                .description("Estimated heap of one user's suggest index when it is built")
+                .register(meterRegistry)
+                .record(index.estimatedBytes());
+        log.debug(
+                "Built suggest index for user {}: {} notes, {} terms, ~{} bytes",
+                userId,
+                index.noteCount(),
+                index.termCount(),
+                index.estimatedBytes());
+        return index;
+    }
+}
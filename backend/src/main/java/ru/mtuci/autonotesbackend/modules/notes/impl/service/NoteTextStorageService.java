@@ -0,0 +1,88 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+import ru.mtuci.autonotesbackend.exception.ResourceNotFoundException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteTextDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.TextRangeNotSatisfiableException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository.NoteResultUpdate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NoteTextStorageService {
+
+    private static final String TEXT_PREFIX = "notes/";
+    private static final String TEXT_CONTENT_TYPE = "text/markdown; charset=UTF-8";
+
+    private final FileStorageFacade fileStorageFacade;
+
+    @Value("${app.notes.text-offload.enabled:true}")
+    private boolean offloadEnabled;
+
+    @Value("${app.notes.text-offload.threshold-bytes:65536}")
+    private long thresholdBytes;
+
+    public NoteResultUpdate offloadIfLarge(NoteResultUpdate update) {
+        if (!offloadEnabled || update.recognizedText() == null || update.recognizedTextLength() <= thresholdBytes) {
+            return update;
+        }
+
+        String path = TEXT_PREFIX + update.noteId() + "/recognized-" + UUID.randomUUID() + ".md";
+        fileStorageFacade.saveDerived(
+                path, update.recognizedText().getBytes(StandardCharsets.UTF_8), TEXT_CONTENT_TYPE);
+        log.debug(
+                "Recognized text of note {} ({} bytes) offloaded to {}",
+                update.noteId(),
+                update.recognizedTextLength(),
+                path);
+        return update.withTextOffloadedTo(path);
+    }
+
+    public void deleteQuietly(String path) {
+        try {
+            fileStorageFacade.delete(path);
+        } catch (Exception e) {
+            log.warn("Failed to delete offloaded text {}. It will be cleaned up by GC later.", path, e);
+        }
+    }
+
+    public NoteTextDto open(LectureNote note, HttpRange range) {
+        String path = note.getRecognizedTextPath();
+        if (path == null && note.getRecognizedText() == null) {
+            throw new ResourceNotFoundException("Recognized text is not available for note with id: " + note.getId());
+        }
+
+        byte[] inline = path == null ? note.getRecognizedText().getBytes(StandardCharsets.UTF_8) : null;
+        long totalLength = inline != null ? inline.length : note.getRecognizedTextLength();
+
+        if (range == null) {
+            InputStream content = inline != null ? new ByteArrayInputStream(inline) : fileStorageFacade.load(path);
+            return new NoteTextDto(content, 0, totalLength - 1, totalLength, false);
+        }
+
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(totalLength);
+            end = range.getRangeEnd(totalLength);
+        } catch (IllegalArgumentException e) {
+            throw new TextRangeNotSatisfiableException(
+                    "Requested range is outside of the recognized text of note " + note.getId(), totalLength);
+        }
+
+        InputStream content = inline != null
+                ? new ByteArrayInputStream(inline, (int) start, (int) (end - start + 1))
+                : fileStorageFacade.loadRange(path, start, end);
+        return new NoteTextDto(content, start, end, totalLength, true);
+    }
+}
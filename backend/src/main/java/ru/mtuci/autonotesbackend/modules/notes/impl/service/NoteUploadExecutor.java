@@ -0,0 +1,70 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class NoteUploadExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore globalPermits;
+    private final int perRequestLimit;
+
+    public NoteUploadExecutor(
+            @Value("${app.notes.upload.max-parallel-per-request:4}") int perRequestLimit,
+            @Value("${app.notes.upload.max-parallel-global:64}") int globalLimit) {
+        if (perRequestLimit < 1 || globalLimit < 1) {
+            throw new IllegalArgumentException("Upload concurrency limits must be positive.");
+        }
+        this.perRequestLimit = perRequestLimit;
+        this.globalPermits = new Semaphore(globalLimit, true);
+    }
+
+    public <T> List<Future<T>> submitAll(List<Callable<T>> tasks) {
+        Semaphore requestPermits = new Semaphore(perRequestLimit);
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> runBounded(task, requestPermits, mdcContext)));
+        }
+        return futures;
+    }
+
+    private <T> T runBounded(Callable<T> task, Semaphore requestPermits, Map<String, String> mdcContext)
+            throws Exception {
+        requestPermits.acquire();
+        try {
+            globalPermits.acquire();
+            try {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                return task.call();
+            } finally {
+                MDC.clear();
+                globalPermits.release();
+            }
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down note upload executor...");
+        executor.close();
+    }
+}
@@ -0,0 +1,130 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxNotificationListener implements DisposableBean {
+
+    static final String CHANNEL = "outbox_events";
+    private static final int MAX_DRAIN_ROUNDS = 100;
+
+    private final OutboxPublisherService publisherService;
+
+    // LISTEN occupies its connection for the lifetime of the node, so it is opened outside the Hikari pool.
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${app.outbox.notify.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.notify.wait-timeout-ms:10000}")
+    private int waitTimeoutMs;
+
+    @Value("${app.outbox.notify.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox notifications are disabled. Relying on scheduled polling only.");
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("outbox-notification-listener").start(this::listenLoop);
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listen(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn(
+                        "Outbox notification listener lost its connection. Reconnecting in {} ms.",
+                        reconnectDelayMs,
+                        e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        execute(connection, "LISTEN " + CHANNEL);
+        try {
+            log.info("Listening for outbox notifications on channel '{}'", CHANNEL);
+
+            // Events inserted while the listener was (re)connecting produced no notification we could receive.
+            drain();
+
+            while (running) {
+                PGNotification[] notifications = pgConnection.getNotifications(waitTimeoutMs);
+                if (notifications != null && notifications.length > 0) {
+                    drain();
+                }
+            }
+        } finally {
+            if (!connection.isClosed()) {
+                execute(connection, "UNLISTEN " + CHANNEL);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int round = 0; running && round < MAX_DRAIN_ROUNDS; round++) {
+                if (publisherService.publishEvents() == 0) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to publish outbox events after notification. Polling will retry.", e);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            log.info("Stopping outbox notification listener...");
+            current.interrupt();
+        }
+    }
+}
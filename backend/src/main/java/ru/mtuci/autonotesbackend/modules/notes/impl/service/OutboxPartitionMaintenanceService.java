@@ -0,0 +1,68 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPartitionMaintenanceService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.partitions.precreate-days:3}")
+    private int precreateDays;
+
+    @Value("${app.outbox.partitions.retention-days:1}")
+    private int retentionDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainPartitionsOnStartup() {
+        try {
+            maintainPartitions();
+        } catch (RuntimeException e) {
+            // Today's partition normally exists already, and the scheduled run retries; a node must not fail to
+            // start over housekeeping.
+            log.error("Outbox partition maintenance failed at startup", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.scheduling.outbox-partition-cron:0 15 * * * *}")
+    public void maintainPartitions() {
+        transactionTemplate.executeWithoutResult(status -> maintain());
+    }
+
+    private void maintain() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        int created = 0;
+        for (int day = 0; day <= precreateDays; day++) {
+            if (outboxEventRepository.ensurePartition(today.plusDays(day))) {
+                created++;
+            }
+        }
+
+        LocalDate cutoff = today.minusDays(retentionDays);
+        int dropped = outboxEventRepository.dropDrainedPartitions(cutoff);
+        int purged = outboxEventRepository.deletePublishedFromDefaultPartition(
+                cutoff.atStartOfDay().atOffset(ZoneOffset.UTC));
+
+        if (created > 0 || dropped > 0 || purged > 0) {
+            log.info(
+                    "Outbox partitions maintained. Created: {}, dropped: {}, purged from default partition: {}",
+                    created,
+                    dropped,
+                    purged);
+        }
+    }
+}
@@ -1,54 +1,132 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.mtuci.autonotesbackend.modules.notes.impl.config.RabbitMqConfig;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEvent;
-import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteProcessingEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class OutboxPublisherService {
+public class OutboxPublisherService implements DisposableBean {
 
     private final OutboxEventRepository outboxEventRepository;
     private final RabbitTemplate rabbitTemplate;
-    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final int BATCH_SIZE = 50;
+    static final String EVENT_TYPE_HEADER = "x-event-type";
+    private static final int LANE_LOCK_NAMESPACE = 0x0B0C;
+
+    @Value("${app.outbox.publisher-confirms-enabled:true}")
+    private boolean publisherConfirmsEnabled;
+
+    @Value("${app.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${app.outbox.lanes:4}")
+    private int laneCount;
+
+    @Value("${app.outbox.batch-size.min:50}")
+    private int minBatchSize;
+
+    @Value("${app.outbox.batch-size.max:500}")
+    private int maxBatchSize;
+
+    private final ExecutorService laneExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, Integer> batchSizes = new ConcurrentHashMap<>();
 
     @Scheduled(fixedDelayString = "${app.scheduling.outbox-interval-ms:2000}")
-    @Transactional
-    public void publishEvents() {
-        List<OutboxEvent> events = outboxEventRepository.findBatchToProcess(BATCH_SIZE);
+    public int publishEvents() {
+        if (laneCount <= 1) {
+            return publishLane(0);
+        }
 
-        if (events.isEmpty()) {
-            return;
+        List<Future<Integer>> lanes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            int currentLane = lane;
+            lanes.add(laneExecutor.submit(() -> publishLane(currentLane)));
         }
 
+        int published = 0;
+        for (int lane = 0; lane < laneCount; lane++) {
+            try {
+                published += lanes.get(lane).get();
+            } catch (ExecutionException e) {
+                log.error("Outbox lane {} failed. Will retry later.", lane, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return published;
+    }
+
+    private int publishLane(int lane) {
+        Integer published = transactionTemplate.execute(status -> {
+            if (laneCount > 1 && !outboxEventRepository.tryLockLane(LANE_LOCK_NAMESPACE, lane)) {
+                return 0;
+            }
+
+            int batchSize = batchSizes.getOrDefault(lane, minBatchSize);
+            List<OutboxEvent> events = outboxEventRepository.findLaneBatchToProcess(lane, laneCount, batchSize);
+            batchSizes.put(lane, nextBatchSize(batchSize, events.size()));
+
+            return events.isEmpty() ? 0 : publishBatch(events);
+        });
+        return published != null ? published : 0;
+    }
+
+    private int nextBatchSize(int batchSize, int fetched) {
+        if (fetched >= batchSize) {
+            return Math.min(maxBatchSize, batchSize * 2);
+        }
+        if (fetched < batchSize / 4) {
+            return Math.max(minBatchSize, batchSize / 2);
+        }
+        return batchSize;
+    }
+
+    private int publishBatch(List<OutboxEvent> events) {
+        boolean withConfirms = confirmsEnabled();
         List<OutboxEvent> processedEvents = new ArrayList<>();
+        Map<OutboxEvent, CorrelationData> pendingConfirms = new LinkedHashMap<>();
 
         for (OutboxEvent event : events) {
+            CorrelationData correlation = withConfirms ? new CorrelationData(String.valueOf(event.getId())) : null;
             try {
-                processEvent(event);
-                processedEvents.add(event);
-
-            } catch (JsonProcessingException e) {
-                log.error(
-                        "Fatal error: Corrupted payload in event ID {}. Deleting to prevent blocking.",
-                        event.getId(),
-                        e);
-                processedEvents.add(event);
+                if (processEvent(event, correlation) && correlation != null) {
+                    pendingConfirms.put(event, correlation);
+                } else {
+                    processedEvents.add(event);
+                }
 
             } catch (AmqpException e) {
                 log.error(
@@ -63,19 +141,94 @@ public class OutboxPublisherService {
             }
         }
 
+        if (!pendingConfirms.isEmpty()) {
+            processedEvents.addAll(awaitConfirms(pendingConfirms));
+        }
+
         if (!processedEvents.isEmpty()) {
-            outboxEventRepository.deleteAllInBatch(processedEvents);
-            log.debug("Published and deleted {} outbox events.", processedEvents.size());
+            outboxEventRepository.markPublished(processedEvents.stream().map(OutboxEvent::getId).toList());
+            log.debug("Published {} outbox events.", processedEvents.size());
         }
+        return processedEvents.size();
     }
 
-    private void processEvent(OutboxEvent event) throws JsonProcessingException {
-        if ("NOTE_CREATED".equals(event.getEventType())) {
-            NoteProcessingEvent payload = objectMapper.readValue(event.getPayload(), NoteProcessingEvent.class);
+    private boolean confirmsEnabled() {
+        return publisherConfirmsEnabled && rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+    }
 
-            rabbitTemplate.convertAndSend(RabbitMqConfig.EXCHANGE_NOTES, RabbitMqConfig.ROUTING_KEY_PROCESS, payload);
-        } else {
+    private List<OutboxEvent> awaitConfirms(Map<OutboxEvent, CorrelationData> pendingConfirms) {
+        List<OutboxEvent> confirmedEvents = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofMillis(confirmTimeoutMs).toNanos();
+
+        for (Map.Entry<OutboxEvent, CorrelationData> entry : pendingConfirms.entrySet()) {
+            Long eventId = entry.getKey().getId();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                CorrelationData.Confirm confirm = entry.getValue().getFuture().get(remaining, TimeUnit.NANOSECONDS);
+                ReturnedMessage returned = entry.getValue().getReturned();
+                if (returned != null) {
+                    // An unroutable mandatory message is still acked, so the return must be checked first.
+                    log.warn("Broker returned event ID {} ({}). Will retry later.", eventId, returned.getReplyText());
+                } else if (confirm.isAck()) {
+                    confirmedEvents.add(entry.getKey());
+                } else {
+                    log.warn("Broker rejected event ID {} ({}). Will retry later.", eventId, confirm.getReason());
+                }
+
+            } catch (TimeoutException e) {
+                log.warn(
+                        "No publisher confirm for event ID {} within {} ms. Will retry later.",
+                        eventId,
+                        confirmTimeoutMs);
+
+            } catch (ExecutionException e) {
+                log.warn("Publisher confirm failed for event ID {}. Will retry later.", eventId, e.getCause());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (confirmedEvents.size() < pendingConfirms.size()) {
+            log.warn(
+                    "Only {}/{} outbox events were confirmed by the broker.",
+                    confirmedEvents.size(),
+                    pendingConfirms.size());
+        }
+        return confirmedEvents;
+    }
+
+    private boolean processEvent(OutboxEvent event, CorrelationData correlation) {
+        Optional<OutboxEventType> eventType = OutboxEventType.find(event.getEventType());
+        if (eventType.isEmpty()) {
             log.warn("Unknown event type: {}", event.getEventType());
+            return false;
+        }
+
+        String routingKey = eventType.get().getRoutingKey();
+        Message message = toMessage(event, eventType.get());
+        if (correlation == null) {
+            rabbitTemplate.send(RabbitMqConfig.EXCHANGE_NOTES, routingKey, message);
+        } else {
+            rabbitTemplate.send(RabbitMqConfig.EXCHANGE_NOTES, routingKey, message, correlation);
         }
+        return true;
+    }
+
+    private static Message toMessage(OutboxEvent event, OutboxEventType eventType) {
+        return MessageBuilder.withBody(event.getPayload())
+                .setContentType(event.getContentType())
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()))
+                .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, eventType.getPayloadType().getName())
+                .setHeader(EVENT_TYPE_HEADER, eventType.name())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down outbox lane executor...");
+        laneExecutor.close();
     }
 }
@@ -21,6 +21,7 @@ public class SoftDeleteCleanupService {
 
     private final LectureNoteRepository noteRepository;
     private final FileStorageFacade fileStorageFacade;
+    private final NoteRenditionService renditionService;
     private final TransactionTemplate transactionTemplate;
 
     @Value("${app.notes.soft-delete-retention-days:30}")
@@ -46,18 +47,19 @@ public class SoftDeleteCleanupService {
 
                 for (LectureNote note : expiredNotes) {
                     if (note.getImages() != null) {
+                        List<Long> imageIds =
+                                note.getImages().stream().map(NoteImage::getId).toList();
+                        renditionService.findRenditionPaths(imageIds).forEach(this::deleteFile);
+
                         for (NoteImage image : note.getImages()) {
-                            try {
-                                fileStorageFacade.delete(image.getFileStoragePath());
-                            } catch (Exception e) {
-                                log.warn(
-                                        "Failed to delete file from S3: {}. It will be cleaned up by GC later.",
-                                        image.getFileStoragePath(),
-                                        e);
-                            }
+                            deleteFile(image.getFileStoragePath());
                         }
                     }
 
+                    if (note.getRecognizedTextPath() != null) {
+                        deleteFile(note.getRecognizedTextPath());
+                    }
+
                     try {
                         noteRepository.hardDeleteById(note.getId());
                         log.debug("Permanently deleted note ID: {}", note.getId());
@@ -78,4 +80,12 @@ public class SoftDeleteCleanupService {
             log.info("Completed permanent deletion. Total records removed: approx {}", totalDeleted);
         }
     }
+
+    private void deleteFile(String filePath) {
+        try {
+            fileStorageFacade.delete(filePath);
+        } catch (Exception e) {
+            log.warn("Failed to delete file from S3: {}. It will be cleaned up by GC later.", filePath, e);
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingNoteUploadService {
+
+    private static final String TITLE_PART = "title";
+    private static final String FILES_PART = "files";
+    // Same limits as the DTO-validated endpoints; lecture_notes.title is VARCHAR(255).
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_TITLE_BYTES = MAX_TITLE_LENGTH * 4;
+
+    private final NoteService noteService;
+    private final FileStorageFacade fileStorageFacade;
+
+    @Value("${app.notes.streaming.max-file-size:50MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.notes.streaming.max-request-size:200MB}")
+    private DataSize maxRequestSize;
+
+    @Value("${app.notes.streaming.max-file-count:50}")
+    private long maxFileCount;
+
+    public LectureNote createNote(HttpServletRequest request, Long userId) {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new InvalidFileFormatException("Request must be of type multipart/form-data.");
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setFileSizeMax(maxFileSize.toBytes());
+        upload.setSizeMax(maxRequestSize.toBytes());
+        upload.setFileCountMax(maxFileCount);
+
+        String title = null;
+        List<UploadedImage> uploadedImages = new ArrayList<>();
+
+        try {
+            FileItemInputIterator parts = upload.getItemIterator(request);
+
+            while (parts.hasNext()) {
+                FileItemInput part = parts.next();
+
+                if (part.isFormField() && TITLE_PART.equals(part.getFieldName())) {
+                    title = readTitle(part);
+                } else if (!part.isFormField() && FILES_PART.equals(part.getFieldName())) {
+                    uploadedImages.add(storePart(part, userId));
+                } else {
+                    log.debug("Skipping unexpected multipart field '{}'", part.getFieldName());
+                }
+            }
+
+        } catch (IOException e) {
+            rollback(uploadedImages);
+            log.warn("Failed to read streaming upload for user {}: {}", userId, e.getMessage());
+            throw new InvalidFileFormatException("Malformed or oversized multipart request.");
+        } catch (InvalidFileFormatException e) {
+            rollback(uploadedImages);
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Error during streaming upload. Rolling back {} uploaded files.", uploadedImages.size(), e);
+            rollback(uploadedImages);
+            throw e;
+        }
+
+        if (title == null) {
+            rollback(uploadedImages);
+            throw new InvalidFileFormatException("Required part 'title' is not present.");
+        }
+
+        if (uploadedImages.isEmpty()) {
+            throw new InvalidFileFormatException("At least one image file is required.");
+        }
+
+        return noteService.createNoteFromUploads(title, uploadedImages, userId);
+    }
+
+    private String readTitle(FileItemInput part) throws IOException {
+        try (InputStream is = part.getInputStream()) {
+            byte[] bytes = is.readNBytes(MAX_TITLE_BYTES + 1);
+            String title = new String(bytes, StandardCharsets.UTF_8);
+            if (title.isBlank()) {
+                throw new InvalidFileFormatException("Title cannot be blank");
+            }
+            if (bytes.length > MAX_TITLE_BYTES || title.length() > MAX_TITLE_LENGTH) {
+                throw new InvalidFileFormatException("Title must be at most 255 characters");
+            }
+            return title;
+        }
+    }
+
+    private UploadedImage storePart(FileItemInput part, Long userId) throws IOException {
+        try (InputStream is = part.getInputStream()) {
+            String path = fileStorageFacade.save(is, part.getName(), part.getContentType(), userId);
+            return new UploadedImage(path, part.getName());
+        } catch (FileStorageException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+
+    private void rollback(List<UploadedImage> uploadedImages) {
+        noteService.rollbackS3Uploads(
+                uploadedImages.stream().map(UploadedImage::fileStoragePath).toList());
+    }
+}
@@ -0,0 +1,47 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSession;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionCleanupService {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionService uploadSessionService;
+
+    @Scheduled(cron = "${app.scheduling.upload-session-cleanup-cron:0 */15 * * * *}")
+    public void discardExpiredSessions() {
+        int totalDiscarded = 0;
+
+        List<UUID> expiredIds = uploadSessionService.findExpiredIds(BATCH_SIZE);
+        while (!expiredIds.isEmpty()) {
+            for (UUID sessionId : expiredIds) {
+                try {
+                    Optional<UploadSession> session = sessionRepository.findWithFilesById(sessionId);
+                    if (session.isPresent() && uploadSessionService.discardExpired(session.get())) {
+                        totalDiscarded++;
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to discard expired upload session {}", sessionId, e);
+                    return;
+                }
+            }
+            expiredIds = uploadSessionService.findExpiredIds(BATCH_SIZE);
+        }
+
+        if (totalDiscarded > 0) {
+            log.info("Upload session cleanup finished. Total sessions discarded: {}", totalDiscarded);
+        }
+    }
+}
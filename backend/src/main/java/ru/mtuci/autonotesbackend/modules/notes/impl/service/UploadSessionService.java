@@ -0,0 +1,313 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.exception.ResourceNotFoundException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.UploadSessionConflictException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSession;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionFile;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionPart;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionFileRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionPartRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService implements InitializingBean {
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionFileRepository fileRepository;
+    private final UploadSessionPartRepository partRepository;
+    private final NoteImageRepository noteImageRepository;
+    private final FileStorageFacade fileStorageFacade;
+    private final DirectUploadService directUploadService;
+    private final NoteService noteService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notes.upload-session.chunk-size:8MB}")
+    private DataSize chunkSize;
+
+    @Value("${app.notes.upload-session.max-file-size:50MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.notes.upload-session.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.notes.upload-session.commit-timeout:15m}")
+    private Duration commitTimeout;
+
+    @Override
+    public void afterPropertiesSet() {
+        // Every chunk but the last becomes a storage part, so a smaller chunk would fail only at commit.
+        if (chunkSize.toBytes() < FileStorageFacade.MIN_MULTIPART_PART_SIZE.toBytes()) {
+            throw new IllegalArgumentException("Upload session chunk size must be at least 5MB.");
+        }
+    }
+
+    public UploadSession createSession(CreateUploadSessionRequestDto request, Long userId) {
+        for (UploadSessionFileRequestDto file : request.getFiles()) {
+            if (file.getSize() > maxFileSize.toBytes()) {
+                throw new InvalidFileFormatException("File exceeds the allowable limit: " + file.getFileName());
+            }
+        }
+
+        UploadSession session = UploadSession.builder()
+                .userId(userId)
+                .title(request.getTitle())
+                .status(UploadSessionStatus.ACTIVE)
+                .chunkSize(chunkSize.toBytes())
+                .expiresAt(OffsetDateTime.now().plus(ttl))
+                .build();
+
+        try {
+            int index = 0;
+            for (UploadSessionFileRequestDto file : request.getFiles()) {
+                MultipartUploadHandle handle =
+                        fileStorageFacade.startMultipartUpload(file.getFileName(), file.getContentType(), userId);
+
+                session.addFile(UploadSessionFile.builder()
+                        .fileIndex(index++)
+                        .originalFileName(file.getFileName())
+                        .contentType(file.getContentType())
+                        .totalSize(file.getSize())
+                        .fileStoragePath(handle.objectKey())
+                        .storageUploadId(handle.uploadId())
+                        .build());
+            }
+
+            UploadSession saved = sessionRepository.save(session);
+            log.info("Upload session {} created for user {} with {} files", saved.getId(), userId, index);
+            return saved;
+
+        } catch (RuntimeException e) {
+            abortStorageUploads(session.getFiles());
+            throw e;
+        }
+    }
+
+    public UploadSession getSession(UUID sessionId, Long userId) {
+        return sessionRepository
+                .findByIdAndUserId(sessionId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + sessionId));
+    }
+
+    public UploadSessionFile appendChunk(
+            UUID sessionId, int fileIndex, long offset, InputStream content, long contentLength, Long userId) {
+        UploadSession session = getActiveSession(sessionId, userId);
+        UploadSessionFile file = session.getFiles().stream()
+                .filter(candidate -> candidate.getFileIndex() == fileIndex)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session file not found: " + fileIndex));
+
+        if (file.isComplete()) {
+            throw new UploadSessionConflictException("File " + fileIndex + " is already fully uploaded.");
+        }
+        if (offset != file.getReceivedBytes()) {
+            throw new UploadSessionConflictException(
+                    "Unexpected chunk offset " + offset + ". Expected offset: " + file.getReceivedBytes());
+        }
+
+        long expectedLength = Math.min(session.getChunkSize(), file.getTotalSize() - offset);
+        if (contentLength != expectedLength) {
+            throw new InvalidFileFormatException(String.format(
+                    "Chunk at offset %d must be exactly %d bytes, got %d", offset, expectedLength, contentLength));
+        }
+
+        int partNumber = (int) (offset / session.getChunkSize()) + 1;
+        String eTag = fileStorageFacade.uploadPart(
+                file.getFileStoragePath(), file.getStorageUploadId(), partNumber, content, contentLength);
+
+        long received = offset + contentLength;
+        transactionTemplate.execute(ignored -> {
+            if (fileRepository.advanceReceivedBytes(file.getId(), offset, received) == 0) {
+                throw new UploadSessionConflictException("Chunk at offset " + offset + " was uploaded concurrently.");
+            }
+            partRepository.save(UploadSessionPart.builder()
+                    .fileId(file.getId())
+                    .partNumber(partNumber)
+                    .eTag(eTag)
+                    .build());
+            return null;
+        });
+
+        file.setReceivedBytes(received);
+        log.debug("Session {} file {}: received {}/{} bytes", sessionId, fileIndex, received, file.getTotalSize());
+        return file;
+    }
+
+    public LectureNote commit(UUID sessionId, Long userId) {
+        UploadSession session = getSession(sessionId, userId);
+
+        if (session.getStatus() == UploadSessionStatus.COMMITTED) {
+            return noteService.findByIdAndUserId(session.getNoteId(), userId);
+        }
+        ensureActive(session);
+        if (!session.getFiles().stream().allMatch(UploadSessionFile::isComplete)) {
+            throw new UploadSessionConflictException("Upload session is incomplete: " + sessionId);
+        }
+        if (!claim(sessionId)) {
+            throw new UploadSessionConflictException("Upload session is already being committed: " + sessionId);
+        }
+
+        List<String> objectKeys = session.getFiles().stream()
+                .map(UploadSessionFile::getFileStoragePath)
+                .toList();
+
+        try {
+            completeStorageUploads(session.getFiles());
+            directUploadService.verifyUploads(objectKeys, userId);
+        } catch (InvalidFileFormatException e) {
+            noteService.rollbackS3Uploads(objectKeys);
+            sessionRepository.deleteById(sessionId);
+            throw e;
+        } catch (RuntimeException e) {
+            sessionRepository.transitionStatus(sessionId, UploadSessionStatus.COMMITTING, UploadSessionStatus.ACTIVE);
+            throw e;
+        }
+
+        List<UploadedImage> uploadedImages = session.getFiles().stream()
+                .map(file -> new UploadedImage(file.getFileStoragePath(), file.getOriginalFileName()))
+                .toList();
+
+        LectureNote note;
+        try {
+            note = noteService.createNoteFromUploads(session.getTitle(), uploadedImages, userId);
+        } catch (RuntimeException e) {
+            sessionRepository.deleteById(sessionId);
+            throw e;
+        }
+
+        sessionRepository.markCommitted(sessionId, note.getId());
+        log.info("Upload session {} committed as note {}", sessionId, note.getId());
+        return note;
+    }
+
+    public void abort(UUID sessionId, Long userId) {
+        UploadSession session = getSession(sessionId, userId);
+        if (session.getStatus() == UploadSessionStatus.COMMITTING && !reclaimStaleCommit(sessionId)) {
+            throw new UploadSessionConflictException("Upload session is being committed: " + sessionId);
+        }
+        discard(session);
+    }
+
+    public List<UUID> findExpiredIds(int limit) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return sessionRepository.findExpiredIds(now, now.minus(commitTimeout), PageRequest.of(0, limit));
+    }
+
+    public void discard(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.COMMITTED) {
+            abortStorageUploads(session.getFiles());
+        }
+        sessionRepository.deleteById(session.getId());
+        log.info("Upload session {} discarded", session.getId());
+    }
+
+    public boolean discardExpired(UploadSession session) {
+        // An expired session is claimed the same way commit claims it, so a commit that started after the
+        // session was listed keeps its storage uploads instead of having them aborted underneath it.
+        boolean claimed =
+                switch (session.getStatus()) {
+                    case ACTIVE -> claim(session.getId());
+                    case COMMITTING -> reclaimStaleCommit(session.getId());
+                    case COMMITTED -> true;
+                };
+        if (!claimed) {
+            log.debug("Skipping expired upload session {}: it is being committed", session.getId());
+            return false;
+        }
+        discard(session);
+        return true;
+    }
+
+    private boolean claim(UUID sessionId) {
+        return sessionRepository.transitionStatus(
+                        sessionId, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMMITTING)
+                > 0;
+    }
+
+    private boolean reclaimStaleCommit(UUID sessionId) {
+        // A claim held longer than the commit timeout belongs to a commit that died before markCommitted.
+        OffsetDateTime staleClaimBefore = OffsetDateTime.now().minus(commitTimeout);
+        if (sessionRepository.reclaimStaleCommit(sessionId, staleClaimBefore) == 0) {
+            return false;
+        }
+        log.warn("Reclaimed upload session {} from a commit that never finished", sessionId);
+        return true;
+    }
+
+    private UploadSession getActiveSession(UUID sessionId, Long userId) {
+        UploadSession session = getSession(sessionId, userId);
+        ensureActive(session);
+        return session;
+    }
+
+    private void ensureActive(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new UploadSessionConflictException("Upload session is no longer active: " + session.getId());
+        }
+        if (session.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            throw new UploadSessionConflictException("Upload session has expired: " + session.getId());
+        }
+    }
+
+    private void completeStorageUploads(List<UploadSessionFile> files) {
+        for (UploadSessionFile file : files) {
+            if (file.getStorageUploadId() == null) {
+                continue;
+            }
+
+            List<UploadedPart> parts = partRepository.findAllByFileIdOrderByPartNumberAsc(file.getId()).stream()
+                    .map(part -> new UploadedPart(part.getPartNumber(), part.getETag()))
+                    .toList();
+
+            fileStorageFacade.completeMultipartUpload(file.getFileStoragePath(), file.getStorageUploadId(), parts);
+            fileRepository.markStorageUploadCompleted(file.getId());
+            file.setStorageUploadId(null);
+        }
+    }
+
+    private void abortStorageUploads(List<UploadSessionFile> files) {
+        Set<String> completedPaths = new HashSet<>();
+        for (UploadSessionFile file : files) {
+            if (file.getStorageUploadId() == null) {
+                completedPaths.add(file.getFileStoragePath());
+                continue;
+            }
+            try {
+                fileStorageFacade.abortMultipartUpload(file.getFileStoragePath(), file.getStorageUploadId());
+            } catch (Exception ex) {
+                log.error("Failed to abort multipart upload for {}", file.getFileStoragePath(), ex);
+            }
+        }
+        // A commit that died after creating its note leaves completed objects that are now note pages.
+        if (!completedPaths.isEmpty()) {
+            completedPaths.removeAll(noteImageRepository.findExistingPaths(completedPaths));
+        }
+        noteService.rollbackS3Uploads(List.copyOf(completedPaths));
+    }
+}
@@ -0,0 +1,198 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource;
+
+public final class UserNoteIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+
+    // Rough 64-bit JVM footprint (compressed oops) used as the Caffeine weight. Term strings are
+    // counted as UTF-16 because Cyrillic text is not Latin-1 compact.
+    private static final long BASE_BYTES = 256;
+    private static final long STRING_BYTES = 40;
+    private static final long TERM_BYTES = 40 + 96;
+    private static final long POSTING_BYTES = 56;
+    private static final long NOTE_BYTES = 32 + 64 + 96;
+    private static final long NOTE_TERM_BYTES = 40;
+
+    private static final Comparator<IndexedNote> NEWEST_FIRST = Comparator.comparing(
+                    IndexedNote::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(IndexedNote::id, Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, IndexedNote> notes = new HashMap<>();
+    private final long builtAtNanos = System.nanoTime();
+    private long estimatedBytes = BASE_BYTES;
+
+    public void put(NoteIndexSource source) {
+        Set<String> terms = new HashSet<>();
+        addTerms(terms, source.title());
+        addTerms(terms, source.summaryText());
+        addTerms(terms, source.recognizedText());
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(source.id());
+            IndexedNote note = new IndexedNote(source.id(), source.title(), source.createdAt(), terms);
+            notes.put(note.id(), note);
+            estimatedBytes += NOTE_BYTES + stringBytes(note.title()) + terms.size() * NOTE_TERM_BYTES;
+            for (String term : terms) {
+                Set<Long> noteIds = postings.get(term);
+                if (noteIds == null) {
+                    noteIds = new HashSet<>();
+                    postings.put(term, noteIds);
+                    estimatedBytes += TERM_BYTES + stringBytes(term);
+                }
+                noteIds.add(note.id());
+                estimatedBytes += POSTING_BYTES;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long noteId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(noteId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<IndexedNote> suggest(List<String> prefixes, int limit) {
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = null;
+            for (String prefix : prefixes) {
+                Set<Long> prefixMatches = new HashSet<>();
+                for (Set<Long> noteIds : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                        .values()) {
+                    if (matches == null) {
+                        prefixMatches.addAll(noteIds);
+                    } else {
+                        for (Long noteId : noteIds) {
+                            if (matches.contains(noteId)) {
+                                prefixMatches.add(noteId);
+                            }
+                        }
+                    }
+                }
+                matches = prefixMatches;
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            if (matches == null) {
+                return List.of();
+            }
+
+            List<IndexedNote> found = new ArrayList<>(matches.size());
+            for (Long noteId : matches) {
+                found.add(notes.get(noteId));
+            }
+            found.sort(NEWEST_FIRST);
+            return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long builtAtNanos() {
+        return builtAtNanos;
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int noteCount() {
+        lock.readLock().lock();
+        try {
+            return notes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> prefixes(String query) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(normalize(query))) {
+            if (!word.isEmpty()) {
+                prefixes.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word);
+            }
+        }
+        return List.copyOf(prefixes);
+    }
+
+    private void removeUnlocked(Long noteId) {
+        IndexedNote note = notes.remove(noteId);
+        if (note == null) {
+            return;
+        }
+        estimatedBytes -= NOTE_BYTES + stringBytes(note.title()) + note.terms().size() * NOTE_TERM_BYTES;
+        for (String term : note.terms()) {
+            Set<Long> noteIds = postings.get(term);
+            if (noteIds != null && noteIds.remove(noteId)) {
+                estimatedBytes -= POSTING_BYTES;
+                if (noteIds.isEmpty()) {
+                    postings.remove(term);
+                    estimatedBytes -= TERM_BYTES + stringBytes(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Set<String> terms, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String word : WORD_SEPARATOR.split(normalize(text))) {
+            if (word.length() >= MIN_TERM_LENGTH && word.length() <= MAX_TERM_LENGTH) {
+                terms.add(word);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + 2L * value.length();
+    }
+
+    public record IndexedNote(Long id, String title, OffsetDateTime createdAt, Set<String> terms) {}
+}
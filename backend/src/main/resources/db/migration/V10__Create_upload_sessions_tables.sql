@@ -0,0 +1,44 @@
+CREATE TABLE upload_sessions
+(
+    id         UUID PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    title      VARCHAR(255) NOT NULL,
+    status     VARCHAR(20)  NOT NULL,
+    chunk_size BIGINT       NOT NULL,
+    note_id    BIGINT,
+    expires_at TIMESTAMPTZ  NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_upload_sessions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_upload_sessions_status_expires_at ON upload_sessions (status, expires_at);
+
+CREATE TABLE upload_session_files
+(
+    id                 BIGSERIAL PRIMARY KEY,
+    session_id         UUID          NOT NULL,
+    file_index         INT           NOT NULL,
+    original_file_name VARCHAR(255)  NOT NULL,
+    content_type       VARCHAR(255)  NOT NULL,
+    total_size         BIGINT        NOT NULL,
+    received_bytes     BIGINT        NOT NULL DEFAULT 0,
+    file_storage_path  VARCHAR(1024) NOT NULL,
+    storage_upload_id  VARCHAR(1024),
+
+    CONSTRAINT fk_upload_session_files_session FOREIGN KEY (session_id) REFERENCES upload_sessions (id) ON DELETE CASCADE,
+    CONSTRAINT uq_upload_session_files_index UNIQUE (session_id, file_index),
+    CONSTRAINT chk_upload_session_files_received CHECK (received_bytes >= 0 AND received_bytes <= total_size)
+);
+
+CREATE TABLE upload_session_parts
+(
+    id          BIGSERIAL PRIMARY KEY,
+    file_id     BIGINT       NOT NULL,
+    part_number INT          NOT NULL,
+    etag        VARCHAR(255) NOT NULL,
+
+    CONSTRAINT fk_upload_session_parts_file FOREIGN KEY (file_id) REFERENCES upload_session_files (id) ON DELETE CASCADE,
+    CONSTRAINT uq_upload_session_parts_number UNIQUE (file_id, part_number)
+);
@@ -0,0 +1,16 @@
+CREATE TABLE note_image_renditions
+(
+    id                BIGSERIAL PRIMARY KEY,
+    image_id          BIGINT        NOT NULL,
+    kind              VARCHAR(20)   NOT NULL,
+    file_storage_path VARCHAR(1024) NOT NULL,
+    width             INT           NOT NULL,
+    height            INT           NOT NULL,
+    size_bytes        BIGINT        NOT NULL,
+    created_at        TIMESTAMPTZ   NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_note_image_renditions_image FOREIGN KEY (image_id) REFERENCES note_images (id) ON DELETE CASCADE,
+    CONSTRAINT uq_note_image_renditions_image_kind UNIQUE (image_id, kind)
+);
+
+CREATE INDEX idx_note_image_renditions_path ON note_image_renditions (file_storage_path);
@@ -0,0 +1,13 @@
+CREATE OR REPLACE FUNCTION notify_outbox_events() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM pg_notify('outbox_events', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_outbox_events_notify
+    AFTER INSERT
+    ON outbox_events
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_outbox_events();
@@ -0,0 +1,5 @@
+ALTER TABLE outbox_events
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+
+ALTER TABLE outbox_events
+    ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
@@ -0,0 +1,85 @@
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+DROP TRIGGER trg_outbox_events_notify ON outbox_events_legacy;
+ALTER SEQUENCE outbox_events_id_seq OWNED BY NONE;
+
+CREATE TABLE outbox_events
+(
+    id           BIGINT       NOT NULL DEFAULT nextval('outbox_events_id_seq'),
+    aggregate_id BIGINT       NOT NULL,
+    event_type   VARCHAR(255) NOT NULL,
+    payload      BYTEA        NOT NULL,
+    content_type VARCHAR(100) NOT NULL DEFAULT 'application/json',
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    published_at TIMESTAMPTZ,
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE outbox_events_id_seq OWNED BY outbox_events.id;
+
+CREATE TABLE outbox_events_default PARTITION OF outbox_events DEFAULT;
+
+CREATE INDEX idx_outbox_events_pending ON outbox_events (id) WHERE published_at IS NULL;
+
+CREATE OR REPLACE FUNCTION ensure_outbox_partition(p_day DATE) RETURNS BOOLEAN AS
+$$
+DECLARE
+    partition_name TEXT        := 'outbox_events_' || to_char(p_day, 'YYYYMMDD');
+    range_start    TIMESTAMPTZ := p_day::timestamp AT TIME ZONE 'UTC';
+    range_end      TIMESTAMPTZ := (p_day + 1)::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- A range that already has rows in the default partition cannot be attached; those rows are purged from there.
+    IF EXISTS (SELECT 1 FROM outbox_events_default WHERE created_at >= range_start AND created_at < range_end) THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION drop_drained_outbox_partitions(p_before DATE) RETURNS INT AS
+$$
+DECLARE
+    partition_name TEXT;
+    has_pending    BOOLEAN;
+    dropped        INT := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'outbox_events'::regclass
+          AND c.relname ~ '^outbox_events_[0-9]{8}$'
+          AND to_date(right(c.relname, 8), 'YYYYMMDD') < p_before
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE published_at IS NULL)', partition_name)
+                INTO has_pending;
+            IF NOT has_pending THEN
+                EXECUTE format('DROP TABLE %I', partition_name);
+                dropped := dropped + 1;
+            END IF;
+        END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_outbox_partition((now() AT TIME ZONE 'UTC')::date + day_offset)
+FROM generate_series(0, 3) AS day_offset;
+
+INSERT INTO outbox_events (id, aggregate_id, event_type, payload, content_type, created_at)
+SELECT id, aggregate_id, event_type, payload, content_type, created_at
+FROM outbox_events_legacy;
+
+DROP TABLE outbox_events_legacy;
+
+CREATE TRIGGER trg_outbox_events_notify
+    AFTER INSERT
+    ON outbox_events
+    FOR EACH STATEMENT
+EXECUTE FUNCTION notify_outbox_events();
@@ -0,0 +1,10 @@
+ALTER TABLE lecture_notes
+    ADD COLUMN recognized_text_path   VARCHAR(1024),
+    ADD COLUMN recognized_text_length BIGINT;
+
+UPDATE lecture_notes
+SET recognized_text_length = octet_length(recognized_text)
+WHERE recognized_text IS NOT NULL;
+
+CREATE INDEX idx_lecture_notes_recognized_text_path ON lecture_notes (recognized_text_path)
+    WHERE recognized_text_path IS NOT NULL;
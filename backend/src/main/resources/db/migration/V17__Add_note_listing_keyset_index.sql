@@ -0,0 +1,6 @@
+-- Keyset pagination walks (created_at, id) backwards per user; deleted_at is included so the id
+-- lookup for a page is answered by an index-only scan.
+CREATE INDEX idx_lecture_notes_user_created_id ON lecture_notes (user_id, created_at DESC, id DESC) INCLUDE (deleted_at);
+
+-- Superseded by the composite index above (same leading column).
+DROP INDEX idx_lecture_notes_user_id;
@@ -0,0 +1,23 @@
+-- Cyrillic words go through the Russian stemmer and Latin ones through the English stemmer,
+-- so mixed-language lecture notes match both ("интеграл", "integrals").
+CREATE TEXT SEARCH CONFIGURATION notes_ru_en (COPY = pg_catalog.russian);
+ALTER TEXT SEARCH CONFIGURATION notes_ru_en
+    ALTER MAPPING FOR word, hword, hword_part WITH russian_stem;
+ALTER TEXT SEARCH CONFIGURATION notes_ru_en
+    ALTER MAPPING FOR asciiword, asciihword, hword_asciipart WITH english_stem;
+
+-- Title weighs more than the summary, the summary more than the raw OCR text. Texts offloaded to
+-- object storage (recognized_text IS NULL) stay searchable by title and summary.
+ALTER TABLE lecture_notes
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('notes_ru_en', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('notes_ru_en', coalesce(summary_text, '')), 'B')
+            || setweight(to_tsvector('notes_ru_en', coalesce(recognized_text, '')), 'C')
+        ) STORED;
+
+-- btree_gin lets user_id live in the same GIN index, so a search is answered for one user's
+-- notes only instead of intersecting a global text match with the user filter.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_lecture_notes_search ON lecture_notes USING gin (user_id, search_vector)
+    WHERE deleted_at IS NULL;
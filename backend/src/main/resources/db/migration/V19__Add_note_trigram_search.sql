@@ -0,0 +1,9 @@
+-- Fuzzy search for OCR-noisy text: `query <% column` (word similarity) is answered from these
+-- indexes. btree_gin (V18) keeps user_id in the same index so candidates are per user.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_lecture_notes_title_trgm ON lecture_notes USING gin (user_id, title gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_lecture_notes_text_trgm ON lecture_notes USING gin (user_id, recognized_text gin_trgm_ops)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,4 @@
+-- A directly uploaded object may back only one page, even when two finalize requests race past the
+-- existence check. Content-addressed blobs are shared on purpose and stay out of the index.
+CREATE UNIQUE INDEX uq_note_images_file_storage_path ON note_images (file_storage_path)
+    WHERE file_storage_path NOT LIKE 'blobs/%';
@@ -0,0 +1,57 @@
+-- Every node runs partition maintenance at startup, so two of them can create or drop the same partition at
+-- once. Both functions take one transaction-scoped advisory lock; duplicate_table stays as a last resort for
+-- a partition created by hand in between.
+CREATE OR REPLACE FUNCTION ensure_outbox_partition(p_day DATE) RETURNS BOOLEAN AS
+$$
+DECLARE
+    partition_name TEXT        := 'outbox_events_' || to_char(p_day, 'YYYYMMDD');
+    range_start    TIMESTAMPTZ := p_day::timestamp AT TIME ZONE 'UTC';
+    range_end      TIMESTAMPTZ := (p_day + 1)::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('outbox_events_partitions'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- A range that already has rows in the default partition cannot be attached; those rows are purged from there.
+    IF EXISTS (SELECT 1 FROM outbox_events_default WHERE created_at >= range_start AND created_at < range_end) THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+EXCEPTION
+    WHEN duplicate_table THEN
+        RETURN FALSE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION drop_drained_outbox_partitions(p_before DATE) RETURNS INT AS
+$$
+DECLARE
+    partition_name TEXT;
+    has_pending    BOOLEAN;
+    dropped        INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('outbox_events_partitions'));
+
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'outbox_events'::regclass
+          AND c.relname ~ '^outbox_events_[0-9]{8}$'
+          AND to_date(right(c.relname, 8), 'YYYYMMDD') < p_before
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE published_at IS NULL)', partition_name)
+                INTO has_pending;
+            IF NOT has_pending THEN
+                EXECUTE format('DROP TABLE %I', partition_name);
+                dropped := dropped + 1;
+            END IF;
+        END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
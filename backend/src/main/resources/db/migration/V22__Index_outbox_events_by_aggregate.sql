@@ -0,0 +1,2 @@
+-- Lets a redelivered request check whether its event was already written for the note.
+CREATE INDEX idx_outbox_events_aggregate ON outbox_events (aggregate_id, event_type);
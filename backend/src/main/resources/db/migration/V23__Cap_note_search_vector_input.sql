@@ -0,0 +1,16 @@
+-- A tsvector is limited to 1MB, so a long recognized text stored inline (text offload disabled)
+-- made the generated column fail the whole INSERT/UPDATE. Only the first 64K characters of the
+-- summary and the OCR text are indexed now; the rest of the text stays searchable by trigrams.
+DROP INDEX idx_lecture_notes_search;
+
+ALTER TABLE lecture_notes DROP COLUMN search_vector;
+
+ALTER TABLE lecture_notes
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('notes_ru_en', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('notes_ru_en', left(coalesce(summary_text, ''), 65536)), 'B')
+            || setweight(to_tsvector('notes_ru_en', left(coalesce(recognized_text, ''), 65536)), 'C')
+        ) STORED;
+
+CREATE INDEX idx_lecture_notes_search ON lecture_notes USING gin (user_id, search_vector)
+    WHERE deleted_at IS NULL;
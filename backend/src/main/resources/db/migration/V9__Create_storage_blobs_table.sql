@@ -0,0 +1,13 @@
+CREATE TABLE storage_blobs
+(
+    content_hash VARCHAR(64)   PRIMARY KEY,
+    storage_path VARCHAR(1024) NOT NULL UNIQUE,
+    size_bytes   BIGINT        NOT NULL,
+    ref_count    INT           NOT NULL DEFAULT 0,
+    created_at   TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    updated_at   TIMESTAMPTZ   NOT NULL DEFAULT now(),
+
+    CONSTRAINT chk_storage_blobs_ref_count CHECK (ref_count >= 0)
+);
+
+CREATE INDEX idx_storage_blobs_unreferenced ON storage_blobs (updated_at) WHERE ref_count = 0;
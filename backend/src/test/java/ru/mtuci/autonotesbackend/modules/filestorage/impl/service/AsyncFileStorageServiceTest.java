@@ -0,0 +1,209 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncFileStorageServiceTest {
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    @Mock
+    private StorageBlobRepository storageBlobRepository;
+
+    @InjectMocks
+    private AsyncFileStorageService fileStorageService;
+
+    private final String bucketName = "test-bucket";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileStorageService, "bucketName", bucketName);
+        ReflectionTestUtils.setField(fileStorageService, "multipartPartSize", DataSize.ofBytes(8));
+        ReflectionTestUtils.setField(fileStorageService, "partConcurrency", 2);
+        ReflectionTestUtils.setField(fileStorageService, "maxPartAttempts", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileStorageService.destroy();
+    }
+
+    @Test
+    void saveAsync_whenValidImage_shouldUploadToS3() {
+        // Arrange
+        byte[] jpegBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01};
+        MockMultipartFile file = new MockMultipartFile("file", "photo.jpg", MimeTypeUtils.IMAGE_JPEG_VALUE, jpegBytes);
+
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        // Act
+        String resultPath = fileStorageService.saveAsync(file, 100L).join();
+
+        // Assert
+        assertThat(resultPath).startsWith("100/").endsWith(".jpg");
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3AsyncClient).putObject(captor.capture(), any(AsyncRequestBody.class));
+        assertThat(captor.getValue().bucket()).isEqualTo(bucketName);
+        assertThat(captor.getValue().key()).isEqualTo(resultPath);
+    }
+
+    @Test
+    void saveAsync_whenFakeImage_shouldFailWithInvalidFileFormatException() {
+        MockMultipartFile fakeFile =
+                new MockMultipartFile("file", "virus.exe.jpg", "image/jpeg", "This is not an image".getBytes());
+
+        CompletableFuture<String> result = fileStorageService.saveAsync(fakeFile, 100L);
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InvalidFileFormatException.class);
+        verify(s3AsyncClient, never()).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+    }
+
+    @Test
+    void saveAsync_whenS3Fails_shouldFailWithFileStorageException() {
+        byte[] jpegBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+        MockMultipartFile file = new MockMultipartFile("file", "test.jpg", "image/jpeg", jpegBytes);
+
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        SdkException.builder().message("S3 Down").build()));
+
+        CompletableFuture<String> result = fileStorageService.saveAsync(file, 1L);
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(FileStorageException.class);
+    }
+
+    @Test
+    void saveAsyncStream_whenPartFailsOnce_shouldRetryItAndCompleteUpload() {
+        // Arrange
+        stubCreateMultipartUpload();
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        SdkException.builder().message("Connection reset").build()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        UploadPartResponse.builder().eTag("etag").build()));
+        when(s3AsyncClient.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        CompleteMultipartUploadResponse.builder().build()));
+
+        // Act
+        String resultPath = fileStorageService
+                .saveAsync(new ByteArrayInputStream(jpegOfSize(20)), "scan.jpg", "image/jpeg", 1L)
+                .join();
+
+        // Assert
+        assertThat(resultPath).startsWith("1/").endsWith(".jpg");
+        verify(s3AsyncClient, times(4)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    void saveAsyncStream_whenPartExhaustsAttempts_shouldAbortUploadBeforeFailing() {
+        // Arrange
+        stubCreateMultipartUpload();
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        SdkException.builder().message("S3 Down").build()));
+        when(s3AsyncClient.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        AbortMultipartUploadResponse.builder().build()));
+
+        // Act
+        CompletableFuture<String> result = fileStorageService.saveAsync(
+                new ByteArrayInputStream(jpegOfSize(20)), "scan.jpg", "image/jpeg", 1L);
+
+        // Assert
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(FileStorageException.class);
+        verify(s3AsyncClient).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3AsyncClient, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void deleteAsync_whenValidPath_shouldCallS3ClientDeleteObject() {
+        String filePath = "1/some-uuid.jpg";
+        when(s3AsyncClient.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteObjectResponse.builder().build()));
+
+        fileStorageService.deleteAsync(filePath).join();
+
+        ArgumentCaptor<DeleteObjectRequest> captor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3AsyncClient).deleteObject(captor.capture());
+        assertThat(captor.getValue().key()).isEqualTo(filePath);
+    }
+
+    @Test
+    void deleteAsync_whenBlobPath_shouldOnlyReleaseReference() {
+        String filePath = "blobs/abc123";
+        when(storageBlobRepository.decrementRefCount(filePath)).thenReturn(1);
+
+        fileStorageService.deleteAsync(filePath).join();
+
+        verify(storageBlobRepository).decrementRefCount(filePath);
+        verify(s3AsyncClient, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void deleteAsync_whenPathIsBlank_shouldDoNothing() {
+        fileStorageService.deleteAsync("").join();
+        verify(s3AsyncClient, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    private void stubCreateMultipartUpload() {
+        when(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+    }
+
+    private static byte[] jpegOfSize(int size) {
+        byte[] bytes = new byte[size];
+        bytes[0] = (byte) 0xFF;
+        bytes[1] = (byte) 0xD8;
+        bytes[2] = (byte) 0xFF;
+        return bytes;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.domain.StorageBlob;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRenditionRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncStorageCleanupServiceTest {
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    @Mock
+    private NoteImageRepository noteImageRepository;
+
+    @Mock
+    private NoteImageRenditionRepository noteImageRenditionRepository;
+
+    @Mock
+    private LectureNoteRepository lectureNoteRepository;
+
+    @Mock
+    private StorageBlobRepository storageBlobRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AsyncStorageCleanupService cleanupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cleanupService, "bucketName", "test-bucket");
+        ReflectionTestUtils.setField(cleanupService, "retentionHours", 24);
+        ReflectionTestUtils.setField(cleanupService, "blobGcBatchSize", 100);
+    }
+
+    @Test
+    void cleanupOrphanedFiles_shouldKeepOffloadedTextAndBlobsAndDeleteOnlyOrphans() {
+        // Arrange
+        String textKey = "notes/5/recognized-1.md";
+        String blobKey = "blobs/abc123";
+        String orphanKey = "1/orphan.jpg";
+        when(s3AsyncClient.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+                        .contents(oldObject(textKey), oldObject(blobKey), oldObject(orphanKey))
+                        .build()));
+        when(storageBlobRepository.findExistingPaths(anyCollection())).thenReturn(Set.of(blobKey));
+        when(noteImageRepository.findExistingPaths(anyCollection())).thenReturn(Set.of());
+        when(noteImageRenditionRepository.findExistingPaths(anyCollection())).thenReturn(Set.of());
+        when(lectureNoteRepository.findExistingTextPaths(anyCollection())).thenReturn(Set.of(textKey));
+        when(s3AsyncClient.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteObjectsResponse.builder().build()));
+
+        // Act
+        cleanupService.cleanupOrphanedFiles();
+
+        // Assert
+        ArgumentCaptor<DeleteObjectsRequest> captor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3AsyncClient).deleteObjects(captor.capture());
+        assertThat(captor.getValue().delete().objects())
+                .extracting(ObjectIdentifier::key)
+                .containsExactly(orphanKey);
+    }
+
+    @Test
+    void purgeUnreferencedBlobs_shouldDeleteObjectAndRowOfUnreferencedBlob() {
+        // Arrange
+        StorageBlob blob = StorageBlob.builder()
+                .contentHash("abc123")
+                .storagePath("blobs/abc123")
+                .build();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(mock(TransactionStatus.class));
+        });
+        when(storageBlobRepository.findUnreferencedBatch(any(), eq(100))).thenReturn(List.of(blob));
+        when(s3AsyncClient.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteObjectResponse.builder().build()));
+
+        // Act
+        cleanupService.purgeUnreferencedBlobs();
+
+        // Assert
+        ArgumentCaptor<DeleteObjectRequest> captor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3AsyncClient).deleteObject(captor.capture());
+        assertThat(captor.getValue().key()).isEqualTo("blobs/abc123");
+        verify(storageBlobRepository).delete(blob);
+    }
+
+    private static S3Object oldObject(String key) {
+        return S3Object.builder()
+                .key(key)
+                .lastModified(Instant.now().minus(48, ChronoUnit.HOURS))
+                .build();
+    }
+}
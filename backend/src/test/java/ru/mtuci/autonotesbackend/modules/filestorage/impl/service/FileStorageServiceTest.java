@@ -3,8 +3,17 @@ package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,11 +24,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
@@ -29,6 +41,12 @@ class FileStorageServiceTest {
     @Mock
     private S3Client s3Client;
 
+    @Mock
+    private MultipartUploader multipartUploader;
+
+    @Mock
+    private StorageBlobRepository storageBlobRepository;
+
     @InjectMocks
     private FileStorageService fileStorageService;
 
@@ -37,6 +55,7 @@ class FileStorageServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(fileStorageService, "bucketName", bucketName);
+        ReflectionTestUtils.setField(fileStorageService, "singlePutLimit", DataSize.ofBytes(8));
     }
 
     @Test
@@ -50,7 +69,7 @@ class FileStorageServiceTest {
         String resultPath = fileStorageService.save(file, userId);
 
         // Assert
-        assertThat(resultPath).startsWith("100/").endsWith(".jpg");
+        assertThat(resultPath).isEqualTo("blobs/" + sha256Hex(jpegBytes));
 
         ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
         verify(s3Client).putObject(captor.capture(), any(RequestBody.class));
@@ -59,6 +78,26 @@ class FileStorageServiceTest {
         assertThat(request.bucket()).isEqualTo(bucketName);
         assertThat(request.key()).isEqualTo(resultPath);
         assertThat(request.contentType()).isEqualTo(MimeTypeUtils.IMAGE_JPEG_VALUE);
+        verify(storageBlobRepository).insertOrIncrementRefCount(sha256Hex(jpegBytes), resultPath, 4L);
+    }
+
+    @Test
+    void save_whenContentAlreadyStored_shouldSkipUploadAndReuseBlob() {
+        // Arrange
+        byte[] jpegBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01};
+        MockMultipartFile file = new MockMultipartFile("file", "same.jpg", MimeTypeUtils.IMAGE_JPEG_VALUE, jpegBytes);
+        String contentHash = sha256Hex(jpegBytes);
+
+        when(storageBlobRepository.incrementRefCount(contentHash)).thenReturn(1);
+
+        // Act
+        String resultPath = fileStorageService.save(file, 100L);
+
+        // Assert
+        assertThat(resultPath).isEqualTo("blobs/" + contentHash);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(storageBlobRepository, never()).insertOrIncrementRefCount(anyString(), anyString(), anyLong());
+        verifyNoInteractions(multipartUploader);
     }
 
     @Test
@@ -88,6 +127,93 @@ class FileStorageServiceTest {
         assertThrows(FileStorageException.class, () -> fileStorageService.save(file, 1L));
     }
 
+    @Test
+    void saveStream_whenShorterThanOnePart_shouldUploadWithSinglePut() {
+        byte[] jpegBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01};
+
+        String resultPath = fileStorageService.save(
+                new ByteArrayInputStream(jpegBytes), "photo.jpg", MimeTypeUtils.IMAGE_JPEG_VALUE, 100L);
+
+        assertThat(resultPath).isEqualTo("blobs/" + sha256Hex(jpegBytes));
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(captor.capture(), any(RequestBody.class));
+        assertThat(captor.getValue().contentLength()).isEqualTo(4L);
+        verifyNoInteractions(multipartUploader);
+    }
+
+    @Test
+    void saveStream_whenLongerThanOnePart_shouldUploadToStagingAndCopyToBlob() throws Exception {
+        // Arrange
+        byte[] jpegBytes = jpegOfSize(20);
+        ByteArrayOutputStream uploadedContent = new ByteArrayOutputStream();
+        doAnswer(invocation -> invocation.<InputStream>getArgument(2).transferTo(uploadedContent))
+                .when(multipartUploader)
+                .upload(anyString(), eq("image/jpeg"), any(InputStream.class));
+
+        // Act
+        String resultPath =
+                fileStorageService.save(new ByteArrayInputStream(jpegBytes), "photo.jpg", "image/jpeg", 100L);
+
+        // Assert
+        assertThat(resultPath).isEqualTo("blobs/" + sha256Hex(jpegBytes));
+        assertThat(uploadedContent.toByteArray()).isEqualTo(jpegBytes);
+
+        ArgumentCaptor<String> stagingCaptor = ArgumentCaptor.forClass(String.class);
+        verify(multipartUploader)
+                .upload(stagingCaptor.capture(), eq("image/jpeg"), any(InputStream.class));
+        assertThat(stagingCaptor.getValue()).startsWith("staging/100/");
+
+        ArgumentCaptor<CopyObjectRequest> copyCaptor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3Client).copyObject(copyCaptor.capture());
+        assertThat(copyCaptor.getValue().sourceKey()).isEqualTo(stagingCaptor.getValue());
+        assertThat(copyCaptor.getValue().destinationKey()).isEqualTo(resultPath);
+
+        verify(storageBlobRepository).insertOrIncrementRefCount(sha256Hex(jpegBytes), resultPath, 20L);
+        verify(s3Client).deleteObject(any(DeleteObjectRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void saveStream_whenStagedContentAlreadyStored_shouldDropStagingCopy() throws Exception {
+        // Arrange
+        byte[] jpegBytes = jpegOfSize(20);
+        doAnswer(invocation -> invocation.<InputStream>getArgument(2).readAllBytes())
+                .when(multipartUploader)
+                .upload(anyString(), anyString(), any(InputStream.class));
+        when(storageBlobRepository.incrementRefCount(sha256Hex(jpegBytes))).thenReturn(1);
+
+        // Act
+        String resultPath =
+                fileStorageService.save(new ByteArrayInputStream(jpegBytes), "photo.jpg", "image/jpeg", 100L);
+
+        // Assert
+        assertThat(resultPath).isEqualTo("blobs/" + sha256Hex(jpegBytes));
+        verify(s3Client, never()).copyObject(any(CopyObjectRequest.class));
+
+        ArgumentCaptor<DeleteObjectRequest> deleteCaptor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client).deleteObject(deleteCaptor.capture());
+        assertThat(deleteCaptor.getValue().key()).startsWith("staging/100/");
+    }
+
+    @Test
+    void save_whenFileLongerThanOnePart_shouldHashWhileUploadingAndReadFileOnce() throws Exception {
+        // Arrange
+        byte[] jpegBytes = jpegOfSize(20);
+        MockMultipartFile file = spy(new MockMultipartFile("file", "scan.jpg", "image/jpeg", jpegBytes));
+        doAnswer(invocation -> invocation.<InputStream>getArgument(2).readAllBytes())
+                .when(multipartUploader)
+                .upload(anyString(), eq("image/jpeg"), any(InputStream.class));
+
+        // Act
+        String resultPath = fileStorageService.save(file, 7L);
+
+        // Assert
+        assertThat(resultPath).isEqualTo("blobs/" + sha256Hex(jpegBytes));
+        verify(file, times(1)).getInputStream();
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(storageBlobRepository).insertOrIncrementRefCount(sha256Hex(jpegBytes), resultPath, 20L);
+    }
+
     @Test
     void delete_whenValidPath_shouldCallS3ClientDeleteObject() {
         String filePath = "1/some-uuid.jpg";
@@ -98,9 +224,36 @@ class FileStorageServiceTest {
         assertThat(captor.getValue().key()).isEqualTo(filePath);
     }
 
+    @Test
+    void delete_whenBlobPath_shouldOnlyReleaseReference() {
+        String filePath = "blobs/abc123";
+        when(storageBlobRepository.decrementRefCount(filePath)).thenReturn(1);
+
+        fileStorageService.delete(filePath);
+
+        verify(storageBlobRepository).decrementRefCount(filePath);
+        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
     @Test
     void delete_whenPathIsBlank_shouldDoNothing() {
         fileStorageService.delete("");
         verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
     }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] jpegOfSize(int size) {
+        byte[] bytes = new byte[size];
+        bytes[0] = (byte) 0xFF;
+        bytes[1] = (byte) 0xD8;
+        bytes[2] = (byte) 0xFF;
+        return bytes;
+    }
 }
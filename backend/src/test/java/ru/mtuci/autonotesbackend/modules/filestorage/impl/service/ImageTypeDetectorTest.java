@@ -0,0 +1,63 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ImageTypeDetectorTest {
+
+    private final ImageTypeDetector detector = new ImageTypeDetector();
+
+    @Test
+    void detect_shouldRecognizeSupportedSignatures() {
+        assertThat(detector.detect(bytes(0xFF, 0xD8, 0xFF, 0xE0))).isEqualTo("image/jpeg");
+        assertThat(detector.detect(bytes(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'))).isEqualTo("image/png");
+        assertThat(detector.detect(ascii("RIFF\0\0\0\0WEBPVP8 "))).isEqualTo("image/webp");
+        assertThat(detector.detect(ascii("\0\0\0\u0018ftypheic"))).isEqualTo("image/heic");
+        assertThat(detector.detect(ascii("\0\0\0\u0018ftypmif1"))).isEqualTo("image/heif");
+        assertThat(detector.detect(ascii("GIF89a\u0001\0\u0001\0"))).isEqualTo("image/gif");
+        assertThat(detector.detect(bytes('B', 'M', 0x36, 0x10, 0, 0, 0, 0, 0, 0, 0x36, 0))).isEqualTo("image/bmp");
+    }
+
+    @Test
+    void detect_whenSignatureUnknown_shouldFallBackToTika() {
+        assertThat(detector.detect(ascii("This is not an image"))).isEqualTo("text/plain");
+        assertThat(detector.detect(ascii("%PDF-1.7\n%âã"))).isEqualTo("application/pdf");
+    }
+
+    @Test
+    void detectSignature_whenFtypBrandIsNotHeif_shouldReturnNull() {
+        assertThat(ImageTypeDetector.detectSignature(ascii("\0\0\0\u0018ftypisom"), 12)).isNull();
+    }
+
+    @Test
+    void detect_fromStream_shouldLeaveStreamAtStart() throws IOException {
+        // Arrange
+        byte[] content = bytes(0xFF, 0xD8, 0xFF, 0x01, 0x02);
+        InputStream is = new BufferedInputStream(new ByteArrayInputStream(content));
+
+        // Act
+        String detectedType = detector.detect(is);
+
+        // Assert
+        assertThat(detectedType).isEqualTo("image/jpeg");
+        assertThat(is.readAllBytes()).isEqualTo(content);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
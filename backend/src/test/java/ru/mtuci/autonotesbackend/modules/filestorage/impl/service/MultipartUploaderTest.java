@@ -0,0 +1,135 @@
+package ru.mtuci.autonotesbackend.modules.filestorage.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@ExtendWith(MockitoExtension.class)
+class MultipartUploaderTest {
+
+    private static final int PART_SIZE = (int) DataSize.ofMegabytes(5).toBytes();
+
+    @Mock
+    private S3Client s3Client;
+
+    private MultipartUploader multipartUploader;
+
+    @BeforeEach
+    void setUp() {
+        multipartUploader = new MultipartUploader(s3Client, DataSize.ofBytes(PART_SIZE), 2, 3);
+        ReflectionTestUtils.setField(multipartUploader, "bucketName", "test-bucket");
+
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder()
+                        .uploadId("upload-1")
+                        .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        multipartUploader.destroy();
+    }
+
+    @Test
+    void upload_shouldSplitContentIntoOrderedParts() throws Exception {
+        // Arrange
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(invocation -> UploadPartResponse.builder()
+                        .eTag("etag-" + invocation.<UploadPartRequest>getArgument(0).partNumber())
+                        .build());
+
+        // Act
+        multipartUploader.upload("1/scan.jpg", "image/jpeg", new ByteArrayInputStream(new byte[PART_SIZE * 2 + 4]));
+
+        // Assert
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(captor.capture());
+        List<CompletedPart> parts = captor.getValue().multipartUpload().parts();
+        assertThat(parts).extracting(CompletedPart::partNumber).containsExactly(1, 2, 3);
+        assertThat(parts).extracting(CompletedPart::eTag).containsExactly("etag-1", "etag-2", "etag-3");
+        verify(s3Client, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    void upload_withFirstPart_shouldSendItAsPartOneAndStreamTheRest() throws Exception {
+        // Arrange
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+
+        // Act
+        multipartUploader.upload(
+                "1/scan.jpg", "image/jpeg", new byte[PART_SIZE], new ByteArrayInputStream(new byte[4]));
+
+        // Assert
+        ArgumentCaptor<UploadPartRequest> captor = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(2)).uploadPart(captor.capture(), any(RequestBody.class));
+        assertThat(captor.getAllValues())
+                .extracting(UploadPartRequest::contentLength)
+                .containsExactlyInAnyOrder((long) PART_SIZE, 4L);
+    }
+
+    @Test
+    void upload_whenPartFailsOnce_shouldRetryOnlyThatPart() throws Exception {
+        // Arrange
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(SdkException.builder().message("Connection reset").build())
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+
+        // Act
+        multipartUploader.upload("1/scan.jpg", "image/jpeg", new ByteArrayInputStream(new byte[8]));
+
+        // Assert
+        verify(s3Client, times(2)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void upload_whenPartExhaustsAttempts_shouldAbortUpload() {
+        // Arrange
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(SdkException.builder().message("S3 Down").build());
+
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[8]);
+
+        // Act & Assert
+        assertThatThrownBy(() -> multipartUploader.upload("1/scan.jpg", "image/jpeg", content))
+                .isInstanceOf(SdkException.class);
+
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void constructor_whenPartSizeBelowStorageMinimum_shouldReject() {
+        // Act & Assert
+        assertThatThrownBy(() -> new MultipartUploader(s3Client, DataSize.ofMegabytes(4), 2, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.test.util.ReflectionTestUtils;
 import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+import ru.mtuci.autonotesbackend.modules.filestorage.impl.repository.StorageBlobRepository;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
@@ -38,6 +39,9 @@ class StorageCleanupServiceTest extends BaseIntegrationTest {
     @Autowired
     private LectureNoteRepository noteRepository;
 
+    @Autowired
+    private StorageBlobRepository storageBlobRepository;
+
     @Value("${aws.s3.bucket}")
     private String bucketName;
 
@@ -99,6 +103,34 @@ class StorageCleanupServiceTest extends BaseIntegrationTest {
         assertThat(isFileExistsInS3(linkedKey)).isTrue();
     }
 
+    @Test
+    void shouldPurgeUnreferencedBlob_WhenRetentionTimePassed() {
+        String blobKey = "blobs/unreferenced-blob";
+        createFileInS3(blobKey);
+        storageBlobRepository.insertOrIncrementRefCount("unreferenced-blob", blobKey, 13);
+        storageBlobRepository.decrementRefCount(blobKey);
+
+        ReflectionTestUtils.setField(cleanupService, "retentionHours", 0);
+        cleanupService.purgeUnreferencedBlobs();
+
+        assertThat(isFileExistsInS3(blobKey)).isFalse();
+        assertThat(storageBlobRepository.existsById("unreferenced-blob")).isFalse();
+    }
+
+    @Test
+    void shouldKeepReferencedBlob_EvenIfOld() {
+        String blobKey = "blobs/referenced-blob";
+        createFileInS3(blobKey);
+        storageBlobRepository.insertOrIncrementRefCount("referenced-blob", blobKey, 13);
+
+        ReflectionTestUtils.setField(cleanupService, "retentionHours", 0);
+        cleanupService.purgeUnreferencedBlobs();
+        cleanupService.cleanupOrphanedFiles();
+
+        assertThat(isFileExistsInS3(blobKey)).isTrue();
+        assertThat(storageBlobRepository.existsById("referenced-blob")).isTrue();
+    }
+
     private void createFileInS3(String key) {
         s3Client.putObject(
                 PutObjectRequest.builder().bucket(bucketName).key(key).build(),
@@ -0,0 +1,208 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadPageRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.user.api.dto.AuthRequestDto;
+import ru.mtuci.autonotesbackend.modules.user.api.dto.AuthResponseDto;
+import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
+import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
+
+class DirectUploadIntegrationTest extends BaseIntegrationTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LectureNoteRepository noteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void presignAndFinalize_shouldCreateNoteFromDirectlyUploadedImage() throws Exception {
+        // Arrange
+        createUserInDb("direct-user", "direct@test.com");
+        String token = loginAndGetToken("direct-user");
+
+        PresignedPageDto page = presign(token, "page1.jpg", MediaType.IMAGE_JPEG_VALUE);
+        assertThat(page.getObjectKey()).startsWith("uploads/");
+
+        putToStorage(page, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01});
+
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Direct Lecture")
+                .pages(List.of(new FinalizePageDto(page.getObjectKey(), "page1.jpg")))
+                .build();
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/notes/uploads/finalize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title").value("Direct Lecture"))
+                .andExpect(jsonPath("$.images", hasSize(1)))
+                .andReturn();
+
+        // Assert
+        NoteDto noteDto = objectMapper.readValue(result.getResponse().getContentAsString(), NoteDto.class);
+        LectureNote savedNote = noteRepository.findById(noteDto.getId()).orElseThrow();
+        assertThat(savedNote.getImages().getFirst().getFileStoragePath()).isEqualTo(page.getObjectKey());
+    }
+
+    @Test
+    void finalize_whenPageIsAlreadyAttached_shouldReturnConflict() throws Exception {
+        createUserInDb("direct-twice", "direct-twice@test.com");
+        String token = loginAndGetToken("direct-twice");
+
+        PresignedPageDto page = presign(token, "page1.jpg", MediaType.IMAGE_JPEG_VALUE);
+        putToStorage(page, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01});
+
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Twice")
+                .pages(List.of(new FinalizePageDto(page.getObjectKey(), "page1.jpg")))
+                .build();
+        String body = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/v1/notes/uploads/finalize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/notes/uploads/finalize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void finalize_whenUploadedBytesAreNotImage_shouldReturnBadRequest() throws Exception {
+        createUserInDb("direct-fake", "direct-fake@test.com");
+        String token = loginAndGetToken("direct-fake");
+
+        PresignedPageDto page = presign(token, "virus.jpg", MediaType.IMAGE_JPEG_VALUE);
+        putToStorage(page, "This is not an image".getBytes());
+
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Fake")
+                .pages(List.of(new FinalizePageDto(page.getObjectKey(), "virus.jpg")))
+                .build();
+
+        mockMvc.perform(post("/api/v1/notes/uploads/finalize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void finalize_whenObjectKeyBelongsToAnotherUser_shouldReturnBadRequest() throws Exception {
+        createUserInDb("direct-owner", "direct-owner@test.com");
+        createUserInDb("direct-thief", "direct-thief@test.com");
+        String ownerToken = loginAndGetToken("direct-owner");
+        String thiefToken = loginAndGetToken("direct-thief");
+
+        PresignedPageDto page = presign(ownerToken, "page1.jpg", MediaType.IMAGE_JPEG_VALUE);
+        putToStorage(page, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01});
+
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Stolen")
+                .pages(List.of(new FinalizePageDto(page.getObjectKey(), "page1.jpg")))
+                .build();
+
+        mockMvc.perform(post("/api/v1/notes/uploads/finalize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", "Bearer " + thiefToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void presign_whenContentTypeIsNotImage_shouldReturnBadRequest() throws Exception {
+        createUserInDb("direct-pdf", "direct-pdf@test.com");
+        String token = loginAndGetToken("direct-pdf");
+
+        PresignUploadRequestDto request = new PresignUploadRequestDto(
+                List.of(new UploadPageRequestDto("doc.pdf", MediaType.APPLICATION_PDF_VALUE)));
+
+        mockMvc.perform(post("/api/v1/notes/uploads/presign")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private PresignedPageDto presign(String token, String fileName, String contentType) throws Exception {
+        PresignUploadRequestDto request =
+                new PresignUploadRequestDto(List.of(new UploadPageRequestDto(fileName, contentType)));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/notes/uploads/presign")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andReturn();
+
+        List<PresignedPageDto> pages = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<List<PresignedPageDto>>() {});
+        return pages.getFirst();
+    }
+
+    private void putToStorage(PresignedPageDto page, byte[] content) throws Exception {
+        HttpResponse<Void> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(page.getUploadUrl()))
+                        .header("Content-Type", MediaType.IMAGE_JPEG_VALUE)
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    private User createUserInDb(String username, String email) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .build());
+    }
+
+    private String loginAndGetToken(String username) throws Exception {
+        AuthRequestDto authRequest = new AuthRequestDto(username, "password123");
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andReturn();
+        return objectMapper
+                .readValue(result.getResponse().getContentAsString(), AuthResponseDto.class)
+                .getToken();
+    }
+}
@@ -5,10 +5,16 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
@@ -121,6 +127,57 @@ class NoteControllerTest extends BaseIntegrationTest {
                 .build());
     }
 
+    @Test
+    void uploadNoteStreaming_shouldCreateNoteFromRawMultipartBody() throws Exception {
+        createUserInDb("stream-user", "stream@test.com");
+        String token = loginAndGetToken("stream-user");
+
+        String boundary = "----autonotes-boundary";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                        + "Content-Disposition: form-data; name=\"title\"\r\n\r\n"
+                        + "Streamed Lecture\r\n"
+                        + "--" + boundary + "\r\n"
+                        + "Content-Disposition: form-data; name=\"files\"; filename=\"page1.jpg\"\r\n"
+                        + "Content-Type: image/jpeg\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01});
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(post("/api/v1/notes/stream")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.toByteArray())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title").value("Streamed Lecture"))
+                .andExpect(jsonPath("$.images", hasSize(1)))
+                .andExpect(jsonPath("$.images[0].originalFileName").value("page1.jpg"));
+    }
+
+    @Test
+    void uploadNoteStreaming_whenTitleIsTooLong_shouldRejectBeforeStoringFiles() throws Exception {
+        createUserInDb("stream-long", "stream-long@test.com");
+        String token = loginAndGetToken("stream-long");
+
+        String boundary = "----autonotes-boundary";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                        + "Content-Disposition: form-data; name=\"title\"\r\n\r\n"
+                        + "x".repeat(256) + "\r\n"
+                        + "--" + boundary + "\r\n"
+                        + "Content-Disposition: form-data; name=\"files\"; filename=\"page1.jpg\"\r\n"
+                        + "Content-Type: image/jpeg\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01});
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(post("/api/v1/notes/stream")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.toByteArray())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllNotes_shouldReturnUserNotes() throws Exception {
         User user = createUserInDb("list-user", "list@test.com");
@@ -131,8 +188,104 @@ class NoteControllerTest extends BaseIntegrationTest {
 
         mockMvc.perform(get("/api/v1/notes").header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].title").exists());
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").exists())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getAllNotes_shouldPaginateWithCursorFromNewestToOldest() throws Exception {
+        User user = createUserInDb("page-user", "page@test.com");
+        String token = loginAndGetToken("page-user");
+
+        createNoteInDb(user, "Oldest");
+        createNoteInDb(user, "Middle");
+        createNoteInDb(user, "Newest");
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/notes")
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").value("Newest"))
+                .andExpect(jsonPath("$.items[1].title").value("Middle"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = objectMapper
+                .readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor")
+                .asText();
+
+        mockMvc.perform(get("/api/v1/notes")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title").value("Oldest"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/notes")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchNotes_shouldFindOwnNotesByWordFormsAndRejectBlankQuery() throws Exception {
+        User user = createUserInDb("search-user", "search@test.com");
+        User stranger = createUserInDb("search-stranger", "stranger@test.com");
+        String token = loginAndGetToken("search-user");
+
+        createNoteInDb(user, "Интегралы и ряды");
+        createNoteInDb(user, "История науки");
+        createNoteInDb(stranger, "Интегралы для чужих");
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/v1/notes/search")
+                        .param("q", "интеграл")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].note.title").value("Интегралы и ряды"))
+                .andExpect(jsonPath("$.items[0].rank").isNumber())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/notes/search")
+                        .param("q", "интгралы")
+                        .param("mode", "FUZZY")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].note.title").value("Интегралы и ряды"));
+
+        mockMvc.perform(get("/api/v1/notes/search").param("q", "  ").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/notes/search")
+                        .param("q", "интеграл")
+                        .param("mode", "SOUNDEX")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamStatusEvents_shouldOpenEventStreamsUpToPerUserLimit() throws Exception {
+        createUserInDb("events-user", "events@test.com");
+        String token = loginAndGetToken("events-user");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/notes/events")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+        }
+
+        mockMvc.perform(get("/api/v1/notes/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isTooManyRequests());
     }
 
     @Test
@@ -177,6 +330,29 @@ class NoteControllerTest extends BaseIntegrationTest {
         assertThat(deletedAt).isNotNull();
     }
 
+    @Test
+    void getRecognizedText_withRange_shouldReturnPartialContent() throws Exception {
+        User user = createUserInDb("text-user", "text@test.com");
+        String token = loginAndGetToken("text-user");
+        LectureNote note = createNoteInDb(user, "Text Note");
+        note.setRecognizedText("0123456789");
+        noteRepository.save(note);
+
+        mockMvc.perform(get("/api/v1/notes/" + note.getId() + "/text")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get("/api/v1/notes/" + note.getId() + "/text")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Range", "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
     private User createUserInDb(String username, String email) {
         return userRepository.save(User.builder()
                 .username(username)
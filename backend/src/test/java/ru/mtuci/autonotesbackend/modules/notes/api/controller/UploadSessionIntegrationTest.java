@@ -0,0 +1,186 @@
+package ru.mtuci.autonotesbackend.modules.notes.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionRepository;
+import ru.mtuci.autonotesbackend.modules.user.api.dto.AuthRequestDto;
+import ru.mtuci.autonotesbackend.modules.user.api.dto.AuthResponseDto;
+import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
+import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
+
+class UploadSessionIntegrationTest extends BaseIntegrationTest {
+
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LectureNoteRepository noteRepository;
+
+    @Autowired
+    private UploadSessionRepository sessionRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void uploadSession_whenChunksResumedAfterGap_shouldCreateNoteOnCommit() throws Exception {
+        // Arrange
+        createUserInDb("session-user", "session@test.com");
+        String token = loginAndGetToken("session-user");
+
+        UploadSessionDto session = createSession(token, "Resumable Lecture");
+        int chunkSize = CHUNK_SIZE;
+        assertThat(session.getChunkSize()).isEqualTo(chunkSize);
+        byte[] image = jpegOfSize(CHUNK_SIZE + 4);
+        String sessionPath = "/api/v1/notes/upload-sessions/" + session.getId();
+
+        // Act
+        putChunk(token, session, 0, Arrays.copyOfRange(image, 0, chunkSize))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(chunkSize));
+
+        putChunk(token, session, 0, Arrays.copyOfRange(image, 0, chunkSize)).andExpect(status().isConflict());
+
+        mockMvc.perform(get(sessionPath).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.files[0].receivedBytes").value(chunkSize));
+
+        putChunk(token, session, chunkSize, Arrays.copyOfRange(image, chunkSize, image.length))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(image.length));
+
+        MvcResult result = mockMvc.perform(post(sessionPath + "/commit").header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title").value("Resumable Lecture"))
+                .andExpect(jsonPath("$.images", hasSize(1)))
+                .andReturn();
+
+        // Assert
+        NoteDto noteDto = objectMapper.readValue(result.getResponse().getContentAsString(), NoteDto.class);
+        LectureNote savedNote = noteRepository.findById(noteDto.getId()).orElseThrow();
+        assertThat(savedNote.getImages().getFirst().getFileStoragePath()).startsWith("uploads/");
+
+        mockMvc.perform(post(sessionPath + "/commit").header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(noteDto.getId()));
+    }
+
+    @Test
+    void commit_whenFileIsIncomplete_shouldReturnConflict() throws Exception {
+        createUserInDb("session-partial", "session-partial@test.com");
+        String token = loginAndGetToken("session-partial");
+
+        UploadSessionDto session = createSession(token, "Partial");
+
+        mockMvc.perform(post("/api/v1/notes/upload-sessions/" + session.getId() + "/commit")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void abort_shouldDeleteSession() throws Exception {
+        createUserInDb("session-abort", "session-abort@test.com");
+        String token = loginAndGetToken("session-abort");
+
+        UploadSessionDto session = createSession(token, "Aborted");
+
+        mockMvc.perform(delete("/api/v1/notes/upload-sessions/" + session.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        assertThat(sessionRepository.findById(session.getId())).isEmpty();
+    }
+
+    @Test
+    void getSession_whenOwnedByAnotherUser_shouldReturnNotFound() throws Exception {
+        createUserInDb("session-owner", "session-owner@test.com");
+        createUserInDb("session-thief", "session-thief@test.com");
+        String ownerToken = loginAndGetToken("session-owner");
+        String thiefToken = loginAndGetToken("session-thief");
+
+        UploadSessionDto session = createSession(ownerToken, "Private");
+
+        mockMvc.perform(get("/api/v1/notes/upload-sessions/" + session.getId())
+                        .header("Authorization", "Bearer " + thiefToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private UploadSessionDto createSession(String token, String title) throws Exception {
+        UploadSessionFileRequestDto file =
+                new UploadSessionFileRequestDto("page1.jpg", MediaType.IMAGE_JPEG_VALUE, CHUNK_SIZE + 4);
+        CreateUploadSessionRequestDto request = new CreateUploadSessionRequestDto(title, List.of(file));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/notes/upload-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), UploadSessionDto.class);
+    }
+
+    private ResultActions putChunk(String token, UploadSessionDto session, long offset, byte[] chunk)
+            throws Exception {
+        return mockMvc.perform(put("/api/v1/notes/upload-sessions/" + session.getId() + "/files/0")
+                .param("offset", String.valueOf(offset))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_LENGTH, chunk.length)
+                .content(chunk)
+                .header("Authorization", "Bearer " + token));
+    }
+
+    private static byte[] jpegOfSize(int size) {
+        byte[] image = new byte[size];
+        image[0] = (byte) 0xFF;
+        image[1] = (byte) 0xD8;
+        image[2] = (byte) 0xFF;
+        image[3] = 0x01;
+        return image;
+    }
+
+    private User createUserInDb(String username, String email) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .build());
+    }
+
+    private String loginAndGetToken(String username) throws Exception {
+        AuthRequestDto authRequest = new AuthRequestDto(username, "password123");
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andReturn();
+        return objectMapper
+                .readValue(result.getResponse().getContentAsString(), AuthResponseDto.class)
+                .getToken();
+    }
+}
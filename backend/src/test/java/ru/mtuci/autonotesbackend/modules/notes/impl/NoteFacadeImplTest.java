@@ -6,6 +6,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +14,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MultipartFile;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDetailDto;
 import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.NoteMapper;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.DirectUploadService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteQueryService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteRenditionService;
 import ru.mtuci.autonotesbackend.modules.notes.impl.service.NoteService;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.StreamingNoteUploadService;
 
 @ExtendWith(MockitoExtension.class)
 class NoteFacadeImplTest {
@@ -25,9 +32,21 @@ class NoteFacadeImplTest {
     @Mock
     private NoteService noteService;
 
+    @Mock
+    private NoteQueryService noteQueryService;
+
     @Mock
     private NoteMapper noteMapper;
 
+    @Mock
+    private StreamingNoteUploadService streamingNoteUploadService;
+
+    @Mock
+    private DirectUploadService directUploadService;
+
+    @Mock
+    private NoteRenditionService renditionService;
+
     @InjectMocks
     private NoteFacadeImpl noteFacade;
 
@@ -54,18 +73,55 @@ class NoteFacadeImplTest {
     }
 
     @Test
-    void findAllUserNotes_shouldDelegateToService() {
+    void createNoteStreaming_shouldDelegateToStreamingServiceAndMapper() {
+        // Arrange
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        LectureNote noteEntity = new LectureNote();
+        NoteDto expectedDto = new NoteDto();
+
+        when(streamingNoteUploadService.createNote(request, 1L)).thenReturn(noteEntity);
+        when(noteMapper.toDto(noteEntity)).thenReturn(expectedDto);
+
+        // Act
+        NoteDto result = noteFacade.createNoteStreaming(request, 1L);
+
+        // Assert
+        assertThat(result).isSameAs(expectedDto);
+        verify(streamingNoteUploadService).createNote(request, 1L);
+    }
+
+    @Test
+    void finalizeUpload_shouldDelegateToDirectUploadServiceAndMapper() {
+        // Arrange
+        FinalizeUploadRequestDto request = new FinalizeUploadRequestDto();
+        LectureNote noteEntity = new LectureNote();
+        NoteDto expectedDto = new NoteDto();
+
+        when(directUploadService.finalizeUpload(request, 1L)).thenReturn(noteEntity);
+        when(noteMapper.toDto(noteEntity)).thenReturn(expectedDto);
+
+        // Act
+        NoteDto result = noteFacade.finalizeUpload(request, 1L);
+
+        // Assert
+        assertThat(result).isSameAs(expectedDto);
+    }
+
+    @Test
+    void findUserNotes_shouldDelegateToQueryServiceAndAttachUrls() {
         // Arrange
         Long userId = 1L;
-        List<NoteDto> expectedNotes = List.of(new NoteDto(), new NoteDto());
-        when(noteService.findAllDtosByUserId(userId)).thenReturn(expectedNotes);
+        NotePageDto expectedPage = new NotePageDto();
+        expectedPage.setItems(List.of(new NoteDto(), new NoteDto()));
+        when(noteQueryService.findPageByUserId(userId, "cursor", 10)).thenReturn(expectedPage);
 
         // Act
-        List<NoteDto> result = noteFacade.findAllUserNotes(userId);
+        NotePageDto result = noteFacade.findUserNotes(userId, "cursor", 10);
 
         // Assert
-        assertThat(result).isSameAs(expectedNotes);
-        verify(noteService).findAllDtosByUserId(userId);
+        assertThat(result).isSameAs(expectedPage);
+        verify(noteService).findPageByUserId(userId, "cursor", 10);
+        verify(renditionService).attachUrls(expectedPage.getItems());
     }
 
     @Test
@@ -86,6 +142,7 @@ class NoteFacadeImplTest {
         assertThat(result).isSameAs(expectedDetailDto);
         verify(noteService).findByIdAndUserId(noteId, userId);
         verify(noteMapper).toDetailDto(noteEntity);
+        verify(renditionService).attachImageUrls(expectedDetailDto.getImages());
     }
 
     @Test
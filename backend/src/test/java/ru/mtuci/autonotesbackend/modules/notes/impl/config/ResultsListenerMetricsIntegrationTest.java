@@ -0,0 +1,43 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+
+@TestPropertySource(
+        properties = {
+            "app.notes.results.concurrency=3",
+            "app.notes.results.max-concurrency=6",
+            "app.notes.results.prefetch=40"
+        })
+class ResultsListenerMetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void resultsListener_shouldStartConfiguredConsumersAndReportThem() {
+        // Assert
+        assertThat(gauge("notes.results.listener.consumers.min")).isEqualTo(3);
+        assertThat(gauge("notes.results.listener.consumers.max")).isEqualTo(6);
+        assertThat(gauge("notes.results.listener.prefetch")).isEqualTo(40);
+        assertThat(gauge("notes.results.queue.depth")).isGreaterThanOrEqualTo(0);
+        await().atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(gauge("notes.results.listener.consumers.active"))
+                        .isGreaterThanOrEqualTo(3));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry
+                .get(name)
+                .tag("queue", RabbitMqConfig.QUEUE_NOTES_RESULTS)
+                .gauge()
+                .value();
+    }
+}
@@ -3,13 +3,16 @@ package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import jakarta.persistence.EntityManager;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import ru.mtuci.autonotesbackend.BaseIntegrationTest;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem;
 import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
 import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
 
@@ -63,4 +66,68 @@ class LectureNoteRepositoryTest extends BaseIntegrationTest {
                 jdbcTemplate.queryForObject("SELECT count(*) FROM lecture_notes WHERE id = ?", Integer.class, noteId);
         assertThat(count).isEqualTo(0);
     }
+
+    @Test
+    void save_withLongRecognizedText_shouldStoreItLz4Compressed() {
+        // Arrange
+        User user = userRepository.save(User.builder()
+                .username("lz4_user")
+                .email("lz4@test.com")
+                .password("pass")
+                .build());
+
+        String transcript = "# Lecture\n" + "Recognized line of the lecture transcript.\n".repeat(500);
+        LectureNote note = lectureNoteRepository.save(LectureNote.builder()
+                .user(user)
+                .title("Long transcript")
+                .status(NoteStatus.COMPLETED)
+                .recognizedText(transcript)
+                .summaryText("Short summary.")
+                .build());
+
+        // Act
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        String compression = jdbcTemplate.queryForObject(
+                "SELECT pg_column_compression(recognized_text) FROM lecture_notes WHERE id = ?",
+                String.class,
+                note.getId());
+        assertThat(compression).isEqualTo("lz4");
+        assertThat(lectureNoteRepository.findById(note.getId()))
+                .get()
+                .extracting(LectureNote::getRecognizedText)
+                .isEqualTo(transcript);
+    }
+
+    @Test
+    void findListPage_shouldSeekByCreatedAtAndId() {
+        // Arrange
+        User user = userRepository.save(User.builder()
+                .username("page_user")
+                .email("page@test.com")
+                .password("pass")
+                .build());
+        for (int i = 0; i < 3; i++) {
+            lectureNoteRepository.save(LectureNote.builder()
+                    .user(user)
+                    .title("Note " + i)
+                    .status(NoteStatus.COMPLETED)
+                    .recognizedText("text " + i)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<NoteListItem> firstPage = lectureNoteRepository.findListPage(user.getId(), PageRequest.of(0, 2));
+        NoteListItem last = firstPage.getLast();
+        List<NoteListItem> nextPage = lectureNoteRepository.findListPageAfter(
+                user.getId(), last.createdAt(), last.id(), PageRequest.of(0, 2));
+
+        // Assert
+        assertThat(firstPage).extracting(NoteListItem::title).containsExactly("Note 2", "Note 1");
+        assertThat(nextPage).extracting(NoteListItem::title).containsExactly("Note 0");
+    }
 }
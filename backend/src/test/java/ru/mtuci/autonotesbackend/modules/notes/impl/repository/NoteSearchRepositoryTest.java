@@ -0,0 +1,174 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchCursor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchHit;
+import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
+import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
+
+class NoteSearchRepositoryTest extends BaseIntegrationTest {
+
+    @Autowired
+    private NoteSearchRepository noteSearchRepository;
+
+    @Autowired
+    private LectureNoteRepository lectureNoteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("fts_user")
+                .email("fts@test.com")
+                .password("pass")
+                .build());
+    }
+
+    @Test
+    void searchFullText_shouldMatchRussianAndEnglishWordFormsAndRankTitleFirst() {
+        // Arrange
+        LectureNote inTitle = saveNote("Определённые интегралы", "Вводная лекция.");
+        LectureNote inText = saveNote("Лекция 5", "Сегодня считаем интеграл по частям.");
+        LectureNote english = saveNote("Calculus", "Integrals of rational functions.");
+        saveNote("История", "Ничего общего.");
+        entityManager.flush();
+
+        // Act
+        List<NoteSearchHit> russian = noteSearchRepository.searchFullText(user.getId(), "интегралом", null, 10);
+        List<NoteSearchHit> latin = noteSearchRepository.searchFullText(user.getId(), "integral", null, 10);
+
+        // Assert
+        assertThat(russian).extracting(hit -> hit.note().id()).containsExactly(inTitle.getId(), inText.getId());
+        assertThat(latin).extracting(hit -> hit.note().id()).containsExactly(english.getId());
+        assertThat(russian.get(1).highlight()).contains("<mark>интеграл</mark>");
+    }
+
+    @Test
+    void searchFullText_whenRecognizedTextExceedsTsvectorLimit_shouldStoreNoteAndIndexItsBeginning() {
+        // Arrange
+        StringBuilder text = new StringBuilder("Теорема Коши.");
+        for (int i = 0; i < 200_000; i++) {
+            text.append(" w").append(i);
+        }
+        LectureNote huge = saveNote("Лекция 9", text.toString());
+        entityManager.flush();
+
+        // Act
+        List<NoteSearchHit> hits = noteSearchRepository.searchFullText(user.getId(), "теорема", null, 10);
+
+        // Assert
+        assertThat(hits).extracting(hit -> hit.note().id()).containsExactly(huge.getId());
+    }
+
+    @Test
+    void searchFuzzy_shouldTolerateOcrTyposAndHighlightEscapedText() {
+        // Arrange
+        LectureNote noisy = saveNote("Лекция 7", "<b>Находим</b> праизводная сложной функции.");
+        saveNote("Лекция 8", "Пределы последовательностей.");
+        entityManager.flush();
+
+        // Act
+        List<NoteSearchHit> hits = noteSearchRepository.searchFuzzy(
+                user.getId(), "производная", new String[] {"производная"}, 0.5f, null, 10);
+
+        // Assert
+        assertThat(hits).extracting(hit -> hit.note().id()).containsExactly(noisy.getId());
+        assertThat(hits.getFirst().rank()).isBetween(0.5f, 1f);
+        assertThat(hits.getFirst().highlight())
+                .contains("<mark>праизводная</mark>")
+                .contains("&lt;b&gt;")
+                .doesNotContain("<b>");
+    }
+
+    @Test
+    void searchFullText_withCursor_shouldContinueAfterLastHitAndSkipDeletedNotes() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            saveNote("Матрицы " + i, "Ранг матрицы.");
+        }
+        LectureNote deleted = saveNote("Матрицы удалены", "Ранг матрицы.");
+        entityManager.flush();
+        lectureNoteRepository.delete(deleted);
+        entityManager.flush();
+
+        // Act
+        List<NoteSearchHit> firstPage = noteSearchRepository.searchFullText(user.getId(), "матрица", null, 2);
+        List<NoteSearchHit> nextPage = noteSearchRepository.searchFullText(
+                user.getId(), "матрица", NoteSearchCursor.of(firstPage.getLast()), 2);
+
+        // Assert
+        assertThat(firstPage).hasSize(2);
+        assertThat(nextPage).hasSize(1);
+        assertThat(nextPage.getFirst().note().id()).isNotIn(firstPage.stream()
+                .map(hit -> hit.note().id())
+                .toList());
+        assertThat(nextPage).noneMatch(hit -> hit.note().id().equals(deleted.getId()));
+    }
+
+    @Test
+    void trigramIndexes_shouldServeFuzzyMatch() {
+        // Arrange
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        // Act
+        List<String> plan = jdbcTemplate.queryForList(
+                """
+                EXPLAIN SELECT id FROM lecture_notes
+                WHERE user_id = 1 AND deleted_at IS NULL
+                  AND ('производная' <% title OR 'производная' <% recognized_text)
+                """,
+                String.class);
+
+        // Assert
+        assertThat(String.join("\n", plan))
+                .contains("idx_lecture_notes_title_trgm")
+                .contains("idx_lecture_notes_text_trgm");
+    }
+
+    @Test
+    void searchIndex_shouldServeUserScopedMatch() {
+        // Arrange
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        // Act
+        List<String> plan = jdbcTemplate.queryForList(
+                """
+                EXPLAIN SELECT id FROM lecture_notes
+                WHERE user_id = 1 AND deleted_at IS NULL
+                  AND search_vector @@ websearch_to_tsquery('notes_ru_en', 'интеграл')
+                """,
+                String.class);
+
+        // Assert
+        assertThat(String.join("\n", plan)).contains("idx_lecture_notes_search");
+    }
+
+    private LectureNote saveNote(String title, String recognizedText) {
+        return lectureNoteRepository.save(LectureNote.builder()
+                .user(user)
+                .title(title)
+                .status(NoteStatus.COMPLETED)
+                .recognizedText(recognizedText)
+                .build());
+    }
+}
@@ -0,0 +1,141 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.PresignedUpload;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.FinalizeUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignUploadRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.PresignedPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadPageRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.PageAlreadyAttachedException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DirectUploadServiceTest {
+
+    @Mock
+    private FileStorageFacade fileStorageFacade;
+
+    @Mock
+    private NoteImageRepository noteImageRepository;
+
+    @Mock
+    private NoteService noteService;
+
+    @Spy
+    private NoteUploadExecutor uploadExecutor = new NoteUploadExecutor(2, 4);
+
+    @InjectMocks
+    private DirectUploadService directUploadService;
+
+    @Test
+    void presignUploads_shouldIssueOneUrlPerPageInOrder() {
+        // Arrange
+        PresignUploadRequestDto request = new PresignUploadRequestDto(List.of(
+                new UploadPageRequestDto("p1.jpg", "image/jpeg"), new UploadPageRequestDto("p2.png", "image/png")));
+        Instant expiresAt = Instant.now().plusSeconds(900);
+
+        when(fileStorageFacade.presignUpload("p1.jpg", "image/jpeg", 1L))
+                .thenReturn(new PresignedUpload("uploads/1/a.jpg", "http://minio/a", expiresAt));
+        when(fileStorageFacade.presignUpload("p2.png", "image/png", 1L))
+                .thenReturn(new PresignedUpload("uploads/1/b.png", "http://minio/b", expiresAt));
+
+        // Act
+        List<PresignedPageDto> pages = directUploadService.presignUploads(request, 1L);
+
+        // Assert
+        assertThat(pages)
+                .extracting(PresignedPageDto::getObjectKey)
+                .containsExactly("uploads/1/a.jpg", "uploads/1/b.png");
+        assertThat(pages)
+                .extracting(PresignedPageDto::getUploadUrl)
+                .containsExactly("http://minio/a", "http://minio/b");
+    }
+
+    @Test
+    void finalizeUpload_whenAllPagesValid_shouldCreateNoteFromUploads() {
+        // Arrange
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Lecture")
+                .pages(List.of(
+                        new FinalizePageDto("uploads/1/a.jpg", "p1.jpg"),
+                        new FinalizePageDto("uploads/1/b.jpg", "p2.jpg")))
+                .build();
+        LectureNote note = new LectureNote();
+
+        when(noteImageRepository.findExistingPaths(any())).thenReturn(Set.of());
+        when(noteService.createNoteFromUploads(eq("Lecture"), any(), eq(1L))).thenReturn(note);
+
+        // Act
+        LectureNote result = directUploadService.finalizeUpload(request, 1L);
+
+        // Assert
+        assertThat(result).isSameAs(note);
+        verify(fileStorageFacade).verifyUpload("uploads/1/a.jpg", 1L);
+        verify(fileStorageFacade).verifyUpload("uploads/1/b.jpg", 1L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UploadedImage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(noteService).createNoteFromUploads(eq("Lecture"), captor.capture(), eq(1L));
+        assertThat(captor.getValue())
+                .containsExactly(
+                        new UploadedImage("uploads/1/a.jpg", "p1.jpg"), new UploadedImage("uploads/1/b.jpg", "p2.jpg"));
+    }
+
+    @Test
+    void finalizeUpload_whenVerificationFails_shouldNotCreateNote() {
+        // Arrange
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Lecture")
+                .pages(List.of(new FinalizePageDto("uploads/1/a.jpg", "p1.jpg")))
+                .build();
+
+        when(noteImageRepository.findExistingPaths(any())).thenReturn(Set.of());
+        doThrow(new InvalidFileFormatException("Invalid file type. Only images are allowed."))
+                .when(fileStorageFacade)
+                .verifyUpload("uploads/1/a.jpg", 1L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> directUploadService.finalizeUpload(request, 1L))
+                .isInstanceOf(InvalidFileFormatException.class);
+        verify(noteService, never()).createNoteFromUploads(anyString(), any(), any());
+    }
+
+    @Test
+    void finalizeUpload_whenPageAlreadyAttached_shouldRejectWithoutVerification() {
+        // Arrange
+        FinalizeUploadRequestDto request = FinalizeUploadRequestDto.builder()
+                .title("Lecture")
+                .pages(List.of(new FinalizePageDto("uploads/1/a.jpg", "p1.jpg")))
+                .build();
+
+        when(noteImageRepository.findExistingPaths(any())).thenReturn(Set.of("uploads/1/a.jpg"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> directUploadService.finalizeUpload(request, 1L))
+                .isInstanceOf(PageAlreadyAttachedException.class)
+                .hasMessageContaining("already attached");
+        verify(fileStorageFacade, never()).verifyUpload(anyString(), any());
+        verify(noteService, never()).createNoteFromUploads(anyString(), any(), any());
+    }
+}
@@ -0,0 +1,93 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class ImageRendererTest {
+
+    private final ImageRenderer renderer = new ImageRenderer();
+
+    @Test
+    void decode_whenExifOrientationIsRotated_shouldApplyOrientation() throws Exception {
+        // Arrange
+        byte[] jpeg = withExifOrientation(jpegWithRedTopLeftCorner(100, 50), 6);
+
+        // Act
+        BufferedImage decoded = renderer.decode(new ByteArrayInputStream(jpeg), 1000);
+
+        // Assert
+        assertThat(decoded.getWidth()).isEqualTo(50);
+        assertThat(decoded.getHeight()).isEqualTo(100);
+        assertThat(isRed(decoded.getRGB(decoded.getWidth() - 3, 2))).isTrue();
+        assertThat(isRed(decoded.getRGB(2, 2))).isFalse();
+    }
+
+    @Test
+    void decode_whenFormatIsUnsupported_shouldThrowIOException() {
+        assertThatThrownBy(() -> renderer.decode(new ByteArrayInputStream(new byte[] {1, 2, 3}), 100))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void scale_shouldKeepAspectRatioAndNeverUpscale() {
+        BufferedImage source = new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage scaled = renderer.scale(source, 320);
+        BufferedImage small = renderer.scale(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), 320);
+
+        assertThat(scaled.getWidth()).isEqualTo(320);
+        assertThat(scaled.getHeight()).isEqualTo(240);
+        assertThat(small.getWidth()).isEqualTo(200);
+        assertThat(small.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    void parseExifOrientation_whenSegmentIsNotExif_shouldReturnNormal() {
+        assertThat(ImageRenderer.parseExifOrientation(new byte[] {'X', 'M', 'P', 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}))
+                .isEqualTo(1);
+    }
+
+    private static byte[] jpegWithRedTopLeftCorner(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 20, 10);
+        graphics.dispose();
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", buffer);
+        return buffer.toByteArray();
+    }
+
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) throws IOException {
+        byte[] segment = {
+            'E', 'x', 'i', 'f', 0, 0, 'I', 'I', 42, 0, 8, 0, 0, 0, 1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0,
+            (byte) orientation, 0, 0, 0, 0, 0, 0, 0
+        };
+        int segmentLength = segment.length + 2;
+        int app0End = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        buffer.write(jpeg, 0, 2);
+        buffer.write(new byte[] {(byte) 0xFF, (byte) 0xE1, (byte) (segmentLength >> 8), (byte) segmentLength});
+        buffer.write(segment);
+        buffer.write(jpeg, app0End, jpeg.length - app0End);
+        return buffer.toByteArray();
+    }
+
+    private static boolean isRed(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getGreen() < 80 && color.getBlue() < 80;
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.TransactionStatus;
@@ -19,7 +20,9 @@ import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
 
 @ExtendWith(MockitoExtension.class)
 class NoteCleanupServiceTest {
@@ -30,6 +33,9 @@ class NoteCleanupServiceTest {
     @Mock
     private TransactionTemplate transactionTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private NoteCleanupService noteCleanupService;
 
@@ -49,6 +55,7 @@ class NoteCleanupServiceTest {
         LectureNote stuckNote = new LectureNote();
         stuckNote.setId(1L);
         stuckNote.setStatus(NoteStatus.PROCESSING);
+        stuckNote.setUser(User.builder().id(7L).build());
 
         when(noteRepository.findAllByStatusAndUpdatedAtBefore(
                         eq(NoteStatus.PROCESSING), any(OffsetDateTime.class), any(Pageable.class)))
@@ -62,6 +69,7 @@ class NoteCleanupServiceTest {
         assert stuckNote.getSummaryText().contains("timed out");
 
         verify(transactionTemplate, atLeastOnce()).execute(any());
+        verify(eventPublisher).publishEvent(new NoteStatusChangedEvent(1L, 7L, NoteStatus.FAILED));
 
         verify(noteRepository, times(1))
                 .findAllByStatusAndUpdatedAtBefore(
@@ -79,5 +87,6 @@ class NoteCleanupServiceTest {
 
         // Assert
         verify(noteRepository, times(1)).findAllByStatusAndUpdatedAtBefore(any(), any(), any(Pageable.class));
+        verifyNoInteractions(eventPublisher);
     }
 }
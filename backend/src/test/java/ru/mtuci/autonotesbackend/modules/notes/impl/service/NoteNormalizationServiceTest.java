@@ -0,0 +1,126 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.RenditionKind;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NoteNormalizationServiceTest {
+
+    private static final Long NOTE_ID = 42L;
+
+    @Mock
+    private LectureNoteRepository noteRepository;
+
+    @Mock
+    private NoteImageRepository imageRepository;
+
+    @Mock
+    private NoteRenditionService renditionService;
+
+    @Mock
+    private NoteService noteService;
+
+    @Mock
+    private FileStorageFacade fileStorageFacade;
+
+    @Mock
+    private ImageRenderer imageRenderer;
+
+    @InjectMocks
+    private NoteNormalizationService normalizationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(normalizationService, "maxSize", 2560);
+        ReflectionTestUtils.setField(normalizationService, "jpegQuality", 0.85f);
+    }
+
+    @Test
+    void normalize_shouldEmitNoteCreatedWithNormalizedPathsInPageOrder() throws Exception {
+        // Arrange
+        NoteImage first = image(1L, "blobs/first");
+        NoteImage second = image(2L, "blobs/second");
+        BufferedImage decoded = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(true);
+        when(imageRepository.findAllByNoteIdOrderByOrderIndexAsc(NOTE_ID)).thenReturn(List.of(first, second));
+        when(renditionService.findRenditionPathsByImage(List.of(1L, 2L), RenditionKind.NORMALIZED))
+                .thenReturn(Map.of(1L, "renditions/1/normalized.jpg"));
+        when(fileStorageFacade.load("blobs/second")).thenReturn(new ByteArrayInputStream(new byte[] {1}));
+        when(imageRenderer.decode(any(InputStream.class), eq(2560))).thenReturn(decoded);
+        when(imageRenderer.scale(decoded, 2560)).thenReturn(decoded);
+        when(renditionService.store(second, RenditionKind.NORMALIZED, decoded, 0.85f))
+                .thenReturn("renditions/2/normalized.jpg");
+
+        // Act
+        normalizationService.normalize(NOTE_ID);
+
+        // Assert
+        verify(fileStorageFacade, never()).load("blobs/first");
+        verify(noteService)
+                .saveOutboxEventOnce(
+                        NOTE_ID,
+                        OutboxEventType.NOTE_CREATED,
+                        List.of("renditions/1/normalized.jpg", "renditions/2/normalized.jpg"));
+    }
+
+    @Test
+    void normalize_whenImageCannotBeDecoded_shouldFallBackToOriginal() throws Exception {
+        // Arrange
+        NoteImage image = image(1L, "blobs/heic");
+
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(true);
+        when(imageRepository.findAllByNoteIdOrderByOrderIndexAsc(NOTE_ID)).thenReturn(List.of(image));
+        when(renditionService.findRenditionPathsByImage(List.of(1L), RenditionKind.NORMALIZED))
+                .thenReturn(Map.of());
+        when(fileStorageFacade.load("blobs/heic")).thenReturn(new ByteArrayInputStream(new byte[] {1}));
+        when(imageRenderer.decode(any(InputStream.class), anyInt()))
+                .thenThrow(new IOException("Unsupported image format"));
+
+        // Act
+        normalizationService.normalize(NOTE_ID);
+
+        // Assert
+        verify(renditionService, never()).store(any(), any(), any(), anyFloat());
+        verify(noteService).saveOutboxEventOnce(NOTE_ID, OutboxEventType.NOTE_CREATED, List.of("blobs/heic"));
+    }
+
+    @Test
+    void normalize_whenNoteIsDeleted_shouldNotEmitEvent() {
+        // Arrange
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(false);
+
+        // Act
+        normalizationService.normalize(NOTE_ID);
+
+        // Assert
+        verify(noteService, never()).saveOutboxEventOnce(any(), any(), any());
+    }
+
+    private static NoteImage image(Long id, String path) {
+        return NoteImage.builder().id(id).fileStoragePath(path).build();
+    }
+}
@@ -0,0 +1,171 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteImageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NotePageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchMode;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchPageDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSearchResultDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.InvalidSearchQueryException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteCursor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteImageListItem;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteListItem;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchCursor;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteSearchHit;
+import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.NoteMapper;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteSearchRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NoteQueryServiceTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2025-01-15T10:30:00.123456Z");
+
+    @Mock
+    private LectureNoteRepository noteRepository;
+
+    @Mock
+    private NoteImageRepository noteImageRepository;
+
+    @Mock
+    private NoteSearchRepository noteSearchRepository;
+
+    @Mock
+    private NoteMapper noteMapper;
+
+    @InjectMocks
+    private NoteQueryService noteQueryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(noteQueryService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(noteQueryService, "maxPageSize", 2);
+        ReflectionTestUtils.setField(noteQueryService, "maxQueryLength", 20);
+    }
+
+    @Test
+    void findPageByUserId_shouldReadProjectionPageAndReturnNextCursor() {
+        // Arrange
+        Long userId = 1L;
+        NoteListItem newest = new NoteListItem(3L, userId, "Newest", NoteStatus.COMPLETED, CREATED_AT);
+        NoteListItem middle = new NoteListItem(2L, userId, "Middle", NoteStatus.PROCESSING, CREATED_AT);
+        NoteListItem oldest = new NoteListItem(1L, userId, "Oldest", NoteStatus.COMPLETED, CREATED_AT);
+        NoteImageListItem image = new NoteImageListItem(10L, 3L, "page.jpg", 0);
+        NoteImageDto imageDto = new NoteImageDto();
+
+        when(noteRepository.findListPage(userId, PageRequest.of(0, 3))).thenReturn(List.of(newest, middle, oldest));
+        when(noteImageRepository.findListItemsByNoteIdIn(List.of(3L, 2L))).thenReturn(List.of(image));
+        when(noteMapper.toDto(any(NoteListItem.class))).thenAnswer(invocation -> new NoteDto());
+        when(noteMapper.toImageDto(image)).thenReturn(imageDto);
+
+        // Act
+        NotePageDto page = noteQueryService.findPageByUserId(userId, null, 50);
+
+        // Assert
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getItems().get(0).getImages()).containsExactly(imageDto);
+        assertThat(page.getItems().get(1).getImages()).isEmpty();
+        assertThat(NoteCursor.decode(page.getNextCursor())).isEqualTo(new NoteCursor(CREATED_AT, 2L));
+        verify(noteMapper, never()).toDto(oldest);
+    }
+
+    @Test
+    void findPageByUserId_withCursorOnLastPage_shouldSeekPastItAndOmitNextCursor() {
+        // Arrange
+        Long userId = 1L;
+        String cursor = new NoteCursor(CREATED_AT, 2L).encode();
+        NoteListItem oldest = new NoteListItem(1L, userId, "Oldest", NoteStatus.COMPLETED, CREATED_AT);
+
+        when(noteRepository.findListPageAfter(userId, CREATED_AT, 2L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(oldest));
+        when(noteMapper.toDto(oldest)).thenReturn(new NoteDto());
+
+        // Act
+        NotePageDto page = noteQueryService.findPageByUserId(userId, cursor, null);
+
+        // Assert
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPageByUserId_whenPageIsEmpty_shouldNotQueryImages() {
+        // Arrange
+        when(noteRepository.findListPage(1L, PageRequest.of(0, 3))).thenReturn(List.of());
+
+        // Act
+        NotePageDto page = noteQueryService.findPageByUserId(1L, null, 2);
+
+        // Assert
+        assertThat(page.getItems()).isEmpty();
+        verifyNoInteractions(noteImageRepository);
+    }
+
+    @Test
+    void search_shouldReturnRankedNotesWithCursorOfLastHit() {
+        // Arrange
+        Long userId = 1L;
+        NoteListItem best = new NoteListItem(7L, userId, "Интегралы", NoteStatus.COMPLETED, CREATED_AT);
+        NoteListItem good = new NoteListItem(4L, userId, "Лекция 5", NoteStatus.COMPLETED, CREATED_AT);
+        NoteListItem extra = new NoteListItem(2L, userId, "Лекция 1", NoteStatus.COMPLETED, CREATED_AT);
+        List<NoteSearchHit> hits = List.of(hit(best, 0.6f), hit(good, 0.2f), hit(extra, 0.1f));
+
+        when(noteSearchRepository.searchFullText(userId, "интеграл", null, 3)).thenReturn(hits);
+        when(noteMapper.toDto(any(NoteListItem.class))).thenAnswer(invocation -> new NoteDto());
+
+        // Act
+        NoteSearchPageDto page = noteQueryService.search(userId, "  интеграл ", NoteSearchMode.FULL_TEXT, null, 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(NoteSearchResultDto::getRank).containsExactly(0.6f, 0.2f);
+        assertThat(page.getItems().getFirst().getHighlight()).isEqualTo("<mark>Интегралы</mark>");
+        assertThat(NoteSearchCursor.decode(page.getNextCursor())).isEqualTo(new NoteSearchCursor(0.2f, 4L));
+    }
+
+    @Test
+    void search_inFuzzyMode_shouldPassNormalizedQueryWordsAndThreshold() {
+        // Arrange
+        ReflectionTestUtils.setField(noteQueryService, "fuzzyThreshold", 0.4f);
+        String[] words = {"праизводная", "ряды"};
+        when(noteSearchRepository.searchFuzzy(1L, "праизводная, ряды!", words, 0.4f, null, 21))
+                .thenReturn(List.of());
+
+        // Act
+        NoteSearchPageDto page = noteQueryService.search(1L, "Праизводная, РЯДЫ!", NoteSearchMode.FUZZY, null, null);
+
+        // Assert
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void search_withBlankOrTooLongQuery_shouldRejectWithoutQuerying() {
+        // Act & Assert
+        assertThatThrownBy(() -> noteQueryService.search(1L, "   ", NoteSearchMode.FULL_TEXT, null, null))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> noteQueryService.search(1L, "x".repeat(21), NoteSearchMode.FUZZY, null, null))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        verifyNoInteractions(noteSearchRepository);
+    }
+
+    private static NoteSearchHit hit(NoteListItem note, float rank) {
+        return new NoteSearchHit(note, rank, "<mark>" + note.title() + "</mark>");
+    }
+}
@@ -0,0 +1,173 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteImageDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImageRendition;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.RenditionKind;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRenditionRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NoteRenditionServiceTest {
+
+    private static final Long NOTE_ID = 42L;
+
+    @Mock
+    private LectureNoteRepository noteRepository;
+
+    @Mock
+    private NoteImageRepository imageRepository;
+
+    @Mock
+    private NoteImageRenditionRepository renditionRepository;
+
+    @Mock
+    private FileStorageFacade fileStorageFacade;
+
+    @Spy
+    private ImageRenderer imageRenderer = new ImageRenderer();
+
+    @InjectMocks
+    private NoteRenditionService renditionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(renditionService, "thumbnailSize", 32);
+        ReflectionTestUtils.setField(renditionService, "previewSize", 128);
+        ReflectionTestUtils.setField(renditionService, "jpegQuality", 0.8f);
+    }
+
+    @Test
+    void generateForNote_shouldStoreDownscaledPreviewAndThumbnail() throws Exception {
+        // Arrange
+        NoteImage image = image(7L, "blobs/abc");
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(true);
+        when(imageRepository.findAllByNoteIdOrderByOrderIndexAsc(NOTE_ID)).thenReturn(List.of(image));
+        when(renditionRepository.findAllByImageIdIn(List.of(7L))).thenReturn(List.of());
+        when(fileStorageFacade.load("blobs/abc")).thenReturn(new ByteArrayInputStream(png(400, 200)));
+
+        // Act
+        renditionService.generateForNote(NOTE_ID);
+
+        // Assert
+        verify(fileStorageFacade).saveDerived(eq("renditions/7/preview.jpg"), any(byte[].class), eq("image/jpeg"));
+        verify(fileStorageFacade).saveDerived(eq("renditions/7/thumbnail.jpg"), any(byte[].class), eq("image/jpeg"));
+        verify(renditionRepository)
+                .upsert(eq(7L), eq("PREVIEW"), eq("renditions/7/preview.jpg"), eq(128), eq(64), anyLong());
+        verify(renditionRepository)
+                .upsert(eq(7L), eq("THUMBNAIL"), eq("renditions/7/thumbnail.jpg"), eq(32), eq(16), anyLong());
+    }
+
+    @Test
+    void generateForNote_whenRenditionsAlreadyExist_shouldSkipImage() {
+        // Arrange
+        NoteImage image = image(7L, "blobs/abc");
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(true);
+        when(imageRepository.findAllByNoteIdOrderByOrderIndexAsc(NOTE_ID)).thenReturn(List.of(image));
+        when(renditionRepository.findAllByImageIdIn(List.of(7L)))
+                .thenReturn(List.of(
+                        rendition(7L, RenditionKind.PREVIEW, "renditions/7/preview.jpg"),
+                        rendition(7L, RenditionKind.THUMBNAIL, "renditions/7/thumbnail.jpg")));
+
+        // Act
+        renditionService.generateForNote(NOTE_ID);
+
+        // Assert
+        verify(fileStorageFacade, never()).load(anyString());
+        verify(renditionRepository, never()).upsert(anyLong(), anyString(), anyString(), anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    void generateForNote_whenImageCannotBeDecoded_shouldSkipWithoutFailing() {
+        // Arrange
+        NoteImage image = image(7L, "blobs/heic");
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(true);
+        when(imageRepository.findAllByNoteIdOrderByOrderIndexAsc(NOTE_ID)).thenReturn(List.of(image));
+        when(renditionRepository.findAllByImageIdIn(List.of(7L))).thenReturn(List.of());
+        when(fileStorageFacade.load("blobs/heic")).thenReturn(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        // Act
+        renditionService.generateForNote(NOTE_ID);
+
+        // Assert
+        verify(fileStorageFacade, never()).saveDerived(anyString(), any(byte[].class), anyString());
+    }
+
+    @Test
+    void generateForNote_whenNoteIsDeleted_shouldDoNothing() {
+        // Arrange
+        when(noteRepository.existsById(NOTE_ID)).thenReturn(false);
+
+        // Act
+        renditionService.generateForNote(NOTE_ID);
+
+        // Assert
+        verifyNoInteractions(imageRepository, fileStorageFacade);
+    }
+
+    @Test
+    void attachImageUrls_shouldSetPresignedUrlsPerKind() {
+        // Arrange
+        NoteImageDto withRenditions = new NoteImageDto();
+        withRenditions.setId(7L);
+        NoteImageDto pending = new NoteImageDto();
+        pending.setId(8L);
+
+        when(renditionRepository.findAllByImageIdIn(List.of(7L, 8L)))
+                .thenReturn(List.of(
+                        rendition(7L, RenditionKind.PREVIEW, "renditions/7/preview.jpg"),
+                        rendition(7L, RenditionKind.THUMBNAIL, "renditions/7/thumbnail.jpg")));
+        when(fileStorageFacade.presignDownload(anyString()))
+                .thenAnswer(invocation -> "url:" + invocation.getArgument(0));
+
+        // Act
+        renditionService.attachImageUrls(List.of(withRenditions, pending));
+
+        // Assert
+        assertThat(withRenditions.getThumbnailUrl()).isEqualTo("url:renditions/7/thumbnail.jpg");
+        assertThat(withRenditions.getPreviewUrl()).isEqualTo("url:renditions/7/preview.jpg");
+        assertThat(pending.getThumbnailUrl()).isNull();
+        assertThat(pending.getPreviewUrl()).isNull();
+    }
+
+    private static NoteImage image(Long id, String path) {
+        return NoteImage.builder().id(id).fileStoragePath(path).build();
+    }
+
+    private static NoteImageRendition rendition(Long imageId, RenditionKind kind, String path) {
+        return NoteImageRendition.builder()
+                .imageId(imageId)
+                .kind(kind)
+                .fileStoragePath(path)
+                .build();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", buffer);
+        return buffer.toByteArray();
+    }
+}
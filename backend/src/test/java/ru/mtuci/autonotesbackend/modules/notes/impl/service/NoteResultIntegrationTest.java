@@ -3,10 +3,15 @@ package ru.mtuci.autonotesbackend.modules.notes.impl.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Propagation;
@@ -72,4 +77,101 @@ class NoteResultIntegrationTest extends BaseIntegrationTest {
                     assertThat(updatedNote.getRecognizedText()).isEqualTo("# Success\nText recognized.");
                 });
     }
+
+    @Test
+    void shouldApplyBurstOfResultsAndIgnoreNotesThatAreNoLongerProcessing() {
+        User user = userRepository.save(User.builder()
+                .username("burst_user")
+                .email("burst@test.com")
+                .password("pass")
+                .build());
+
+        List<Long> processingIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            processingIds.add(noteRepository
+                    .save(LectureNote.builder()
+                            .user(user)
+                            .title("Burst Note " + i)
+                            .status(NoteStatus.PROCESSING)
+                            .build())
+                    .getId());
+        }
+        Long completedId = noteRepository
+                .save(LectureNote.builder()
+                        .user(user)
+                        .title("Already Completed")
+                        .status(NoteStatus.COMPLETED)
+                        .recognizedText("original")
+                        .build())
+                .getId();
+
+        rabbitTemplate.convertAndSend(
+                RabbitMqConfig.EXCHANGE_NOTES,
+                RabbitMqConfig.ROUTING_KEY_RESULTS,
+                NoteResultDto.builder()
+                        .noteId(completedId)
+                        .status("COMPLETED")
+                        .recognizedText("overwritten")
+                        .build());
+        for (Long noteId : processingIds) {
+            rabbitTemplate.convertAndSend(
+                    RabbitMqConfig.EXCHANGE_NOTES,
+                    RabbitMqConfig.ROUTING_KEY_RESULTS,
+                    NoteResultDto.builder()
+                            .noteId(noteId)
+                            .status("FAILED")
+                            .errorMessage("boom")
+                            .build());
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+                .pollInterval(Duration.ofMillis(500))
+                .untilAsserted(() -> assertThat(noteRepository.findAllById(processingIds))
+                        .extracting(LectureNote::getStatus)
+                        .containsOnly(NoteStatus.FAILED));
+
+        LectureNote completed = noteRepository.findById(completedId).orElseThrow();
+        assertThat(completed.getRecognizedText()).isEqualTo("original");
+        assertThat(noteRepository.findById(processingIds.get(0)).orElseThrow().getSummaryText())
+                .isEqualTo("Processing failed: boom");
+    }
+
+    @Test
+    void shouldDeadLetterPoisonMessageAndApplyRestOfBatch() {
+        User user = userRepository.save(User.builder()
+                .username("poison_user")
+                .email("poison@test.com")
+                .password("pass")
+                .build());
+        Long noteId = noteRepository
+                .save(LectureNote.builder()
+                        .user(user)
+                        .title("Poison Neighbour")
+                        .status(NoteStatus.PROCESSING)
+                        .build())
+                .getId();
+
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        Message poison = new Message("{not json".getBytes(StandardCharsets.UTF_8), properties);
+        rabbitTemplate.send(RabbitMqConfig.EXCHANGE_NOTES, RabbitMqConfig.ROUTING_KEY_RESULTS, poison);
+        rabbitTemplate.convertAndSend(
+                RabbitMqConfig.EXCHANGE_NOTES,
+                RabbitMqConfig.ROUTING_KEY_RESULTS,
+                NoteResultDto.builder()
+                        .noteId(noteId)
+                        .status("COMPLETED")
+                        .recognizedText("survived")
+                        .build());
+
+        await().atMost(10, TimeUnit.SECONDS)
+                .pollInterval(Duration.ofMillis(500))
+                .untilAsserted(() -> assertThat(
+                                noteRepository.findById(noteId).orElseThrow().getStatus())
+                        .isEqualTo(NoteStatus.COMPLETED));
+
+        Message deadLettered = rabbitTemplate.receive(RabbitMqConfig.QUEUE_NOTES_RESULTS_DLQ, 5000);
+        assertThat(deadLettered).isNotNull();
+        assertThat(new String(deadLettered.getBody(), StandardCharsets.UTF_8)).isEqualTo("{not json");
+    }
 }
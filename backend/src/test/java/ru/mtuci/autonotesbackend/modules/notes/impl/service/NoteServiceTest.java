@@ -2,19 +2,28 @@ package ru.mtuci.autonotesbackend.modules.notes.impl.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
@@ -22,12 +31,24 @@ import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import ru.mtuci.autonotesbackend.exception.ResourceNotFoundException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
 import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
-import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.PageAlreadyAttachedException;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteResultDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteDeletedEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteProcessingEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.mapper.NoteMapper;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository.AppliedResult;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository.NoteResultUpdate;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
 import ru.mtuci.autonotesbackend.modules.user.impl.domain.User;
 import ru.mtuci.autonotesbackend.modules.user.impl.repository.UserRepository;
@@ -38,6 +59,9 @@ class NoteServiceTest {
     @Mock
     private LectureNoteRepository noteRepository;
 
+    @Mock
+    private NoteImageRepository noteImageRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -56,6 +80,18 @@ class NoteServiceTest {
     @Mock
     private NoteMapper noteMapper;
 
+    @Spy
+    private NoteUploadExecutor uploadExecutor = new NoteUploadExecutor(2, 4);
+
+    @Mock
+    private NoteResultBatchRepository noteResultBatchRepository;
+
+    @Mock
+    private NoteTextStorageService noteTextStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private NoteService noteService;
 
@@ -102,7 +138,7 @@ class NoteServiceTest {
             n.setId(100L);
             return n;
         });
-        when(objectMapper.writeValueAsString(any(NoteProcessingEvent.class))).thenReturn("{}");
+        when(objectMapper.writeValueAsBytes(any(NoteProcessingEvent.class))).thenReturn("{}".getBytes());
 
         LectureNote result = noteService.createNote("Title", files, userId);
 
@@ -110,6 +146,59 @@ class NoteServiceTest {
         verify(outboxEventRepository).save(any());
     }
 
+    @Test
+    void createNote_shouldKeepPageOrderWhenUploadingInParallel() throws Exception {
+        Long userId = 1L;
+        MockMultipartFile file1 = new MockMultipartFile("files", "img1.jpg", "image/jpeg", new byte[1]);
+        MockMultipartFile file2 = new MockMultipartFile("files", "img2.jpg", "image/jpeg", new byte[1]);
+        MockMultipartFile file3 = new MockMultipartFile("files", "img3.jpg", "image/jpeg", new byte[1]);
+        List<MultipartFile> files = List.of(file1, file2, file3);
+        User user = new User();
+        user.setId(userId);
+
+        when(fileStorageFacade.save(file1, userId)).thenAnswer(i -> {
+            Thread.sleep(50);
+            return "1/path1.jpg";
+        });
+        when(fileStorageFacade.save(file2, userId)).thenReturn("1/path2.jpg");
+        when(fileStorageFacade.save(file3, userId)).thenReturn("1/path3.jpg");
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(noteRepository.save(any(LectureNote.class))).thenAnswer(i -> i.getArgument(0));
+        when(objectMapper.writeValueAsBytes(any(NoteProcessingEvent.class))).thenReturn("{}".getBytes());
+
+        LectureNote result = noteService.createNote("Title", files, userId);
+
+        assertThat(result.getImages())
+                .extracting(NoteImage::getFileStoragePath)
+                .containsExactly("1/path1.jpg", "1/path2.jpg", "1/path3.jpg");
+        assertThat(result.getImages()).extracting(NoteImage::getOrderIndex).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void createNote_whenOneUploadFails_shouldRollbackUploadedFilesAndRethrow() {
+        Long userId = 1L;
+        MockMultipartFile file1 = new MockMultipartFile("files", "img1.jpg", "image/jpeg", new byte[1]);
+        MockMultipartFile file2 = new MockMultipartFile("files", "img2.jpg", "image/jpeg", new byte[1]);
+        List<MultipartFile> files = List.of(file1, file2);
+
+        CountDownLatch firstUploaded = new CountDownLatch(1);
+        when(fileStorageFacade.save(file1, userId)).thenAnswer(i -> {
+            firstUploaded.countDown();
+            return "1/path1.jpg";
+        });
+        when(fileStorageFacade.save(file2, userId)).thenAnswer(i -> {
+            firstUploaded.await(5, TimeUnit.SECONDS);
+            throw new FileStorageException("S3 Down");
+        });
+
+        assertThatThrownBy(() -> noteService.createNote("Title", files, userId))
+                .isInstanceOf(FileStorageException.class)
+                .hasMessage("S3 Down");
+
+        verify(fileStorageFacade).delete("1/path1.jpg");
+        verify(transactionTemplate, never()).execute(any());
+    }
+
     @Test
     void createNote_whenDbFails_shouldRollbackAllFiles() {
         Long userId = 1L;
@@ -125,6 +214,46 @@ class NoteServiceTest {
         verify(fileStorageFacade).delete(path1);
     }
 
+    @Test
+    void createNoteFromUploads_whenPageIsAttachedConcurrently_shouldKeepOnlyThatObject() {
+        // Arrange
+        List<UploadedImage> images = List.of(
+                new UploadedImage("uploads/1/a.jpg", "p1.jpg"),
+                new UploadedImage("uploads/1/b.jpg", "p2.jpg"),
+                new UploadedImage("blobs/abc123", "p3.jpg"));
+        doThrow(new DataIntegrityViolationException(
+                        "duplicate key",
+                        new ConstraintViolationException(
+                                "duplicate key", new SQLException(), NoteImage.FILE_STORAGE_PATH_UNIQUE_INDEX)))
+                .when(transactionTemplate)
+                .execute(any());
+        when(noteImageRepository.findExistingPaths(any())).thenReturn(Set.of("uploads/1/a.jpg", "blobs/abc123"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.createNoteFromUploads("Title", images, 1L))
+                .isInstanceOf(PageAlreadyAttachedException.class);
+
+        verify(fileStorageFacade, never()).delete("uploads/1/a.jpg");
+        verify(fileStorageFacade).delete("uploads/1/b.jpg");
+        verify(fileStorageFacade).delete("blobs/abc123");
+    }
+
+    @Test
+    void createNoteFromUploads_whenOtherConstraintFails_shouldReleaseEveryUpload() {
+        // Arrange
+        List<UploadedImage> images = List.of(new UploadedImage("blobs/abc123", "p1.jpg"));
+        doThrow(new DataIntegrityViolationException("value too long for type character varying(255)"))
+                .when(transactionTemplate)
+                .execute(any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.createNoteFromUploads("Title", images, 1L))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(fileStorageFacade).delete("blobs/abc123");
+        verifyNoInteractions(noteImageRepository);
+    }
+
     @Test
     void createNote_whenRollbackFails_shouldLogAndNotThrowExtraException() {
         Long userId = 1L;
@@ -144,19 +273,6 @@ class NoteServiceTest {
         verify(fileStorageFacade).delete(path1);
     }
 
-    @Test
-    void findAllDtosByUserId_shouldCallRepoAndMapper() {
-        Long userId = 1L;
-        List<LectureNote> notes = List.of(new LectureNote());
-        when(noteRepository.findByUserIdOrderByCreatedAtDesc(userId)).thenReturn(notes);
-        when(noteMapper.toDtoList(notes)).thenReturn(List.of(new NoteDto()));
-
-        List<NoteDto> result = noteService.findAllDtosByUserId(userId);
-
-        assertThat(result).hasSize(1);
-        verify(noteRepository).findByUserIdOrderByCreatedAtDesc(userId);
-    }
-
     @Test
     void findByIdAndUserId_whenExists_shouldReturnNote() {
         Long noteId = 1L;
@@ -189,5 +305,115 @@ class NoteServiceTest {
         noteService.deleteByIdAndUserId(noteId, userId);
 
         verify(noteRepository).delete(note);
+        verify(eventPublisher).publishEvent(new NoteDeletedEvent(noteId, userId));
+    }
+
+    @Test
+    void processCompletions_shouldApplyDeduplicatedBatchWithOneBulkUpdate() {
+        // Arrange
+        NoteResultDto completed = NoteResultDto.builder()
+                .noteId(1L)
+                .status("COMPLETED")
+                .recognizedText("text")
+                .summaryText("summary")
+                .build();
+        NoteResultDto duplicate = NoteResultDto.builder()
+                .noteId(1L)
+                .status("FAILED")
+                .build();
+        NoteResultDto failed = NoteResultDto.builder()
+                .noteId(2L)
+                .status("FAILED")
+                .errorMessage("OCR timeout")
+                .build();
+
+        when(noteTextStorageService.offloadIfLarge(any())).thenAnswer(returnsFirstArg());
+        when(noteResultBatchRepository.applyResults(any()))
+                .thenReturn(List.of(
+                        new AppliedResult(1L, 10L, NoteStatus.COMPLETED),
+                        new AppliedResult(2L, 10L, NoteStatus.FAILED)));
+
+        // Act
+        int updated = noteService.processCompletions(List.of(completed, duplicate, failed));
+
+        // Assert
+        assertThat(updated).isEqualTo(2);
+        verify(noteResultBatchRepository)
+                .applyResults(List.of(
+                        new NoteResultUpdate(1L, NoteStatus.COMPLETED, "text", null, 4L, "summary"),
+                        new NoteResultUpdate(
+                                2L, NoteStatus.FAILED, null, null, null, "Processing failed: OCR timeout")));
+        verify(noteRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new NoteStatusChangedEvent(1L, 10L, NoteStatus.COMPLETED));
+        verify(eventPublisher).publishEvent(new NoteStatusChangedEvent(2L, 10L, NoteStatus.FAILED));
+    }
+
+    @Test
+    void processCompletions_whenResultIsIgnored_shouldDeleteItsOffloadedText() {
+        // Arrange
+        NoteResultDto result = NoteResultDto.builder()
+                .noteId(7L)
+                .status("COMPLETED")
+                .recognizedText("long text")
+                .build();
+
+        when(noteTextStorageService.offloadIfLarge(any()))
+                .thenAnswer(invocation -> invocation
+                        .<NoteResultUpdate>getArgument(0)
+                        .withTextOffloadedTo("notes/7/recognized.md"));
+        when(noteResultBatchRepository.applyResults(any())).thenReturn(List.of());
+
+        // Act
+        int updated = noteService.processCompletions(List.of(result));
+
+        // Assert
+        assertThat(updated).isZero();
+        verify(noteTextStorageService).deleteQuietly("notes/7/recognized.md");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveOutboxEventOnce_whenNoEventYet_shouldSaveItUnderNoteLock() throws Exception {
+        // Arrange
+        when(noteRepository.lockProcessingById(5L)).thenReturn(Optional.of(5L));
+        when(outboxEventRepository.existsByAggregateIdAndEventType(5L, "NOTE_CREATED"))
+                .thenReturn(false);
+        when(objectMapper.writeValueAsBytes(any())).thenReturn(new byte[0]);
+
+        // Act
+        boolean saved = noteService.saveOutboxEventOnce(5L, OutboxEventType.NOTE_CREATED, List.of("blobs/a"));
+
+        // Assert
+        assertThat(saved).isTrue();
+        verify(outboxEventRepository).save(any());
+    }
+
+    @Test
+    void saveOutboxEventOnce_whenRedeliveredAfterEventWasSaved_shouldSkip() {
+        // Arrange
+        when(noteRepository.lockProcessingById(5L)).thenReturn(Optional.of(5L));
+        when(outboxEventRepository.existsByAggregateIdAndEventType(5L, "NOTE_CREATED"))
+                .thenReturn(true);
+
+        // Act
+        boolean saved = noteService.saveOutboxEventOnce(5L, OutboxEventType.NOTE_CREATED, List.of("blobs/a"));
+
+        // Assert
+        assertThat(saved).isFalse();
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void saveOutboxEventOnce_whenNoteIsNoLongerProcessing_shouldSkip() {
+        // Arrange
+        when(noteRepository.lockProcessingById(5L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean saved = noteService.saveOutboxEventOnce(5L, OutboxEventType.NOTE_CREATED, List.of("blobs/a"));
+
+        // Assert
+        assertThat(saved).isFalse();
+        verify(outboxEventRepository, never()).existsByAggregateIdAndEventType(any(), any());
+        verify(outboxEventRepository, never()).save(any());
     }
 }
@@ -0,0 +1,87 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.TooManyEventStreamsException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
+
+@ExtendWith(MockitoExtension.class)
+class NoteStatusStreamServiceTest {
+
+    private NoteStatusStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = spy(new NoteStatusStreamService(2, Duration.ofMinutes(1), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.destroy();
+    }
+
+    @Test
+    void onStatusChanged_shouldPushEventOnlyToStreamsOfThatUser() throws Exception {
+        // Arrange
+        SseEmitter own = mock(SseEmitter.class);
+        SseEmitter foreign = mock(SseEmitter.class);
+        doReturn(own, foreign).when(streamService).newEmitter();
+        streamService.subscribe(1L);
+        streamService.subscribe(2L);
+
+        // Act
+        streamService.onStatusChanged(new NoteStatusChangedEvent(10L, 1L, NoteStatus.COMPLETED));
+
+        // Assert
+        verify(own, timeout(1000)).send(any(SseEventBuilder.class));
+        verify(foreign, after(200).never()).send(any(SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribe_whenUserHasTooManyStreams_shouldReject() {
+        // Arrange
+        doReturn(mock(SseEmitter.class)).when(streamService).newEmitter();
+        streamService.subscribe(1L);
+        streamService.subscribe(1L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> streamService.subscribe(1L)).isInstanceOf(TooManyEventStreamsException.class);
+        assertThatCode(() -> streamService.subscribe(2L)).doesNotThrowAnyException();
+        assertThat(streamService.connectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void sendHeartbeats_whenClientIsGone_shouldDropItsStreamAndFreeTheSlot() throws Exception {
+        // Arrange
+        SseEmitter gone = mock(SseEmitter.class);
+        SseEmitter alive = mock(SseEmitter.class);
+        doThrow(new IOException("Broken pipe")).when(gone).send(any(SseEventBuilder.class));
+        doReturn(gone, alive, mock(SseEmitter.class)).when(streamService).newEmitter();
+        streamService.subscribe(1L);
+        streamService.subscribe(1L);
+
+        // Act
+        streamService.sendHeartbeats();
+
+        // Assert
+        verify(gone, timeout(1000)).completeWithError(any(IOException.class));
+        verify(alive, timeout(1000)).send(any(SseEventBuilder.class));
+        assertThat(streamService.connectionCount()).isEqualTo(1);
+        assertThatCode(() -> streamService.subscribe(1L)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,148 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteSuggestionDto;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteDeletedEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteStatusChangedEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.LectureNoteRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NoteSuggestServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2025-01-15T10:30:00Z");
+
+    @Mock
+    private LectureNoteRepository noteRepository;
+
+    private final Cache<Long, UserNoteIndex> cache = Caffeine.newBuilder().build();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NoteSuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new NoteSuggestService(cache, noteRepository, meterRegistry);
+        ReflectionTestUtils.setField(suggestService, "defaultLimit", 10);
+        ReflectionTestUtils.setField(suggestService, "maxLimit", 50);
+    }
+
+    @Test
+    void suggest_shouldBuildIndexOnceAndAnswerLaterQueriesFromMemory() {
+        // Arrange
+        when(noteRepository.findIndexSources(USER_ID, NoteStatus.COMPLETED))
+                .thenReturn(List.of(source(1L, "Интегралы"), source(2L, "История")));
+
+        // Act
+        List<NoteSuggestionDto> first = suggestService.suggest(USER_ID, "инт", null);
+        List<NoteSuggestionDto> second = suggestService.suggest(USER_ID, "ист", null);
+
+        // Assert
+        assertThat(first).containsExactly(new NoteSuggestionDto(1L, "Интегралы"));
+        assertThat(second).containsExactly(new NoteSuggestionDto(2L, "История"));
+        verify(noteRepository, times(1)).findIndexSources(USER_ID, NoteStatus.COMPLETED);
+        assertThat(meterRegistry.get("notes.suggest.index.build").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void suggest_withBlankQuery_shouldNotBuildIndex() {
+        // Act
+        List<NoteSuggestionDto> suggestions = suggestService.suggest(USER_ID, " , ", null);
+
+        // Assert
+        assertThat(suggestions).isEmpty();
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void onStatusChanged_whenIndexIsResident_shouldAddCompletedNote() {
+        // Arrange
+        when(noteRepository.findIndexSources(USER_ID, NoteStatus.COMPLETED)).thenReturn(List.of());
+        suggestService.suggest(USER_ID, "мат", null);
+        when(noteRepository.findIndexSource(5L, NoteStatus.COMPLETED)).thenReturn(Optional.of(source(5L, "Матрицы")));
+
+        // Act
+        suggestService.onStatusChanged(new NoteStatusChangedEvent(5L, USER_ID, NoteStatus.COMPLETED));
+
+        // Assert
+        assertThat(suggestService.suggest(USER_ID, "мат", null)).containsExactly(new NoteSuggestionDto(5L, "Матрицы"));
+    }
+
+    @Test
+    void onStatusChanged_whenIndexIsNotResident_shouldSkipLoadingTheNote() {
+        // Act
+        suggestService.onStatusChanged(new NoteStatusChangedEvent(5L, USER_ID, NoteStatus.COMPLETED));
+
+        // Assert
+        verify(noteRepository, never()).findIndexSource(any(), any());
+        assertThat(cache.asMap()).isEmpty();
+    }
+
+    @Test
+    void onStatusChanged_whenIndexIsBeingBuilt_shouldAddNoteAfterTheBuild() {
+        // Arrange
+        when(noteRepository.findIndexSources(USER_ID, NoteStatus.COMPLETED)).thenAnswer(invocation -> {
+            suggestService.onStatusChanged(new NoteStatusChangedEvent(5L, USER_ID, NoteStatus.COMPLETED));
+            return List.of();
+        });
+        when(noteRepository.findIndexSource(5L, NoteStatus.COMPLETED)).thenReturn(Optional.of(source(5L, "Матрицы")));
+
+        // Act
+        List<NoteSuggestionDto> suggestions = suggestService.suggest(USER_ID, "мат", null);
+
+        // Assert
+        assertThat(suggestions).containsExactly(new NoteSuggestionDto(5L, "Матрицы"));
+    }
+
+    @Test
+    void onDeleted_whenIndexIsBeingBuilt_shouldDropNoteTheBuildStillSaw() {
+        // Arrange
+        when(noteRepository.findIndexSources(USER_ID, NoteStatus.COMPLETED)).thenAnswer(invocation -> {
+            suggestService.onDeleted(new NoteDeletedEvent(1L, USER_ID));
+            return List.of(source(1L, "Интегралы"));
+        });
+        when(noteRepository.findIndexSource(1L, NoteStatus.COMPLETED)).thenReturn(Optional.empty());
+
+        // Act
+        List<NoteSuggestionDto> suggestions = suggestService.suggest(USER_ID, "инт", null);
+
+        // Assert
+        assertThat(suggestions).isEmpty();
+    }
+
+    @Test
+    void onDeleted_shouldRemoveNoteFromResidentIndex() {
+        // Arrange
+        when(noteRepository.findIndexSources(USER_ID, NoteStatus.COMPLETED))
+                .thenReturn(List.of(source(1L, "Интегралы")));
+        suggestService.suggest(USER_ID, "инт", null);
+
+        // Act
+        suggestService.onDeleted(new NoteDeletedEvent(1L, USER_ID));
+
+        // Assert
+        assertThat(suggestService.suggest(USER_ID, "инт", null)).isEmpty();
+    }
+
+    private static NoteIndexSource source(Long id, String title) {
+        return new NoteIndexSource(id, USER_ID, title, null, null, CREATED_AT);
+    }
+}
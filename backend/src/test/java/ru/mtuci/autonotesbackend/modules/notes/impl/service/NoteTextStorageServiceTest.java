@@ -0,0 +1,121 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRange;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.NoteTextDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.TextRangeNotSatisfiableException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.NoteStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteResultBatchRepository.NoteResultUpdate;
+
+@ExtendWith(MockitoExtension.class)
+class NoteTextStorageServiceTest {
+
+    @Mock
+    private FileStorageFacade fileStorageFacade;
+
+    @InjectMocks
+    private NoteTextStorageService textStorageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(textStorageService, "offloadEnabled", true);
+        ReflectionTestUtils.setField(textStorageService, "thresholdBytes", 8L);
+    }
+
+    @Test
+    void offloadIfLarge_whenTextExceedsThreshold_shouldStoreItAndKeepOnlyPointer() {
+        // Arrange
+        NoteResultUpdate update = new NoteResultUpdate(5L, NoteStatus.COMPLETED, "long transcript", null, 15L, "s");
+
+        // Act
+        NoteResultUpdate result = textStorageService.offloadIfLarge(update);
+
+        // Assert
+        assertThat(result.recognizedText()).isNull();
+        assertThat(result.recognizedTextLength()).isEqualTo(15L);
+        assertThat(result.recognizedTextPath()).startsWith("notes/5/recognized-").endsWith(".md");
+        verify(fileStorageFacade)
+                .saveDerived(
+                        eq(result.recognizedTextPath()),
+                        eq("long transcript".getBytes(StandardCharsets.UTF_8)),
+                        anyString());
+    }
+
+    @Test
+    void offloadIfLarge_whenTextIsShort_shouldKeepItInline() {
+        // Arrange
+        NoteResultUpdate update = new NoteResultUpdate(5L, NoteStatus.COMPLETED, "short", null, 5L, "s");
+
+        // Act
+        NoteResultUpdate result = textStorageService.offloadIfLarge(update);
+
+        // Assert
+        assertThat(result).isSameAs(update);
+        verify(fileStorageFacade, never()).saveDerived(anyString(), any(), anyString());
+    }
+
+    @Test
+    void open_withRangeOnInlineText_shouldReturnRequestedBytes() throws Exception {
+        // Arrange
+        LectureNote note = LectureNote.builder().id(1L).recognizedText("0123456789").build();
+
+        // Act
+        NoteTextDto text = textStorageService.open(note, HttpRange.createByteRange(2, 5));
+
+        // Assert
+        assertThat(text.partial()).isTrue();
+        assertThat(text.totalLength()).isEqualTo(10);
+        assertThat(text.contentLength()).isEqualTo(4);
+        assertThat(new String(text.content().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("2345");
+    }
+
+    @Test
+    void open_withRangeOnOffloadedText_shouldReadOnlyThatRangeFromStorage() {
+        // Arrange
+        LectureNote note = LectureNote.builder()
+                .id(1L)
+                .recognizedTextPath("notes/1/recognized.md")
+                .recognizedTextLength(1000L)
+                .build();
+        InputStream stored = new ByteArrayInputStream(new byte[100]);
+        when(fileStorageFacade.loadRange("notes/1/recognized.md", 900, 999)).thenReturn(stored);
+
+        // Act
+        NoteTextDto text = textStorageService.open(note, HttpRange.createSuffixRange(100));
+
+        // Assert
+        assertThat(text.content()).isSameAs(stored);
+        assertThat(text.rangeStart()).isEqualTo(900);
+        assertThat(text.rangeEnd()).isEqualTo(999);
+        verify(fileStorageFacade, never()).load(anyString());
+    }
+
+    @Test
+    void open_whenRangeStartsAfterEnd_shouldThrowNotSatisfiable() {
+        // Arrange
+        LectureNote note = LectureNote.builder().id(1L).recognizedText("short").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> textStorageService.open(note, HttpRange.createByteRange(50)))
+                .isInstanceOf(TextRangeNotSatisfiableException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
+
+@TestPropertySource(properties = {"app.scheduling.outbox-interval-ms=99999999", "app.outbox.notify.enabled=true"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxNotificationListenerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void insertedEvent_shouldBePublishedWithoutWaitingForPolling() {
+        // Arrange
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateId(999_999L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{\"noteId\":999999,\"bucketName\":\"test-bucket\",\"filePaths\":[]}".getBytes())
+                .build();
+
+        // Act
+        Long eventId = outboxEventRepository.save(event).getId();
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(outboxEventRepository.findById(eventId))
+                        .get()
+                        .extracting(OutboxEvent::getPublishedAt)
+                        .isNotNull());
+    }
+}
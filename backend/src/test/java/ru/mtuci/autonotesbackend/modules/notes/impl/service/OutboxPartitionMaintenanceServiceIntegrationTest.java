@@ -0,0 +1,88 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import ru.mtuci.autonotesbackend.BaseIntegrationTest;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
+
+@TestPropertySource(properties = {"app.outbox.partitions.retention-days=1", "app.outbox.partitions.precreate-days=2"})
+class OutboxPartitionMaintenanceServiceIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private OutboxPartitionMaintenanceService maintenanceService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void maintainPartitions_shouldDropOnlyFullyPublishedPastPartitions() {
+        // Arrange
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate drainedDay = today.minusDays(5);
+        LocalDate pendingDay = today.minusDays(6);
+
+        outboxEventRepository.ensurePartition(drainedDay);
+        outboxEventRepository.ensurePartition(pendingDay);
+        insertEvent(drainedDay, OffsetDateTime.now());
+        insertEvent(pendingDay, null);
+
+        // Act
+        maintenanceService.maintainPartitions();
+
+        // Assert
+        assertThat(partitionExists(drainedDay)).isFalse();
+        assertThat(partitionExists(pendingDay)).isTrue();
+        assertThat(partitionExists(today.plusDays(2))).isTrue();
+    }
+
+    @Test
+    void ensurePartition_whenNodesRaceForSameDay_shouldCreateItOnceWithoutErrors() throws Exception {
+        // Arrange
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(30);
+        List<Callable<Boolean>> attempts = Collections.nCopies(4, () -> outboxEventRepository.ensurePartition(day));
+
+        // Act
+        List<Boolean> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (Future<Boolean> result : executor.invokeAll(attempts)) {
+                results.add(result.get());
+            }
+        }
+
+        // Assert
+        assertThat(results).containsOnlyOnce(true);
+        assertThat(partitionExists(day)).isTrue();
+    }
+
+    private void insertEvent(LocalDate day, OffsetDateTime publishedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO outbox_events (aggregate_id, event_type, payload, created_at, published_at)"
+                        + " VALUES (1, 'NOTE_CREATED', '{}'::bytea, ?, ?)",
+                day.atTime(12, 0).atOffset(ZoneOffset.UTC),
+                publishedAt);
+    }
+
+    private boolean partitionExists(LocalDate day) {
+        String name = "outbox_events_" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+}
@@ -1,26 +1,44 @@
 package ru.mtuci.autonotesbackend.modules.notes.impl.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.mtuci.autonotesbackend.modules.notes.impl.config.RabbitMqConfig;
 import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEvent;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.OutboxEventType;
 import ru.mtuci.autonotesbackend.modules.notes.impl.event.NoteProcessingEvent;
 import ru.mtuci.autonotesbackend.modules.notes.impl.repository.OutboxEventRepository;
 
@@ -34,99 +52,301 @@ class OutboxPublisherServiceTest {
     private RabbitTemplate rabbitTemplate;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private OutboxPublisherService publisherService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(publisherService, "laneCount", 1);
+        ReflectionTestUtils.setField(publisherService, "minBatchSize", 50);
+        ReflectionTestUtils.setField(publisherService, "maxBatchSize", 500);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(mock(TransactionStatus.class));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisherService.destroy();
+    }
+
     @Test
-    void publishEvents_whenEventsExist_shouldPublishAndBatchDelete() throws Exception {
+    void publishEvents_whenEventsExist_shouldPublishStoredPayloadAndMarkPublished() {
         // Arrange
-        String jsonPayload = "{\"noteId\":1}";
+        byte[] jsonPayload = "{\"noteId\":1}".getBytes(StandardCharsets.UTF_8);
         OutboxEvent event = OutboxEvent.builder()
                 .id(10L)
                 .eventType("NOTE_CREATED")
                 .payload(jsonPayload)
                 .build();
 
-        NoteProcessingEvent mappedEvent = new NoteProcessingEvent(1L, "bucket", List.of("path"));
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(event));
+
+        // Act
+        publisherService.publishEvents();
 
-        when(outboxEventRepository.findBatchToProcess(anyInt())).thenReturn(List.of(event));
+        // Assert
+        // 1. Проверяем отправку в RabbitMQ без повторной сериализации
+        ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate)
+                .send(
+                        eq(RabbitMqConfig.EXCHANGE_NOTES),
+                        eq(RabbitMqConfig.ROUTING_KEY_PROCESS),
+                        messageCaptor.capture());
 
-        when(objectMapper.readValue(jsonPayload, NoteProcessingEvent.class)).thenReturn(mappedEvent);
+        Message message = messageCaptor.getValue();
+        assertThat(message.getBody()).isSameAs(jsonPayload);
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(OutboxEvent.CONTENT_TYPE_JSON);
+        assertThat(message.getMessageProperties().getMessageId()).isEqualTo("10");
+        assertThat((String) message.getMessageProperties().getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+                .isEqualTo(NoteProcessingEvent.class.getName());
+        assertThat((String) message.getMessageProperties().getHeader(OutboxPublisherService.EVENT_TYPE_HEADER))
+                .isEqualTo("NOTE_CREATED");
+
+        verify(outboxEventRepository).markPublished(List.of(10L));
+    }
+
+    @Test
+    void publishEvents_whenNormalizationRequested_shouldRouteToNormalizeQueue() {
+        // Arrange
+        OutboxEvent event = OutboxEvent.builder()
+                .id(11L)
+                .eventType(OutboxEventType.NOTE_NORMALIZATION_REQUESTED.name())
+                .payload("{\"noteId\":2}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(event));
 
         // Act
         publisherService.publishEvents();
 
         // Assert
-        // 1. Проверяем отправку в RabbitMQ
         verify(rabbitTemplate)
-                .convertAndSend(
-                        eq(RabbitMqConfig.EXCHANGE_NOTES), eq(RabbitMqConfig.ROUTING_KEY_PROCESS), eq(mappedEvent));
-
-        verify(outboxEventRepository).deleteAllInBatch(List.of(event));
+                .send(eq(RabbitMqConfig.EXCHANGE_NOTES), eq(RabbitMqConfig.ROUTING_KEY_NORMALIZE), any(Message.class));
+        verify(outboxEventRepository).markPublished(List.of(11L));
     }
 
     @Test
     void publishEvents_whenNoEvents_shouldDoNothing() {
         // Arrange
-        when(outboxEventRepository.findBatchToProcess(anyInt())).thenReturn(Collections.emptyList());
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(Collections.emptyList());
 
         // Act
         publisherService.publishEvents();
 
         // Assert
-        verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(String.class), any(Object.class));
-        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(rabbitTemplate, never()).send(any(String.class), any(String.class), any(Message.class));
+        verify(outboxEventRepository, never()).markPublished(any());
         verify(outboxEventRepository, never()).delete(any());
     }
 
     @Test
-    void publishEvents_whenRabbitFails_shouldStopProcessingAndNotDeleteFailedEvent() throws Exception {
+    void publishEvents_whenRabbitFails_shouldStopProcessingAndNotMarkFailedEvent() {
         // Arrange
         OutboxEvent event = OutboxEvent.builder()
                 .id(1L)
                 .eventType("NOTE_CREATED")
-                .payload("{}")
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
                 .build();
 
-        when(outboxEventRepository.findBatchToProcess(anyInt())).thenReturn(List.of(event));
-
-        when(objectMapper.readValue(any(String.class), eq(NoteProcessingEvent.class)))
-                .thenReturn(new NoteProcessingEvent(1L, "b", List.of("p")));
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(event));
 
         doThrow(new AmqpException("Rabbit is down"))
                 .when(rabbitTemplate)
-                .convertAndSend(any(String.class), any(String.class), any(Object.class));
+                .send(any(String.class), any(String.class), any(Message.class));
 
         // Act
         publisherService.publishEvents();
 
         // Assert
-        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(outboxEventRepository, never()).markPublished(any());
         verify(outboxEventRepository, never()).delete(any());
     }
 
     @Test
-    void publishEvents_whenJsonCorrupted_shouldDeleteToPreventBlocking() throws Exception {
+    void publishEvents_whenEventTypeUnknown_shouldMarkToPreventBlocking() {
         // Arrange
-        String badJson = "{invalid";
-        OutboxEvent fatalEvent = OutboxEvent.builder()
+        OutboxEvent unknownEvent = OutboxEvent.builder()
                 .id(666L)
-                .eventType("NOTE_CREATED")
-                .payload(badJson)
+                .eventType("NOTE_ARCHIVED")
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
                 .build();
 
-        when(outboxEventRepository.findBatchToProcess(anyInt())).thenReturn(List.of(fatalEvent));
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(unknownEvent));
 
-        when(objectMapper.readValue(badJson, NoteProcessingEvent.class))
-                .thenThrow(new JsonProcessingException("Error") {});
+        // Act
+        publisherService.publishEvents();
+
+        // Assert
+        verify(rabbitTemplate, never()).send(any(String.class), any(String.class), any(Message.class));
+        verify(outboxEventRepository).markPublished(List.of(666L));
+    }
+
+    @Test
+    void publishEvents_withPublisherConfirms_shouldMarkOnlyAckedEvents() {
+        // Arrange
+        OutboxEvent acked = OutboxEvent.builder()
+                .id(20L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{\"noteId\":20}".getBytes(StandardCharsets.UTF_8))
+                .build();
+        OutboxEvent nacked = OutboxEvent.builder()
+                .id(21L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{\"noteId\":21}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        enablePublisherConfirms();
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(acked, nacked));
+
+        doAnswer(invocation -> {
+                    CorrelationData correlation = invocation.getArgument(3);
+                    boolean ack = correlation.getId().equals("20");
+                    correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+                    return null;
+                })
+                .when(rabbitTemplate)
+                .send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
 
         // Act
         publisherService.publishEvents();
 
         // Assert
-        verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(String.class), any(Object.class));
-        verify(outboxEventRepository).deleteAllInBatch(List.of(fatalEvent));
+        verify(rabbitTemplate, never()).send(any(String.class), any(String.class), any(Message.class));
+        verify(outboxEventRepository).markPublished(List.of(20L));
+    }
+
+    @Test
+    void publishEvents_whenBrokerReturnsUnroutableEvent_shouldKeepItForRetry() {
+        // Arrange
+        OutboxEvent event = OutboxEvent.builder()
+                .id(25L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{\"noteId\":25}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        enablePublisherConfirms();
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(event));
+
+        doAnswer(invocation -> {
+                    CorrelationData correlation = invocation.getArgument(3);
+                    correlation.setReturned(new ReturnedMessage(
+                            invocation.getArgument(2),
+                            312,
+                            "NO_ROUTE",
+                            RabbitMqConfig.EXCHANGE_NOTES,
+                            RabbitMqConfig.ROUTING_KEY_PROCESS));
+                    correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+                    return null;
+                })
+                .when(rabbitTemplate)
+                .send(any(String.class), any(String.class), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        publisherService.publishEvents();
+
+        // Assert
+        verify(outboxEventRepository, never()).markPublished(any());
+    }
+
+    @Test
+    void publishEvents_whenConfirmTimesOut_shouldKeepEventsForRetry() {
+        // Arrange
+        OutboxEvent event = OutboxEvent.builder()
+                .id(30L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        enablePublisherConfirms();
+        ReflectionTestUtils.setField(publisherService, "confirmTimeoutMs", 10L);
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt())).thenReturn(List.of(event));
+
+        // Act
+        publisherService.publishEvents();
+
+        // Assert
+        verify(rabbitTemplate)
+                .send(
+                        eq(RabbitMqConfig.EXCHANGE_NOTES),
+                        eq(RabbitMqConfig.ROUTING_KEY_PROCESS),
+                        any(Message.class),
+                        any(CorrelationData.class));
+        verify(outboxEventRepository, never()).markPublished(any());
+    }
+
+    @Test
+    void publishEvents_withSeveralLanes_shouldDrainEveryLaneThatIsNotLockedElsewhere() {
+        // Arrange
+        ReflectionTestUtils.setField(publisherService, "laneCount", 3);
+        OutboxEvent laneZeroEvent = OutboxEvent.builder()
+                .id(40L)
+                .aggregateId(3L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .build();
+        OutboxEvent laneTwoEvent = OutboxEvent.builder()
+                .id(41L)
+                .aggregateId(5L)
+                .eventType(OutboxEventType.NOTE_CREATED.name())
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        when(outboxEventRepository.tryLockLane(anyInt(), eq(0))).thenReturn(true);
+        when(outboxEventRepository.tryLockLane(anyInt(), eq(1))).thenReturn(false);
+        when(outboxEventRepository.tryLockLane(anyInt(), eq(2))).thenReturn(true);
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(3), anyInt()))
+                .thenReturn(List.of(laneZeroEvent));
+        when(outboxEventRepository.findLaneBatchToProcess(eq(2), eq(3), anyInt()))
+                .thenReturn(List.of(laneTwoEvent));
+
+        // Act
+        int published = publisherService.publishEvents();
+
+        // Assert
+        assertThat(published).isEqualTo(2);
+        verify(outboxEventRepository, never()).findLaneBatchToProcess(eq(1), anyInt(), anyInt());
+        verify(outboxEventRepository).markPublished(List.of(40L));
+        verify(outboxEventRepository).markPublished(List.of(41L));
+    }
+
+    @Test
+    void publishEvents_whenBatchIsFull_shouldGrowNextBatchUpToMaximum() {
+        // Arrange
+        ReflectionTestUtils.setField(publisherService, "minBatchSize", 2);
+        ReflectionTestUtils.setField(publisherService, "maxBatchSize", 4);
+        OutboxEvent unknown = OutboxEvent.builder()
+                .id(50L)
+                .eventType("NOTE_ARCHIVED")
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        when(outboxEventRepository.findLaneBatchToProcess(eq(0), eq(1), anyInt()))
+                .thenAnswer(invocation -> Collections.nCopies(invocation.getArgument(2), unknown));
+
+        // Act
+        publisherService.publishEvents();
+        publisherService.publishEvents();
+        publisherService.publishEvents();
+
+        // Assert
+        InOrder inOrder = inOrder(outboxEventRepository);
+        inOrder.verify(outboxEventRepository).findLaneBatchToProcess(0, 1, 2);
+        inOrder.verify(outboxEventRepository).findLaneBatchToProcess(0, 1, 4);
+        inOrder.verify(outboxEventRepository).findLaneBatchToProcess(0, 1, 4);
+    }
+
+    private void enablePublisherConfirms() {
+        ReflectionTestUtils.setField(publisherService, "publisherConfirmsEnabled", true);
+        ReflectionTestUtils.setField(publisherService, "confirmTimeoutMs", 1000L);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
     }
 }
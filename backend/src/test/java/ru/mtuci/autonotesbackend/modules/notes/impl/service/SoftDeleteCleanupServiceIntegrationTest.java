@@ -39,7 +39,8 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
             "app.scheduling.soft-delete-cleanup-cron=-",
             "app.scheduling.cleanup-cron=-",
             "app.scheduling.s3-cleanup-cron=-",
-            "app.scheduling.outbox-interval-ms=99999999"
+            "app.scheduling.outbox-interval-ms=99999999",
+            "app.outbox.notify.enabled=false"
         })
 @Transactional(propagation = Propagation.NOT_SUPPORTED)
 class SoftDeleteCleanupServiceIntegrationTest extends BaseIntegrationTest {
@@ -0,0 +1,389 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.FileStorageFacade;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.MultipartUploadHandle;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.dto.UploadedPart;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.FileStorageException;
+import ru.mtuci.autonotesbackend.modules.filestorage.api.exception.InvalidFileFormatException;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.CreateUploadSessionRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.dto.UploadSessionFileRequestDto;
+import ru.mtuci.autonotesbackend.modules.notes.api.exception.UploadSessionConflictException;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.LectureNote;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSession;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionFile;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionPart;
+import ru.mtuci.autonotesbackend.modules.notes.impl.domain.UploadSessionStatus;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.UploadedImage;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.NoteImageRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionFileRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionPartRepository;
+import ru.mtuci.autonotesbackend.modules.notes.impl.repository.UploadSessionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    @Mock
+    private UploadSessionFileRepository fileRepository;
+
+    @Mock
+    private UploadSessionPartRepository partRepository;
+
+    @Mock
+    private NoteImageRepository noteImageRepository;
+
+    @Mock
+    private FileStorageFacade fileStorageFacade;
+
+    @Mock
+    private DirectUploadService directUploadService;
+
+    @Mock
+    private NoteService noteService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UploadSessionService uploadSessionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(uploadSessionService, "chunkSize", DataSize.ofBytes(8));
+        ReflectionTestUtils.setField(uploadSessionService, "maxFileSize", DataSize.ofBytes(100));
+        ReflectionTestUtils.setField(uploadSessionService, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(uploadSessionService, "commitTimeout", Duration.ofMinutes(15));
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(mock(TransactionStatus.class));
+        });
+    }
+
+    @Test
+    void afterPropertiesSet_whenChunkSizeBelowStorageMinimum_shouldReject() {
+        // Act & Assert
+        assertThatThrownBy(() -> uploadSessionService.afterPropertiesSet())
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ReflectionTestUtils.setField(uploadSessionService, "chunkSize", DataSize.ofMegabytes(5));
+        uploadSessionService.afterPropertiesSet();
+    }
+
+    @Test
+    void createSession_shouldStartOneStorageUploadPerFile() {
+        // Arrange
+        CreateUploadSessionRequestDto request = new CreateUploadSessionRequestDto(
+                "Lecture",
+                List.of(
+                        new UploadSessionFileRequestDto("p1.jpg", "image/jpeg", 20),
+                        new UploadSessionFileRequestDto("p2.png", "image/png", 5)));
+
+        when(fileStorageFacade.startMultipartUpload("p1.jpg", "image/jpeg", USER_ID))
+                .thenReturn(new MultipartUploadHandle("uploads/1/a.jpg", "upload-a"));
+        when(fileStorageFacade.startMultipartUpload("p2.png", "image/png", USER_ID))
+                .thenReturn(new MultipartUploadHandle("uploads/1/b.png", "upload-b"));
+        when(sessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        UploadSession session = uploadSessionService.createSession(request, USER_ID);
+
+        // Assert
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.ACTIVE);
+        assertThat(session.getChunkSize()).isEqualTo(8);
+        assertThat(session.getFiles()).extracting(UploadSessionFile::getFileIndex).containsExactly(0, 1);
+        assertThat(session.getFiles())
+                .extracting(UploadSessionFile::getStorageUploadId)
+                .containsExactly("upload-a", "upload-b");
+    }
+
+    @Test
+    void createSession_whenStorageFailsMidway_shouldAbortStartedUploads() {
+        // Arrange
+        CreateUploadSessionRequestDto request = new CreateUploadSessionRequestDto(
+                "Lecture",
+                List.of(
+                        new UploadSessionFileRequestDto("p1.jpg", "image/jpeg", 20),
+                        new UploadSessionFileRequestDto("p2.jpg", "image/jpeg", 20)));
+
+        when(fileStorageFacade.startMultipartUpload("p1.jpg", "image/jpeg", USER_ID))
+                .thenReturn(new MultipartUploadHandle("uploads/1/a.jpg", "upload-a"));
+        when(fileStorageFacade.startMultipartUpload("p2.jpg", "image/jpeg", USER_ID))
+                .thenThrow(new FileStorageException("S3 Down"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> uploadSessionService.createSession(request, USER_ID))
+                .isInstanceOf(FileStorageException.class);
+
+        verify(fileStorageFacade).abortMultipartUpload("uploads/1/a.jpg", "upload-a");
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    void appendChunk_whenOffsetMatches_shouldUploadPartAndAdvanceOffset() {
+        // Arrange
+        UploadSessionFile file = sessionWithFile(20, 8);
+        InputStream content = new ByteArrayInputStream(new byte[8]);
+
+        when(fileStorageFacade.uploadPart("uploads/1/a.jpg", "upload-a", 2, content, 8))
+                .thenReturn("etag-2");
+        when(fileRepository.advanceReceivedBytes(file.getId(), 8, 16)).thenReturn(1);
+
+        // Act
+        UploadSessionFile result = uploadSessionService.appendChunk(SESSION_ID, 0, 8, content, 8, USER_ID);
+
+        // Assert
+        assertThat(result.getReceivedBytes()).isEqualTo(16);
+
+        ArgumentCaptor<UploadSessionPart> captor = ArgumentCaptor.forClass(UploadSessionPart.class);
+        verify(partRepository).save(captor.capture());
+        assertThat(captor.getValue().getPartNumber()).isEqualTo(2);
+        assertThat(captor.getValue().getETag()).isEqualTo("etag-2");
+    }
+
+    @Test
+    void appendChunk_whenOffsetDiffersFromReceivedBytes_shouldThrowConflictWithoutUploading() {
+        // Arrange
+        sessionWithFile(20, 8);
+        InputStream content = new ByteArrayInputStream(new byte[8]);
+
+        // Act & Assert
+        assertThatThrownBy(() -> uploadSessionService.appendChunk(SESSION_ID, 0, 0, content, 8, USER_ID))
+                .isInstanceOf(UploadSessionConflictException.class)
+                .hasMessageContaining("Expected offset: 8");
+
+        verify(fileStorageFacade, never()).uploadPart(anyString(), anyString(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void appendChunk_whenChunkLengthIsWrong_shouldThrowInvalidFileFormat() {
+        // Arrange
+        sessionWithFile(20, 16);
+        InputStream content = new ByteArrayInputStream(new byte[8]);
+
+        // Act & Assert
+        assertThatThrownBy(() -> uploadSessionService.appendChunk(SESSION_ID, 0, 16, content, 8, USER_ID))
+                .isInstanceOf(InvalidFileFormatException.class)
+                .hasMessageContaining("must be exactly 4 bytes");
+
+        verify(fileStorageFacade, never()).uploadPart(anyString(), anyString(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    void commit_whenAllFilesReceived_shouldCompleteUploadsAndCreateNote() {
+        // Arrange
+        UploadSessionFile file = sessionWithFile(20, 20);
+        LectureNote note = LectureNote.builder().id(42L).build();
+
+        when(sessionRepository.transitionStatus(
+                        SESSION_ID, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMMITTING))
+                .thenReturn(1);
+        when(partRepository.findAllByFileIdOrderByPartNumberAsc(file.getId()))
+                .thenReturn(List.of(
+                        UploadSessionPart.builder().partNumber(1).eTag("e1").build(),
+                        UploadSessionPart.builder().partNumber(2).eTag("e2").build(),
+                        UploadSessionPart.builder().partNumber(3).eTag("e3").build()));
+        when(noteService.createNoteFromUploads(eq("Lecture"), any(), eq(USER_ID)))
+                .thenReturn(note);
+
+        // Act
+        LectureNote result = uploadSessionService.commit(SESSION_ID, USER_ID);
+
+        // Assert
+        assertThat(result).isSameAs(note);
+
+        verify(fileStorageFacade)
+                .completeMultipartUpload(
+                        "uploads/1/a.jpg",
+                        "upload-a",
+                        List.of(new UploadedPart(1, "e1"), new UploadedPart(2, "e2"), new UploadedPart(3, "e3")));
+        verify(directUploadService).verifyUploads(List.of("uploads/1/a.jpg"), USER_ID);
+        verify(noteService)
+                .createNoteFromUploads("Lecture", List.of(new UploadedImage("uploads/1/a.jpg", "p1.jpg")), USER_ID);
+        verify(sessionRepository).markCommitted(SESSION_ID, 42L);
+    }
+
+    @Test
+    void commit_whenFilesAreIncomplete_shouldThrowConflict() {
+        // Arrange
+        sessionWithFile(20, 16);
+
+        // Act & Assert
+        assertThatThrownBy(() -> uploadSessionService.commit(SESSION_ID, USER_ID))
+                .isInstanceOf(UploadSessionConflictException.class);
+
+        verify(fileStorageFacade, never()).completeMultipartUpload(anyString(), anyString(), any());
+        verify(noteService, never()).createNoteFromUploads(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void commit_whenStorageFails_shouldReturnSessionToActiveForRetry() {
+        // Arrange
+        sessionWithFile(20, 20);
+
+        when(sessionRepository.transitionStatus(
+                        SESSION_ID, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMMITTING))
+                .thenReturn(1);
+        doThrow(new FileStorageException("S3 Down"))
+                .when(fileStorageFacade)
+                .completeMultipartUpload(anyString(), anyString(), any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> uploadSessionService.commit(SESSION_ID, USER_ID))
+                .isInstanceOf(FileStorageException.class);
+
+        verify(sessionRepository)
+                .transitionStatus(SESSION_ID, UploadSessionStatus.COMMITTING, UploadSessionStatus.ACTIVE);
+        verify(sessionRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void commit_whenSessionAlreadyCommitted_shouldReturnExistingNote() {
+        // Arrange
+        UploadSessionFile file = sessionWithFile(20, 20);
+        file.getSession().setStatus(UploadSessionStatus.COMMITTED);
+        file.getSession().setNoteId(42L);
+        LectureNote note = LectureNote.builder().id(42L).build();
+
+        when(noteService.findByIdAndUserId(42L, USER_ID)).thenReturn(note);
+
+        // Act
+        LectureNote result = uploadSessionService.commit(SESSION_ID, USER_ID);
+
+        // Assert
+        assertThat(result).isSameAs(note);
+        verify(noteService, never()).createNoteFromUploads(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void discardExpired_whenSessionIsActive_shouldClaimItAndAbortUploads() {
+        // Arrange
+        UploadSession session = unsavedSessionWithFile(20, 8).getSession();
+        when(sessionRepository.transitionStatus(
+                        SESSION_ID, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMMITTING))
+                .thenReturn(1);
+
+        // Act
+        boolean discarded = uploadSessionService.discardExpired(session);
+
+        // Assert
+        assertThat(discarded).isTrue();
+        verify(fileStorageFacade).abortMultipartUpload("uploads/1/a.jpg", "upload-a");
+        verify(sessionRepository).deleteById(SESSION_ID);
+    }
+
+    @Test
+    void discardExpired_whenCommitClaimedSessionFirst_shouldLeaveItAlone() {
+        // Arrange
+        UploadSession session = unsavedSessionWithFile(20, 20).getSession();
+        when(sessionRepository.transitionStatus(
+                        SESSION_ID, UploadSessionStatus.ACTIVE, UploadSessionStatus.COMMITTING))
+                .thenReturn(0);
+
+        // Act
+        boolean discarded = uploadSessionService.discardExpired(session);
+
+        // Assert
+        assertThat(discarded).isFalse();
+        verify(fileStorageFacade, never()).abortMultipartUpload(anyString(), anyString());
+        verify(sessionRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void discardExpired_whenCommitClaimIsStale_shouldReclaimItAndKeepPagesOfCreatedNote() {
+        // Arrange
+        UploadSessionFile file = unsavedSessionWithFile(20, 20);
+        file.setStorageUploadId(null);
+        UploadSession session = file.getSession();
+        session.setStatus(UploadSessionStatus.COMMITTING);
+        when(sessionRepository.reclaimStaleCommit(eq(SESSION_ID), any())).thenReturn(1);
+        when(noteImageRepository.findExistingPaths(any())).thenReturn(Set.of("uploads/1/a.jpg"));
+
+        // Act
+        boolean discarded = uploadSessionService.discardExpired(session);
+
+        // Assert
+        assertThat(discarded).isTrue();
+        verify(noteService).rollbackS3Uploads(List.of());
+        verify(sessionRepository).deleteById(SESSION_ID);
+    }
+
+    @Test
+    void discardExpired_whenCommitIsStillRunning_shouldLeaveItAlone() {
+        // Arrange
+        UploadSession session = unsavedSessionWithFile(20, 20).getSession();
+        session.setStatus(UploadSessionStatus.COMMITTING);
+        when(sessionRepository.reclaimStaleCommit(eq(SESSION_ID), any())).thenReturn(0);
+
+        // Act
+        boolean discarded = uploadSessionService.discardExpired(session);
+
+        // Assert
+        assertThat(discarded).isFalse();
+        verify(sessionRepository, never()).deleteById(any());
+    }
+
+    private UploadSessionFile sessionWithFile(long totalSize, long receivedBytes) {
+        UploadSessionFile file = unsavedSessionWithFile(totalSize, receivedBytes);
+        when(sessionRepository.findByIdAndUserId(SESSION_ID, USER_ID)).thenReturn(Optional.of(file.getSession()));
+        return file;
+    }
+
+    private static UploadSessionFile unsavedSessionWithFile(long totalSize, long receivedBytes) {
+        UploadSession session = UploadSession.builder()
+                .id(SESSION_ID)
+                .userId(USER_ID)
+                .title("Lecture")
+                .status(UploadSessionStatus.ACTIVE)
+                .chunkSize(8)
+                .expiresAt(OffsetDateTime.now().plusHours(1))
+                .build();
+
+        UploadSessionFile file = UploadSessionFile.builder()
+                .id(10L)
+                .fileIndex(0)
+                .originalFileName("p1.jpg")
+                .contentType("image/jpeg")
+                .totalSize(totalSize)
+                .receivedBytes(receivedBytes)
+                .fileStoragePath("uploads/1/a.jpg")
+                .storageUploadId("upload-a")
+                .build();
+        session.addFile(file);
+        return file;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.mtuci.autonotesbackend.modules.notes.impl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import ru.mtuci.autonotesbackend.modules.notes.impl.dto.NoteIndexSource;
+import ru.mtuci.autonotesbackend.modules.notes.impl.service.UserNoteIndex.IndexedNote;
+
+class UserNoteIndexTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2025-01-15T10:30:00Z");
+
+    @Test
+    void suggest_shouldIntersectPrefixesAndReturnNewestFirst() {
+        // Arrange
+        UserNoteIndex index = new UserNoteIndex();
+        index.put(source(1L, "Интегралы", "Ряды Тейлора и интегралы.", CREATED_AT));
+        index.put(source(2L, "Интегралы, часть 2", "Несобственные интегралы.", CREATED_AT.plusDays(1)));
+        index.put(source(3L, "Ряды", "Степенные ряды.", CREATED_AT.plusDays(2)));
+
+        // Act
+        List<IndexedNote> both = index.suggest(UserNoteIndex.prefixes("инт РЯ"), 10);
+        List<IndexedNote> single = index.suggest(UserNoteIndex.prefixes("интег"), 10);
+
+        // Assert
+        assertThat(both).extracting(IndexedNote::id).containsExactly(1L);
+        assertThat(single).extracting(IndexedNote::id).containsExactly(2L, 1L);
+        assertThat(index.suggest(UserNoteIndex.prefixes("интег"), 1)).extracting(IndexedNote::id).containsExactly(2L);
+    }
+
+    @Test
+    void put_whenNoteIsReindexed_shouldReplaceItsTerms() {
+        // Arrange
+        UserNoteIndex index = new UserNoteIndex();
+        index.put(source(1L, "Черновик", null, CREATED_AT));
+
+        // Act
+        index.put(source(1L, "Матрицы", "Определитель матрицы.", CREATED_AT));
+
+        // Assert
+        assertThat(index.suggest(UserNoteIndex.prefixes("черн"), 10)).isEmpty();
+        assertThat(index.suggest(UserNoteIndex.prefixes("опред"), 10)).extracting(IndexedNote::id).containsExactly(1L);
+        assertThat(index.noteCount()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_shouldDropPostingsAndReleaseEstimatedMemory() {
+        // Arrange
+        UserNoteIndex index = new UserNoteIndex();
+        long emptyBytes = index.estimatedBytes();
+        index.put(source(1L, "Ёмкость конденсатора", "Заряд и ёмкость.", CREATED_AT));
+        long filledBytes = index.estimatedBytes();
+
+        // Act
+        List<IndexedNote> beforeRemoval = index.suggest(UserNoteIndex.prefixes("емк"), 10);
+        index.remove(1L);
+
+        // Assert
+        assertThat(beforeRemoval).extracting(IndexedNote::id).containsExactly(1L);
+        assertThat(filledBytes).isGreaterThan(emptyBytes);
+        assertThat(index.estimatedBytes()).isEqualTo(emptyBytes);
+        assertThat(index.termCount()).isZero();
+        assertThat(index.suggest(UserNoteIndex.prefixes("емк"), 10)).isEmpty();
+    }
+
+    private static NoteIndexSource source(Long id, String title, String text, OffsetDateTime createdAt) {
+        return new NoteIndexSource(id, 1L, title, null, text, createdAt);
+    }
+}
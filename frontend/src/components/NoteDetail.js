@@ -1,6 +1,6 @@
 import React, { useEffect, useState, useCallback } from 'react';
 import { useParams, useNavigate, Link } from 'react-router-dom';
-import { getNoteById, deleteNote } from '../services/noteService';
+import { getNoteById, deleteNote, subscribeToNoteStatus } from '../services/noteService';
 import { STATUS_TEXTS } from '../utils/constants';
 
 const NoteDetail = () => {
@@ -28,16 +28,16 @@ const NoteDetail = () => {
   }, [fetchNote]);
 
   useEffect(() => {
-    let interval;
-    if (note && note.status === 'PROCESSING') {
-      interval = setInterval(() => {
-        fetchNote(true); // Обновляем данные в фоне
-      }, 5000);
-    }
-    return () => {
-      if (interval) clearInterval(interval);
-    };
-  }, [note?.status, fetchNote]);
+    if (note?.status !== 'PROCESSING') return;
+
+    // Обновляем данные в фоне, когда сервер сообщит о завершении обработки
+    return subscribeToNoteStatus(
+      (event) => {
+        if (String(event.noteId) === String(noteId)) fetchNote(true);
+      },
+      () => fetchNote(true)
+    );
+  }, [note?.status, noteId, fetchNote]);
 
   const handleDelete = async () => {
     if (!window.confirm('Вы уверены, что хотите удалить этот конспект?')) {
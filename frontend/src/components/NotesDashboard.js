@@ -1,6 +1,6 @@
 import React, { useEffect, useState, useCallback, useMemo } from 'react';
 import { Link } from 'react-router-dom';
-import { getAllNotes } from '../services/noteService';
+import { getAllNotes, subscribeToNoteStatus } from '../services/noteService';
 import { STATUS_COLORS, STATUS_TEXTS, NOTE_STATUS } from '../utils/constants';
 
 const NotesDashboard = () => {
@@ -29,16 +29,21 @@ const NotesDashboard = () => {
   }, [fetchNotes]);
 
   //Авто-обновление только если есть заметки в обработке
+  const hasProcessingNotes = useMemo(
+    () => notes.some(note => note.status === NOTE_STATUS.PROCESSING),
+    [notes]
+  );
+
   useEffect(() => {
-    const hasProcessingNotes = notes.some(note => note.status === NOTE_STATUS.PROCESSING);
     if (!hasProcessingNotes) return;
 
-    const interval = setInterval(() => {
-      fetchNotes(true);
-    }, 5000);
-
-    return () => clearInterval(interval);
-  }, [notes, fetchNotes]);
+    return subscribeToNoteStatus(
+      ({ noteId, status }) => {
+        setNotes(prev => prev.map(note => (note.id === noteId ? { ...note, status } : note)));
+      },
+      () => fetchNotes(true)
+    );
+  }, [hasProcessingNotes, fetchNotes]);
 
   // Фильтрация и сортировка заметок
   const filteredAndSortedNotes = useMemo(() => {
@@ -25,11 +25,20 @@ const validateFile = (file) => {
   return true;
 };
 
-// Получение всех конспектов пользователя
+const NOTES_PAGE_SIZE = 100;
+
+// Получение всех конспектов пользователя (постранично, по курсору)
 export const getAllNotes = async () => {
   try {
-    const response = await api.get('/notes');
-    return response.data;
+    const notes = [];
+    let cursor = null;
+    do {
+      const params = cursor ? { limit: NOTES_PAGE_SIZE, cursor } : { limit: NOTES_PAGE_SIZE };
+      const response = await api.get('/notes', { params });
+      notes.push(...response.data.items);
+      cursor = response.data.nextCursor;
+    } while (cursor);
+    return notes;
   } catch (error) {
     handleError(error);
   }
@@ -77,9 +86,73 @@ export const deleteNote = async (id) => {
   }
 };
 
+const STATUS_EVENT = 'note-status';
+const EVENTS_RETRY_DELAY = 5000;
+
+const parseStatusEvent = (raw) => {
+  let name = 'message';
+  const data = [];
+  raw.split(/\r?\n/).forEach(line => {
+    if (line.startsWith('event:')) name = line.slice(6).trim();
+    if (line.startsWith('data:')) data.push(line.slice(5).trim());
+  });
+  return name === STATUS_EVENT && data.length ? JSON.parse(data.join('\n')) : null;
+};
+
+// Подписка на смену статусов конспектов (Server-Sent Events).
+// EventSource не умеет передавать заголовок Authorization, поэтому поток читается через fetch.
+// onReconnect вызывается при каждом переподключении: события за время обрыва не доставляются.
+export const subscribeToNoteStatus = (onStatus, onReconnect) => {
+  const controller = new AbortController();
+  let retryTimer = null;
+  let connected = false;
+
+  const connect = async () => {
+    try {
+      const token = localStorage.getItem('token');
+      const response = await fetch(`${api.defaults.baseURL}/notes/events`, {
+        headers: {
+          Accept: 'text/event-stream, application/json',
+          ...(token ? { Authorization: `Bearer ${token}` } : {}),
+        },
+        signal: controller.signal,
+      });
+      if (response.status === 401) return;
+      if (!response.ok) throw new Error(`HTTP ${response.status}`);
+
+      if (connected && onReconnect) onReconnect();
+      connected = true;
+
+      const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += value;
+        const events = buffer.split(/\r?\n\r?\n/);
+        buffer = events.pop();
+        events.map(parseStatusEvent).filter(Boolean).forEach(onStatus);
+      }
+    } catch (error) {
+      if (controller.signal.aborted) return;
+    }
+    if (!controller.signal.aborted) {
+      connected = true;
+      retryTimer = setTimeout(connect, EVENTS_RETRY_DELAY);
+    }
+  };
+
+  connect();
+  return () => {
+    controller.abort();
+    clearTimeout(retryTimer);
+  };
+};
+
 export default {
   getAllNotes,
   createNote,
   getNoteById,
-  deleteNote
+  deleteNote,
+  subscribeToNoteStatus
 };
\ No newline at end of file